@@ -0,0 +1,51 @@
+//
+// BenchmarkGitFlowMojo.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.Properties;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+/**
+ * Minimal mojo that gives benchmarks access to the in-memory helpers of
+ * {@link AbstractGitFlowMojo} without a maven session.
+ *
+ * @author Volodymyr Medvid
+ */
+class BenchmarkGitFlowMojo extends AbstractGitFlowMojo {
+
+    private final Properties projectProperties = new Properties();
+
+    @Override
+    protected String getCurrentGoal() {
+        return "benchmark";
+    }
+
+    @Override
+    protected void executeGoal() throws CommandLineException, MojoExecutionException, MojoFailureException {
+        // nothing to do
+    }
+
+    @Override
+    protected String lookupKey(String key) {
+        return projectProperties.getProperty(key);
+    }
+
+    /**
+     * Get the properties used as project properties while substituting
+     * placeholders.
+     *
+     * @return the project properties
+     */
+    Properties getProjectProperties() {
+        return projectProperties;
+    }
+}
@@ -0,0 +1,85 @@
+//
+// BranchPropertiesBenchmark.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.MojoFailureException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for reading of a central branch config file as it is stored on
+ * the branch config branch.
+ *
+ * @author Volodymyr Medvid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class BranchPropertiesBenchmark {
+
+    private static final String BRANCH = "feature/GFTST-103";
+
+    private BenchmarkGitFlowMojo mojo;
+
+    private File branchConfigDir;
+
+    private File branchPropertyFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        mojo = new BenchmarkGitFlowMojo();
+        branchConfigDir = File.createTempFile("branch-config", "");
+        branchConfigDir.delete();
+        branchPropertyFile = new File(branchConfigDir, BRANCH);
+        StringBuilder content = new StringBuilder();
+        content.append(BranchConfigKeys.BRANCH_TYPE).append("=feature\n");
+        content.append(BranchConfigKeys.BASE_BRANCH).append("=epic/GFTST-100\n");
+        content.append(BranchConfigKeys.ISSUE_NUMBER).append("=GFTST-103\n");
+        content.append(BranchConfigKeys.BASE_VERSION).append("=1.2.3-SNAPSHOT\n");
+        content.append(BranchConfigKeys.START_COMMIT_MESSAGE)
+                .append("=GFTST-103: updating versions for feature branch\n");
+        content.append(BranchConfigKeys.VERSION_CHANGE_COMMIT).append("=0123456789abcdef0123456789abcdef01234567\n");
+        for (int i = 0; i < 5; i++) {
+            content.append(BranchConfigKeys.PREFIX_ADDITIONAL_VERSION_PARAM).append(i).append("=additional-").append(i)
+                    .append("\n");
+        }
+        content.append(BranchConfigKeys.VERSION).append('=').append(BranchConfigKeys.CENTRAL_BRANCH_CONFIG_VERSION)
+                .append("\n");
+        FileUtils.write(branchPropertyFile, content, StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(branchConfigDir);
+    }
+
+    @Benchmark
+    public Properties readBranchProperties() throws MojoFailureException {
+        return mojo.readBranchProperties(branchPropertyFile, BRANCH);
+    }
+}
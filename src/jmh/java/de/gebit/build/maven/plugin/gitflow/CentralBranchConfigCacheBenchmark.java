@@ -0,0 +1,102 @@
+//
+// CentralBranchConfigCacheBenchmark.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link CentralBranchConfigCache} with a large number of
+ * feature branches distributed over several epic branches.
+ *
+ * @author Volodymyr Medvid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class CentralBranchConfigCacheBenchmark {
+
+    private static final int EPIC_COUNT = 200;
+
+    private static final int RELEASE_COUNT = 50;
+
+    @Param({ "100", "1000", "10000" })
+    private int featureCount;
+
+    private Map<String, Properties> branchProperties;
+
+    private CentralBranchConfigCache cache;
+
+    @Setup
+    public void setUp() {
+        branchProperties = new HashMap<>();
+        for (int i = 0; i < RELEASE_COUNT; i++) {
+            branchProperties.put("release/gitflow-tests-1." + i + ".0",
+                    createProperties(BranchType.RELEASE, "master", "1." + i + ".0"));
+        }
+        for (int i = 0; i < EPIC_COUNT; i++) {
+            branchProperties.put("epic/GFTST-" + i, createProperties(BranchType.EPIC, "master", "1.2.3-SNAPSHOT"));
+        }
+        for (int i = 0; i < featureCount; i++) {
+            String baseBranch = (i % 3 == 0) ? "master" : "epic/GFTST-" + (i % EPIC_COUNT);
+            branchProperties.put("feature/GFTST-" + (1000 + i),
+                    createProperties(BranchType.FEATURE, baseBranch, "1.2.3-SNAPSHOT"));
+        }
+        cache = new CentralBranchConfigCache(branchProperties);
+    }
+
+    private Properties createProperties(BranchType branchType, String baseBranch, String baseVersion) {
+        Properties properties = new Properties();
+        properties.setProperty(BranchConfigKeys.BRANCH_TYPE, branchType.getType());
+        properties.setProperty(BranchConfigKeys.BASE_BRANCH, baseBranch);
+        properties.setProperty(BranchConfigKeys.BASE_VERSION, baseVersion);
+        properties.setProperty(BranchConfigKeys.START_COMMIT_MESSAGE, "GFTST-1: starting work");
+        properties.setProperty(BranchConfigKeys.VERSION_CHANGE_COMMIT, "0123456789abcdef0123456789abcdef01234567");
+        return properties;
+    }
+
+    @Benchmark
+    public CentralBranchConfigCache refresh() {
+        cache.refresh(branchProperties);
+        return cache;
+    }
+
+    @Benchmark
+    public Object getBranchesWithBaseBranchMaster() {
+        return cache.getBranchesWithBaseBranch("master");
+    }
+
+    @Benchmark
+    public Object getBranchesWithBaseBranchEpic() {
+        return cache.getBranchesWithBaseBranch("epic/GFTST-7");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object getFeatureBranches() {
+        return cache.getBranches(BranchType.FEATURE);
+    }
+}
@@ -0,0 +1,79 @@
+//
+// CommitMessageBenchmark.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the placeholder substitution in commit messages and merge
+ * request titles.
+ *
+ * @author Volodymyr Medvid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class CommitMessageBenchmark {
+
+    private static final String MERGE_MESSAGE_PATTERN = "NO-ISSUE: @{message}";
+
+    private static final String MERGE_REQUEST_TITLE_PATTERN = "@{key}: Merge @{sourceBranch} into @{targetBranch}"
+            + " (@{project.name}, @{version.build})";
+
+    private BenchmarkGitFlowMojo mojo;
+
+    private Map<String, String> mergeMessageReplacements;
+
+    private Map<String, String> mergeRequestReplacements;
+
+    @Setup
+    public void setUp() {
+        mojo = new BenchmarkGitFlowMojo();
+        mojo.getProjectProperties().setProperty("project.name", "gitflow-tests");
+        mojo.getProjectProperties().setProperty("version.build", "1.2.3-SNAPSHOT");
+        mergeMessageReplacements = new HashMap<>();
+        mergeMessageReplacements.put("message", "Merge branch feature/GFTST-103 into epic/GFTST-100");
+        mergeRequestReplacements = new HashMap<>();
+        mergeRequestReplacements.put("sourceBranch", "feature/GFTST-103");
+        mergeRequestReplacements.put("targetBranch", "master");
+        mergeRequestReplacements.put("key", "GFTST-103");
+    }
+
+    @Benchmark
+    public String substituteMergeMessage() throws MojoFailureException {
+        return mojo.substituteStrings(MERGE_MESSAGE_PATTERN, mergeMessageReplacements);
+    }
+
+    @Benchmark
+    public String substituteMergeRequestTitleWithProjectProperties() throws MojoFailureException {
+        return mojo.substituteStrings(MERGE_REQUEST_TITLE_PATTERN, mergeRequestReplacements);
+    }
+
+    @Benchmark
+    public String substituteWithIssueNumber() throws MojoFailureException {
+        return mojo.substituteWithIssueNumber("@{key}: updating versions for feature branch", "GFTST-103");
+    }
+}
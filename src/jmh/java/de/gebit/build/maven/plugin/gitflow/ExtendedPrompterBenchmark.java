@@ -0,0 +1,109 @@
+//
+// ExtendedPrompterBenchmark.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.plexus.components.interactivity.Prompter;
+import org.codehaus.plexus.components.interactivity.PrompterException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for rendering of long selection lists (e.g. list of feature
+ * branches) in {@link ExtendedPrompter}. The underlying prompter answers
+ * immediately, so only message rendering and prompt logging are measured.
+ *
+ * @author Volodymyr Medvid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class ExtendedPrompterBenchmark {
+
+    @Param({ "10", "1000" })
+    private int valueCount;
+
+    private ExtendedPrompter prompter;
+
+    private List<String> possibleValues;
+
+    @Setup
+    public void setUp() {
+        prompter = new ExtendedPrompter(new AnsweringPrompter("1"), true, new BenchmarkGitFlowMojo());
+        possibleValues = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            possibleValues.add("feature/GFTST-" + (1000 + i));
+        }
+    }
+
+    @Benchmark
+    public String promptToSelectFromOrderedList() throws GitFlowFailureException {
+        return prompter.promptToSelectFromOrderedList("Feature branches:", "Choose feature branch to finish",
+                possibleValues);
+    }
+
+    /**
+     * Prompter that always answers with the same value.
+     */
+    private static class AnsweringPrompter implements Prompter {
+
+        private final String answer;
+
+        AnsweringPrompter(String anAnswer) {
+            answer = anAnswer;
+        }
+
+        @Override
+        public String prompt(String message) throws PrompterException {
+            return answer;
+        }
+
+        @Override
+        public String prompt(String message, String defaultReply) throws PrompterException {
+            return answer;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public String prompt(String message, List possibleValues) throws PrompterException {
+            return answer;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public String prompt(String message, List possibleValues, String defaultReply) throws PrompterException {
+            return answer;
+        }
+
+        @Override
+        public String promptForPassword(String message) throws PrompterException {
+            return answer;
+        }
+
+        @Override
+        public void showMessage(String message) throws PrompterException {
+            // nothing to show
+        }
+    }
+}
@@ -0,0 +1,181 @@
+//
+// LargeRepositoryBenchmark.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenExecutionResult;
+
+import de.gebit.build.maven.plugin.gitflow.jgit.GitExecution;
+import de.gebit.build.maven.plugin.gitflow.jgit.RepositorySet;
+
+/**
+ * Macro benchmark that runs the main goals against synthetic repositories of
+ * different scales (see {@link SyntheticRepositoryScale}) and writes wall time,
+ * number of started git and maven processes and peak heap usage per goal as
+ * CSV.
+ * <p>
+ * Run with: <code>mvn -Pjmh test-compile exec:exec@macro-benchmark
+ * -Dbenchmark.scales=small,medium,large</code>
+ *
+ * @author Volodymyr Medvid
+ */
+public class LargeRepositoryBenchmark extends AbstractGitFlowMojoTestCase {
+
+    private static final String CSV_HEADER = "scale,goal,success,wallTimeMillis,gitProcesses,mvnProcesses,peakHeapMB";
+
+    private static final String BENCHMARK_BASEDIR = "target/macro-benchmark";
+
+    private static final String FEATURE_NAME = "BENCH-1";
+
+    private static final String EPIC_NAME = "BENCH-2";
+
+    private static final String RELEASE_VERSION = TestProjects.BASIC.releaseVersion;
+
+    private File gitCommandsLog;
+
+    private File gitWrapper;
+
+    private List<String> csvLines = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        String scales = System.getProperty("benchmark.scales", "small");
+        File resultFile = new File(System.getProperty("benchmark.resultFile", "target/macro-benchmark.csv"));
+        LargeRepositoryBenchmark benchmark = new LargeRepositoryBenchmark();
+        benchmark.skipGitEditorCallCheck = true;
+        benchmark.setUpAbstractGitFlowMojoTestCase();
+        try {
+            for (String scale : scales.split(",")) {
+                benchmark.run(SyntheticRepositoryScale.getByName(scale));
+            }
+        } finally {
+            benchmark.tearDownAbstractGitFlowMojoTestCase();
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        lines.addAll(benchmark.csvLines);
+        FileUtils.writeLines(resultFile, StandardCharsets.UTF_8.name(), lines);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+        for (String line : lines) {
+            System.out.println(line);
+        }
+    }
+
+    private void run(SyntheticRepositoryScale scale) throws Exception {
+        File workDir = new File(BENCHMARK_BASEDIR, scale.name().toLowerCase());
+        FileUtils.deleteDirectory(workDir);
+        workDir.mkdirs();
+        prepareGitWrapper(workDir);
+        GitExecution scaleGit = new GitExecution(new File(workDir, "git"), null);
+        SyntheticRepositoryGenerator generator = new SyntheticRepositoryGenerator(scaleGit, workDir);
+        long ms = System.currentTimeMillis();
+        try (RepositorySet repositorySet = generator.generate(scale)) {
+            System.out.println("Synthetic repository for scale " + scale + " created. ["
+                    + ((System.currentTimeMillis() - ms) / 1000) + "s]");
+            runGoals(scale, scaleGit, repositorySet);
+        }
+    }
+
+    private void runGoals(SyntheticRepositoryScale scale, GitExecution git, RepositorySet repositorySet)
+            throws Exception {
+        measure(scale, repositorySet, "feature-start", props("featureName", FEATURE_NAME));
+        git.createAndCommitTestfile(repositorySet);
+        measure(scale, repositorySet, "feature-finish", props());
+
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        measure(scale, repositorySet, "epic-start", props("epicName", EPIC_NAME));
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        git.createAndCommitTestfile(repositorySet, "master-testfile.txt", "master change for epic update");
+        git.push(repositorySet);
+        git.switchToBranch(repositorySet, "epic/" + EPIC_NAME);
+        measure(scale, repositorySet, "epic-update", props());
+
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        measure(scale, repositorySet, "release-start", props("releaseVersion", RELEASE_VERSION));
+        measure(scale, repositorySet, "release-finish", props());
+
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        measure(scale, repositorySet, "maintenance-start",
+                props("releaseVersion", RELEASE_VERSION, "maintenanceVersion", TestProjects.BASIC.maintenanceVersion,
+                        "firstMaintenanceVersion", RELEASE_VERSION + ".1-SNAPSHOT"));
+
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        measure(scale, repositorySet, "upgrade", props());
+    }
+
+    private void measure(SyntheticRepositoryScale scale, RepositorySet repositorySet, String goal,
+            Properties properties) throws Exception {
+        properties.setProperty("gitExecutable", gitWrapper.getAbsolutePath());
+        int gitCommandsBefore = countGitCommands();
+        int mvnCommandsBefore = loadExecutedMavenCommands().size();
+        System.gc();
+        resetPeakHeapUsage();
+        long start = System.nanoTime();
+        MavenExecutionResult result = executeMojoWithResult(repositorySet.getWorkingDirectory(), goal, properties);
+        long wallTimeMillis = (System.nanoTime() - start) / 1000000;
+        long peakHeapMB = getPeakHeapUsage() / (1024 * 1024);
+        boolean success = !result.hasExceptions();
+        if (!success) {
+            System.out.println("Goal " + goal + " failed for scale " + scale + ": " + result.getExceptions());
+        }
+        csvLines.add(scale.name().toLowerCase() + "," + goal + "," + success + "," + wallTimeMillis + ","
+                + (countGitCommands() - gitCommandsBefore) + ","
+                + (loadExecutedMavenCommands().size() - mvnCommandsBefore) + "," + peakHeapMB);
+    }
+
+    private void prepareGitWrapper(File workDir) throws IOException {
+        gitCommandsLog = new File(workDir, "git-cmds.log");
+        gitWrapper = new File(workDir, "git-counting.sh");
+        FileUtils.write(gitWrapper, "#!/bin/sh\necho \"$*\" >> '" + gitCommandsLog.getAbsolutePath()
+                + "'\nexec git \"$@\"\n", StandardCharsets.UTF_8);
+        gitWrapper.setExecutable(true);
+    }
+
+    private int countGitCommands() throws IOException {
+        if (!gitCommandsLog.exists()) {
+            return 0;
+        }
+        return FileUtils.readLines(gitCommandsLog, StandardCharsets.UTF_8).size();
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static Properties props(String... props) {
+        Properties properties = new Properties();
+        for (int i = 0; i < props.length; i += 2) {
+            properties.setProperty(props[i], props[i + 1]);
+        }
+        return properties;
+    }
+}
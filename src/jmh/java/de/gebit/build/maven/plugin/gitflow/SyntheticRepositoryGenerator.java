@@ -0,0 +1,238 @@
+//
+// SyntheticRepositoryGenerator.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.errors.GitAPIException;
+
+import de.gebit.build.maven.plugin.gitflow.TestProjects.TestProjectData;
+import de.gebit.build.maven.plugin.gitflow.jgit.GitExecution;
+import de.gebit.build.maven.plugin.gitflow.jgit.RepositorySet;
+
+/**
+ * Generates reproducible synthetic repositories of a passed
+ * {@link SyntheticRepositoryScale} based on the {@link TestProjects#BASIC}
+ * project. History, branches and tags are created with
+ * <code>git fast-import</code> because creating them commit by commit would
+ * take hours for the large scales. Requires command line git.
+ *
+ * @author Volodymyr Medvid
+ */
+public class SyntheticRepositoryGenerator {
+
+    public static final String FEATURE_BRANCH_PREFIX = "feature/SYN-";
+
+    public static final String EPIC_BRANCH_PREFIX = "epic/SYN-E";
+
+    public static final String MAINTENANCE_BRANCH_PREFIX = "maintenance/synthetic-1.";
+
+    public static final String TAG_PREFIX = "synthetic-0.";
+
+    private static final String MODULE_PREFIX = "module-";
+
+    private static final int HISTORY_FILES = 100;
+
+    private static final long BASE_TIMESTAMP = 1500000000L;
+
+    private static final long RANDOM_SEED = 42L;
+
+    private final GitExecution git;
+
+    private final File workDir;
+
+    /**
+     * Creates an instance of synthetic repository generator.
+     *
+     * @param aGit
+     *            the git execution used to create the repository set
+     * @param aWorkDir
+     *            the directory for temporary project sources
+     */
+    public SyntheticRepositoryGenerator(GitExecution aGit, File aWorkDir) {
+        git = aGit;
+        workDir = aWorkDir;
+    }
+
+    /**
+     * Creates a repository set for passed scale. The local repository has only
+     * master branch, all other branches exist only on remote.
+     *
+     * @param scale
+     *            the scale of the repository
+     * @return the created repository set
+     * @throws IOException
+     *             in case of an I/O error
+     * @throws GitAPIException
+     *             if an error occurs while creating the repository set
+     */
+    public RepositorySet generate(SyntheticRepositoryScale scale) throws IOException, GitAPIException {
+        File sourceBasedir = prepareProjectSources(TestProjects.BASIC, scale);
+        RepositorySet repositorySet = git.createGitRepositorySet(sourceBasedir);
+        File localDir = repositorySet.getWorkingDirectory();
+        String masterHead = repositorySet.getLocalRepoGit().getRepository().resolve("HEAD").name();
+        Process fastImport = new ProcessBuilder("git", "fast-import", "--quiet", "--force").directory(localDir)
+                .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.INHERIT).start();
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(fastImport.getOutputStream(), StandardCharsets.UTF_8))) {
+            writeHistory(writer, scale, masterHead);
+        }
+        waitFor(fastImport, "git fast-import");
+        executeGit(localDir, "reset", "--quiet", "--hard");
+        executeGit(localDir, "push", "--quiet", "origin", "refs/heads/*:refs/heads/*", "refs/tags/*:refs/tags/*");
+        deleteLocalSyntheticBranches(localDir, scale);
+        return repositorySet;
+    }
+
+    private File prepareProjectSources(TestProjectData project, SyntheticRepositoryScale scale) throws IOException {
+        File projectsDir = new File(workDir, "synthetic-" + scale.name().toLowerCase());
+        File sourceBasedir = new File(projectsDir, project.artifactId);
+        FileUtils.deleteDirectory(projectsDir);
+        FileUtils.copyDirectory(project.basedir, sourceBasedir);
+        FileUtils.copyFileToDirectory(new File(project.basedir.getParentFile(), "parent-pom.xml"), projectsDir);
+        if (scale.getModules() > 1) {
+            File pomFile = new File(sourceBasedir, "pom.xml");
+            StringBuilder modules = new StringBuilder();
+            modules.append("\t<packaging>pom</packaging>\n\t<modules>\n");
+            for (int i = 1; i <= scale.getModules(); i++) {
+                String module = moduleName(i);
+                modules.append("\t\t<module>").append(module).append("</module>\n");
+                File moduleDir = new File(sourceBasedir, module);
+                FileUtils.write(new File(moduleDir, "pom.xml"), createModulePom(project, module),
+                        StandardCharsets.UTF_8);
+            }
+            modules.append("\t</modules>\n</project>");
+            String pom = FileUtils.readFileToString(pomFile, StandardCharsets.UTF_8);
+            FileUtils.write(pomFile, pom.replace("</project>", modules), StandardCharsets.UTF_8);
+        }
+        return sourceBasedir;
+    }
+
+    private String moduleName(int index) {
+        return MODULE_PREFIX + String.format("%04d", index);
+    }
+
+    private String createModulePom(TestProjectData project, String module) {
+        return "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+                + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+                + "\txsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+                + "http://maven.apache.org/maven-v4_0_0.xsd\">\n" + "\t<modelVersion>4.0.0</modelVersion>\n"
+                + "\t<parent>\n" + "\t\t<groupId>de.gebit.build.maven.test</groupId>\n" + "\t\t<artifactId>"
+                + project.artifactId + "</artifactId>\n" + "\t\t<version>" + project.version + "</version>\n"
+                + "\t</parent>\n" + "\t<artifactId>" + module + "</artifactId>\n" + "</project>\n";
+    }
+
+    private void writeHistory(Writer writer, SyntheticRepositoryScale scale, String masterHead) throws IOException {
+        Random random = new Random(RANDOM_SEED);
+        int commits = scale.getCommits();
+        long time = BASE_TIMESTAMP;
+        for (int i = 1; i <= commits; i++) {
+            writeCommit(writer, "refs/heads/master", i, (i == 1) ? masterHead : null, time++,
+                    "SYN-" + i + ": synthetic change " + i, "history/file-" + (i % HISTORY_FILES) + ".txt",
+                    "change " + i);
+        }
+        for (int i = 1; i <= scale.getEpicBranches(); i++) {
+            writeBranchCommit(writer, EPIC_BRANCH_PREFIX + i, random, commits, time++);
+        }
+        for (int i = 1; i <= scale.getMaintenanceBranches(); i++) {
+            writeBranchCommit(writer, MAINTENANCE_BRANCH_PREFIX + i, random, commits, time++);
+        }
+        for (int i = 1; i <= scale.getFeatureBranches(); i++) {
+            writeBranchCommit(writer, FEATURE_BRANCH_PREFIX + i, random, commits, time++);
+        }
+        for (int i = 1; i <= scale.getTags(); i++) {
+            writer.write("reset refs/tags/" + TAG_PREFIX + i + "\n");
+            writer.write("from :" + (1 + random.nextInt(commits)) + "\n\n");
+        }
+        writer.write("done\n");
+    }
+
+    private void writeBranchCommit(Writer writer, String branch, Random random, int commits, long time)
+            throws IOException {
+        String base = ":" + (1 + random.nextInt(commits));
+        writeCommit(writer, "refs/heads/" + branch, 0, base, time, "SYN: work on " + branch,
+                "branches/" + branch.replace('/', '_') + ".txt", branch);
+    }
+
+    private void writeCommit(Writer writer, String ref, int mark, String from, long time, String message,
+            String file, String content) throws IOException {
+        writer.write("commit " + ref + "\n");
+        if (mark > 0) {
+            writer.write("mark :" + mark + "\n");
+        }
+        writer.write("committer Synthetic <synthetic@example.com> " + time + " +0000\n");
+        writeData(writer, message);
+        if (from != null) {
+            writer.write("from " + from + "\n");
+        }
+        writer.write("M 644 inline " + file + "\n");
+        writeData(writer, content + "\n");
+        writer.write("\n");
+    }
+
+    private void writeData(Writer writer, String data) throws IOException {
+        writer.write("data " + data.getBytes(StandardCharsets.UTF_8).length + "\n");
+        writer.write(data);
+        writer.write("\n");
+    }
+
+    private void deleteLocalSyntheticBranches(File localDir, SyntheticRepositoryScale scale) throws IOException {
+        List<String> branches = new ArrayList<>();
+        for (int i = 1; i <= scale.getEpicBranches(); i++) {
+            branches.add(EPIC_BRANCH_PREFIX + i);
+        }
+        for (int i = 1; i <= scale.getMaintenanceBranches(); i++) {
+            branches.add(MAINTENANCE_BRANCH_PREFIX + i);
+        }
+        for (int i = 1; i <= scale.getFeatureBranches(); i++) {
+            branches.add(FEATURE_BRANCH_PREFIX + i);
+        }
+        Process updateRef = new ProcessBuilder("git", "update-ref", "--stdin").directory(localDir)
+                .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.INHERIT).start();
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(updateRef.getOutputStream(), StandardCharsets.UTF_8))) {
+            for (String branch : branches) {
+                writer.write("delete refs/heads/" + branch + "\n");
+            }
+        }
+        waitFor(updateRef, "git update-ref");
+    }
+
+    private void executeGit(File dir, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        for (String arg : args) {
+            command.add(arg);
+        }
+        Process process = new ProcessBuilder(command).directory(dir).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT).start();
+        waitFor(process, "git " + args[0]);
+    }
+
+    private void waitFor(Process process, String command) throws IOException {
+        try {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("'" + command + "' failed with exit code " + exitCode);
+            }
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for '" + command + "'", exc);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+//
+// SyntheticRepositoryScale.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+/**
+ * Scales of the synthetic repositories used by
+ * {@link LargeRepositoryBenchmark}.
+ *
+ * @author Volodymyr Medvid
+ */
+public enum SyntheticRepositoryScale {
+
+    SMALL(100, 5, 2, 1000, 1, 200),
+
+    MEDIUM(1000, 50, 10, 10000, 50, 2000),
+
+    LARGE(10000, 200, 50, 100000, 500, 20000);
+
+    private final int featureBranches;
+
+    private final int epicBranches;
+
+    private final int maintenanceBranches;
+
+    private final int commits;
+
+    private final int modules;
+
+    private final int tags;
+
+    private SyntheticRepositoryScale(int aFeatureBranches, int anEpicBranches, int aMaintenanceBranches,
+            int aCommits, int aModules, int aTags) {
+        featureBranches = aFeatureBranches;
+        epicBranches = anEpicBranches;
+        maintenanceBranches = aMaintenanceBranches;
+        commits = aCommits;
+        modules = aModules;
+        tags = aTags;
+    }
+
+    /**
+     * @return the number of remote feature branches
+     */
+    public int getFeatureBranches() {
+        return featureBranches;
+    }
+
+    /**
+     * @return the number of remote epic branches
+     */
+    public int getEpicBranches() {
+        return epicBranches;
+    }
+
+    /**
+     * @return the number of remote maintenance branches
+     */
+    public int getMaintenanceBranches() {
+        return maintenanceBranches;
+    }
+
+    /**
+     * @return the number of commits on master
+     */
+    public int getCommits() {
+        return commits;
+    }
+
+    /**
+     * @return the number of modules in the reactor (1 for a single module
+     *         project)
+     */
+    public int getModules() {
+        return modules;
+    }
+
+    /**
+     * @return the number of tags
+     */
+    public int getTags() {
+        return tags;
+    }
+
+    /**
+     * Get scale by its name (case insensitive).
+     *
+     * @param name
+     *            the name of the scale
+     * @return the scale
+     * @throws IllegalArgumentException
+     *             if no scale with passed name exists
+     */
+    public static SyntheticRepositoryScale getByName(String name) {
+        for (SyntheticRepositoryScale scale : values()) {
+            if (scale.name().equalsIgnoreCase(name.trim())) {
+                return scale;
+            }
+        }
+        throw new IllegalArgumentException("Unknown repository scale '" + name + "'");
+    }
+}
@@ -0,0 +1,82 @@
+//
+// VersionInfoBenchmark.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for parsing, incrementing and comparing of versions with
+ * {@link DefaultVersionInfo}.
+ *
+ * @author Volodymyr Medvid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class VersionInfoBenchmark {
+
+    private static final String[] VERSIONS = { "1.2.3-SNAPSHOT", "1.2.3", "2.0", "10.4.21-RC-4-SNAPSHOT",
+            "3.1.0-alpha-2", "1.2.9-beta-9-SNAPSHOT", "4.0.0-20041114.081234-2", "1.0.1-GBLD-123-SNAPSHOT",
+            "5.11.0.3-SNAPSHOT", "7.0.0-M1" };
+
+    private DefaultVersionInfo[] versionInfos;
+
+    @Setup
+    public void setUp() throws VersionParseException {
+        versionInfos = new DefaultVersionInfo[VERSIONS.length];
+        for (int i = 0; i < VERSIONS.length; i++) {
+            versionInfos[i] = new DefaultVersionInfo(VERSIONS[i]);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws VersionParseException {
+        for (String version : VERSIONS) {
+            blackhole.consume(new DefaultVersionInfo(version));
+        }
+    }
+
+    @Benchmark
+    public void getNextVersion(Blackhole blackhole) {
+        for (DefaultVersionInfo versionInfo : versionInfos) {
+            blackhole.consume(versionInfo.getNextVersion());
+        }
+    }
+
+    @Benchmark
+    public void compareTo(Blackhole blackhole) {
+        for (DefaultVersionInfo first : versionInfos) {
+            for (DefaultVersionInfo second : versionInfos) {
+                blackhole.consume(first.compareTo(second));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getReleaseVersionString(Blackhole blackhole) {
+        for (DefaultVersionInfo versionInfo : versionInfos) {
+            blackhole.consume(versionInfo.getReleaseVersionString());
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -19,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,13 +28,20 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
 import java.util.logging.Formatter;
@@ -51,6 +60,7 @@ import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.builder.fluent.PropertiesBuilderParameters;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.text.StrLookup;
 import org.apache.commons.lang3.text.StrSubstitutor;
 import org.apache.maven.artifact.Artifact;
@@ -80,8 +90,11 @@ import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import de.gebit.build.maven.plugin.gitflow.BranchCentralConfigChanges.Change;
+import de.gebit.build.maven.plugin.gitflow.CommandWatchdog.CommandTimeoutException;
+import de.gebit.build.maven.plugin.gitflow.steps.Breakpoint;
 import de.gebit.build.maven.plugin.gitflow.utils.GitLabClient;
 
 /**
@@ -144,6 +157,13 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     private static final int SUCCESS_EXIT_CODE = 0;
 
     private static final long PROGRESS_OUTPUT_TIMEOUT_IN_MILLIS = 5000;
+
+    /** Hooks executed by <code>git merge</code> for a merge commit. */
+    private static final String[] MERGE_HOOKS = { "pre-merge-commit", "prepare-commit-msg", "commit-msg",
+            "post-merge" };
+
+    /** Hooks executed by <code>git commit</code>. */
+    private static final String[] SQUASH_HOOKS = { "pre-commit", "prepare-commit-msg", "commit-msg", "post-commit" };
     
     private static final List<String> MAVEN_LAUNCHERS = Arrays
             .asList("org.codehaus.plexus.classworlds.launcher.Launcher", "org.apache.maven.cli.MavenCli");
@@ -275,6 +295,31 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     @Parameter(property = "flow.statusBeforeCheck", defaultValue = "false")
     private boolean statusBeforeCheck;
 
+    /**
+     * Whether the check for uncommitted changes should be done with one
+     * <code>git status --porcelain=v2 --untracked-files=no</code> instead of
+     * <code>git diff</code> and <code>git diff-index</code>. The built-in file
+     * system monitor of git (<code>core.fsmonitor</code>) is used if it is
+     * supported by the installed git and not configured otherwise. The result
+     * is reused until the plugin executes a command that can change files.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.fastDirtyCheck", defaultValue = "false")
+    private boolean fastDirtyCheck;
+
+    /**
+     * Whether the operations of the plugin should stay inside the sparse
+     * checkout cone if the repository is a sparse checkout or a partial clone.
+     * Version fixup commits and <code>checkout --ours</code> are restricted to
+     * the changed or conflicting files and the worktree of the central branch
+     * config is checked out completely without sparse checkout patterns.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.sparseAware", defaultValue = "false")
+    private boolean sparseAware;
+
     /**
      * Whether to print commands output into the console.
      *
@@ -437,13 +482,299 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     @Parameter(property = "flow.installProjectOptions")
     protected String installProjectOptions;
-    
+
+    /**
+     * Path to a file where all external commands executed by the goal should be
+     * recorded to. For each command the arguments, working directory,
+     * environment, exit code, output and timing are written. An existing file
+     * will be overwritten. The recording can be replayed later using
+     * <code>flow.replayCommands</code>.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.recordCommands")
+    protected String recordCommands;
+
+    /**
+     * Path to a command recording file created with
+     * <code>flow.recordCommands</code>. If set, no external commands are
+     * executed. Instead the results of the commands are taken from the
+     * recording. Can be used to reproduce a goal execution deterministically
+     * and without network access.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.replayCommands")
+    protected String replayCommands;
+
+    /**
+     * Path to a file where metrics of the goal execution should be written to
+     * in Prometheus text exposition format (e.g. a file in the directory of the
+     * node exporter textfile collector). The file is overwritten atomically at
+     * the end of each goal execution. The metrics contain the goal duration,
+     * durations of the process steps, counts and durations of executed git and
+     * maven commands, bytes fetched/pushed, central branch config load/store
+     * times and cache hit rates.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.metricsFile")
+    protected String metricsFile;
+
+    /**
+     * URL the metrics of the goal execution should be posted to at the end of
+     * each goal execution, e.g. a push gateway URL like
+     * <code>http://localhost:9091/metrics/job/gitflow</code>. Failures on
+     * posting the metrics are logged but don't fail the goal.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.metricsPushUrl")
+    protected String metricsPushUrl;
+
+    /**
+     * Timeout in seconds for local git commands (all git commands that don't
+     * access the remote repository). The process tree of a command that
+     * exceeds the timeout is terminated and the goal fails. <code>0</code>
+     * means no timeout.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.gitLocalTimeout", defaultValue = "0")
+    protected int gitLocalTimeout;
+
+    /**
+     * Timeout in seconds for git commands that access the remote repository
+     * (fetch, push, pull, ls-remote etc.). The process tree of a command that
+     * exceeds the timeout is terminated and the goal fails. <code>0</code>
+     * means no timeout.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.gitNetworkTimeout", defaultValue = "0")
+    protected int gitNetworkTimeout;
+
+    /**
+     * Timeout in seconds for maven commands that change the project version
+     * (including additional version commands). The process tree of a command
+     * that exceeds the timeout is terminated and the goal fails.
+     * <code>0</code> means no timeout.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.mvnVersionTimeout", defaultValue = "0")
+    protected int mvnVersionTimeout;
+
+    /**
+     * Timeout in seconds for maven commands that build the project (test,
+     * install and release goals). The process tree of a command that exceeds
+     * the timeout is terminated and the goal fails. <code>0</code> means no
+     * timeout.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.mvnBuildTimeout", defaultValue = "0")
+    protected int mvnBuildTimeout;
+
+    /**
+     * Interval in seconds in which a still running external command is
+     * reported, even if the command doesn't produce any output.
+     * <code>0</code> disables the reporting.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.commandHeartbeatInterval", defaultValue = "60")
+    protected int commandHeartbeatInterval;
+
+    /**
+     * Whether the commit-graph and the multi-pack-index of the repository
+     * should be refreshed after fetch if they are missing or older than the
+     * newest pack file. Ancestry queries (merge-base, rev-list --count,
+     * --contains) use generation numbers from the commit-graph and are much
+     * faster on large repositories.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.maintainCommitGraph", defaultValue = "false")
+    protected boolean maintainCommitGraph;
+
+    /**
+     * Time budget in seconds for the commit-graph and multi-pack-index
+     * maintenance per goal execution (see <code>maintainCommitGraph</code>).
+     * Maintenance commands exceeding the budget are terminated without failing
+     * the goal.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.commitGraphMaintenanceBudget", defaultValue = "10")
+    protected int commitGraphMaintenanceBudget;
+
+    /**
+     * Whether git fetch should download only the branches needed by the
+     * current operation (explicit refspecs, without tags except for release
+     * and hotfix goals) instead of all branches and tags of the remote
+     * repository. Operations that need all branches still fetch everything.
+     * If a targeted fetch fails, a full fetch is executed.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.targetedFetch", defaultValue = "false")
+    protected boolean targetedFetch;
+
+    /**
+     * Whether all git commands of the goal should share one SSH connection to
+     * the remote repository (OpenSSH connection multiplexing with
+     * <code>ControlMaster</code>), so that fetch, push and ls-remote don't
+     * need an own SSH handshake each. The shared connection is closed at the
+     * end of the goal. Not supported on Windows.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.sshMultiplexing", defaultValue = "false")
+    protected boolean sshMultiplexing;
+
+    /**
+     * Whether the changes from the remote repository should be fetched in
+     * background right at the start of the goal, while the goal does local
+     * work (loading of central branch config, checks for uncommitted changes,
+     * version computation etc.). The first fetch of the goal waits then for the
+     * background fetch instead of starting an own one. Commands that change
+     * the repository wait for the background fetch to be finished. Has no
+     * effect if <code>fetchRemote=false</code> or if commands are recorded or
+     * replayed.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.backgroundFetch", defaultValue = "false")
+    protected boolean backgroundFetch;
+
+    /**
+     * Number of seconds a previous fetch from the remote repository is
+     * considered to be up to date. If <code>FETCH_HEAD</code> was written
+     * within this time and nothing was pushed since then, fetching is skipped.
+     * Useful if several goals are executed one after another. <code>0</code>
+     * disables the freshness check.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.fetchFreshness", defaultValue = "0")
+    protected int fetchFreshness;
+
+    /**
+     * Whether a branch should be merged into another branch without checking
+     * out the target branch first. The merge is computed with
+     * <code>git merge-tree --write-tree</code> without touching the index and
+     * the working tree. A clean merge is committed directly, so that the
+     * working tree is updated only once on checkout of the merge result. If
+     * the merge has conflicts, the conflicting files are reported and the
+     * merge is executed in the working tree as usual. Requires git 2.38 or
+     * newer, with older git versions the merge is executed in the working
+     * tree. The merge is also executed in the working tree if the merge
+     * commit created by <code>git merge</code> could differ: if merge or
+     * commit hooks are installed, commit signing is enabled or
+     * <code>commit.cleanup</code> or <code>merge.log</code> is configured.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.inMemoryMerge", defaultValue = "false")
+    protected boolean inMemoryMerge;
+
+    /**
+     * Whether release-finish and feature-finish should update branches that
+     * are not needed in the working tree without checking them out: a missing
+     * production branch is created with <code>git branch</code>, the
+     * development branch is fast forwarded to its remote branch with
+     * <code>git update-ref</code> and the version of the base branch is read
+     * with <code>git show</code>. Branch updates without checkout bypass git
+     * hooks and other side effects of a checkout. By default the branches are
+     * checked out.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.skipRedundantCheckouts", defaultValue = "false")
+    protected boolean skipRedundantCheckouts;
+
+    /**
+     * Whether goals that switch between several branches (feature-finish,
+     * feature-integrate, release-finish, release) should be executed in a
+     * temporary git worktree that shares the object store with the repository.
+     * The working tree of the user stays untouched, only the branches are
+     * updated. While the goal changes the repository, the HEAD of the user's
+     * working tree is detached at the commit of the user's files. It is
+     * attached to the branch again after the goal if the goal didn't change
+     * the branch. If the goal is paused (e.g. on merge conflicts), the
+     * worktree is kept in <code>.git/gitflow-worktree</code> and the next goal
+     * executed with this parameter continues there.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.isolatedWorktree", defaultValue = "false")
+    protected boolean isolatedWorktree;
+
+    /**
+     * Whether feature commits should be squashed (feature-cleanup with
+     * <code>flow.cleanupSquash=true</code> and a squash message) by creating the
+     * squash commit directly from the tree of the feature branch with
+     * <code>git commit-tree</code>. The index and the working tree are not
+     * touched, only the feature branch is moved. The squash commit is created
+     * with <code>git commit</code> as usual if commit hooks are installed,
+     * commit signing is enabled or <code>commit.cleanup</code> is configured.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.inMemorySquash", defaultValue = "false")
+    protected boolean inMemorySquash;
+
     private ExtendedPrompter extendedPrompter;
 
     private CentralBranchConfigCache centralBranchConfigCache;
 
     private boolean alreadyFetched = false;
 
+    private BranchStateOracle branchStateOracle;
+
+    private BranchReachabilityIndex branchReachabilityIndex;
+
+    private String branchReachabilityMergeBase;
+
+    private Map<String, String> remoteBranches;
+
+    private Map<String, String> remoteTags;
+
+    private File sshControlDir;
+
+    private String gitSshCommand;
+
+    private Set<String> fetchedBranchPatterns = new HashSet<>();
+
+    private BackgroundFetch pendingBackgroundFetch;
+
+    private File fetchHeadFile;
+
+    private long lastPushTime = 0;
+
+    private GitVersion gitVersion;
+
+    private IsolatedWorktree activeIsolatedWorktree;
+
+    private File isolatedBasedir;
+
+    private String isolatedWorktreeStartState;
+
+    private Boolean uncommittedChanges;
+
+    private RepositoryLayout repositoryLayout;
+
+    private RepositoryState repositoryState;
+
+    private String[] fastDirtyCheckArgs;
+
+    private Boolean sparseRepository;
+
+    private long commitGraphMaintenanceDeadline = 0;
+
+    private boolean commitGraphMaintenanceFailed = false;
+
     private LogWrapper logWrapper;
 
     private LogWrapper mavenLog;
@@ -452,6 +783,12 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
 
     private File tempLogFile;
 
+    private CommandRecorder commandRecorder;
+
+    private CommandReplayer commandReplayer;
+
+    private GoalMetrics goalMetrics;
+
     protected abstract String getCurrentGoal();
 
     /**
@@ -459,7 +796,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     private void initExecutables() {
         if (StringUtils.isBlank(cmdMvn.getExecutable())) {
-            String basedir = session.getRequest().getBaseDirectory();
+            String basedir = getBasedir().getPath();
             cmdMvn.setWorkingDirectory(basedir);
             if (StringUtils.isBlank(mvnExecutable)) {
                 String mvnCmd = null;
@@ -506,16 +843,349 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     
     private void initGitCmd(Commandline cmd) {
         if (StringUtils.isBlank(cmd.getExecutable())) {
-            String basedir = session.getRequest().getBaseDirectory();
+            String basedir = getBasedir().getPath();
             cmd.setWorkingDirectory(basedir);
             if (StringUtils.isBlank(gitExecutable)) {
                 gitExecutable = "git";
             }
             cmd.setExecutable(gitExecutable);
             cmd.addEnvironment("LANG", "en");
+            if (gitSshCommand != null) {
+                cmd.addEnvironment("GIT_SSH_COMMAND", gitSshCommand);
+            }
+        }
+    }
+
+    /**
+     * Start SSH connection multiplexing if parameter
+     * <code>sshMultiplexing</code> is enabled. The SSH command configured for
+     * git (<code>GIT_SSH_COMMAND</code> or <code>core.sshCommand</code>) is
+     * extended with <code>ControlMaster</code> options and a control socket in
+     * a private temporary directory.
+     */
+    private void initSshMultiplexing() throws MojoFailureException, CommandLineException {
+        if (!sshMultiplexing || commandReplayer != null) {
+            return;
+        }
+        if (System.getProperty("os.name", "").toLowerCase().startsWith("windows")) {
+            getLog().info("SSH connection multiplexing is not supported on Windows.");
+            return;
+        }
+        if (StringUtils.isNotBlank(System.getenv("GIT_SSH"))) {
+            getLog().info("SSH connection multiplexing is not supported if GIT_SSH is set.");
+            return;
+        }
+        String sshCommand = System.getenv("GIT_SSH_COMMAND");
+        if (StringUtils.isBlank(sshCommand)) {
+            CommandResult result = executeGitCommandExitCode("config", "--get", "core.sshCommand");
+            sshCommand = (result.getExitCode() == SUCCESS_EXIT_CODE && StringUtils.isNotBlank(result.getOut()))
+                    ? result.getOut().trim()
+                    : "ssh";
+        }
+        try {
+            sshControlDir = Files.createTempDirectory("gitflow-ssh",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))).toFile();
+        } catch (IOException | UnsupportedOperationException e) {
+            getLog().warn("Failed to create directory for SSH control sockets. SSH connection multiplexing disabled.",
+                    e);
+            return;
+        }
+        // %C is a hash of the connection parameters and keeps the socket path short
+        gitSshCommand = sshCommand + " -o ControlMaster=auto -o 'ControlPath=" + sshControlDir.getAbsolutePath()
+                + "/%C' -o ControlPersist=300";
+        cmdGit.addEnvironment("GIT_SSH_COMMAND", gitSshCommand);
+        getLog().debug("SSH connection multiplexing enabled: " + gitSshCommand);
+    }
+
+    /**
+     * Close the shared SSH connections and remove the control socket directory.
+     */
+    private void closeSshMultiplexing() {
+        if (sshControlDir == null) {
+            return;
+        }
+        File[] controlSockets = sshControlDir.listFiles();
+        if (controlSockets != null) {
+            for (File controlSocket : controlSockets) {
+                try {
+                    // the host name is ignored if the control path is explicit
+                    Process process = new ProcessBuilder("ssh", "-o", "ControlPath=" + controlSocket.getAbsolutePath(),
+                            "-O", "exit", "gitflow").redirectErrorStream(true).start();
+                    process.getOutputStream().close();
+                    IOUtils.toString(process.getInputStream(), StandardCharsets.UTF_8);
+                    if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                        process.destroyForcibly();
+                    }
+                } catch (IOException e) {
+                    getLog().debug("Failed to close SSH master connection '" + controlSocket + "'.", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        try {
+            FileUtils.deleteDirectory(sshControlDir);
+        } catch (IOException e) {
+            getLog().debug("Failed to delete SSH control socket directory '" + sshControlDir + "'.", e);
+        }
+        sshControlDir = null;
+        gitSshCommand = null;
+    }
+
+    /**
+     * Start fetching from the remote repository in background if parameter
+     * <code>backgroundFetch</code> is enabled. The fetch is executed with an
+     * own command line, because <code>cmdGit</code> is used by the goal in
+     * the meantime. Not supported if commands are recorded or replayed,
+     * because the order of commands would be undefined.
+     */
+    private void startBackgroundFetch() throws MojoFailureException, CommandLineException {
+        if (!backgroundFetch || !fetchRemote || commandReplayer != null || commandRecorder != null
+                || isFetchHeadFresh()) {
+            return;
+        }
+        initExecutables();
+        Commandline fetchCmd = new ShellCommandLine();
+        initGitCmd(fetchCmd);
+        if (goalMetrics != null) {
+            // progress output is needed to measure the fetched bytes
+            fetchCmd.addArguments(new String[] { "fetch", "--quiet", "--progress", gitFlowConfig.getOrigin() });
+        } else {
+            fetchCmd.addArguments(new String[] { "fetch", "--quiet", gitFlowConfig.getOrigin() });
+        }
+        if (getLog().isDebugEnabled()) {
+            getLog().debug(fetchCmd.getExecutable() + " " + StringUtils.join(fetchCmd.getArguments(), " "));
+        }
+        pendingBackgroundFetch = new BackgroundFetch(fetchCmd, getCommandTimeout(CommandCategory.GIT_NETWORK));
+        getLog().info("Fetching changes from '" + gitFlowConfig.getOrigin() + "' in background.");
+    }
+
+    /**
+     * Wait for the background fetch if it is running. The output and metrics of
+     * the fetch are processed by the goal thread here, and the caches of
+     * remote references are invalidated.
+     *
+     * @return <code>true</code> if the background fetch was finished
+     *         successfully, <code>false</code> if there was no background fetch
+     *         or it failed
+     */
+    private boolean awaitBackgroundFetch() throws MojoFailureException, CommandLineException {
+        if (pendingBackgroundFetch == null) {
+            return false;
+        }
+        BackgroundFetch fetch = pendingBackgroundFetch;
+        pendingBackgroundFetch = null;
+        BackgroundFetch.Result result;
+        try {
+            result = fetch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommandLineException("Interrupted while waiting for the background fetch.", e);
+        } catch (CommandLineException e) {
+            getLog().warn("Fetching changes from '" + gitFlowConfig.getOrigin() + "' in background failed: "
+                    + e.getMessage());
+            return false;
+        } finally {
+            // the fetch changed remote branches without invalidation of the caches
+            if (branchStateOracle != null) {
+                branchStateOracle.invalidate();
+            }
+            remoteBranches = null;
+        }
+        List<String> errLines = new ArrayList<>();
+        for (String line : result.getErrLines()) {
+            if (goalMetrics == null || !goalMetrics.consumeTransferProgress(line)) {
+                errLines.add(line);
+                getLog().debug(line);
+            }
+        }
+        if (goalMetrics != null) {
+            goalMetrics.commandExecuted("git", result.getDurationMillis());
+        }
+        if (result.getExitCode() != SUCCESS_EXIT_CODE) {
+            getLog().warn("Fetching changes from '" + gitFlowConfig.getOrigin() + "' in background failed: "
+                    + StringUtils.join(errLines.iterator(), "\n"));
+            return false;
+        }
+        getLog().info("Changes from '" + gitFlowConfig.getOrigin() + "' fetched in background.");
+        alreadyFetched = true;
+        return true;
+    }
+
+    /**
+     * Wait for the background fetch at the end of the goal, so that no git
+     * process outlives the goal.
+     */
+    private void finishBackgroundFetch() {
+        if (pendingBackgroundFetch == null) {
+            return;
+        }
+        try {
+            pendingBackgroundFetch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CommandLineException e) {
+            getLog().debug("Unused background fetch failed.", e);
+        }
+        pendingBackgroundFetch = null;
+    }
+
+    /**
+     * Whether the goal switches between several branches and can be executed
+     * in an isolated worktree (see parameter <code>isolatedWorktree</code>).
+     *
+     * @return <code>true</code> if a new isolated worktree can be created for
+     *         the goal
+     */
+    protected boolean isIsolatedWorktreeSupported() {
+        return false;
+    }
+
+    /**
+     * Switch all git and maven commands to the isolated worktree if parameter
+     * <code>isolatedWorktree</code> is enabled. An existing isolated worktree
+     * of a paused goal is always used. A new one is created only for goals that
+     * support it. The working tree of the user is not changed.
+     */
+    private void enterIsolatedWorktree() throws MojoFailureException, CommandLineException {
+        if (!isolatedWorktree) {
+            return;
+        }
+        RepositoryLayout layout = getRepositoryLayout();
+        String prefix = layout.getPrefix();
+        IsolatedWorktree worktree = IsolatedWorktree.open(this::executeGitCommandIn, layout.getCommonDir(),
+                getBasedir());
+        if (worktree != null) {
+            getMavenLog().info("Continuing in isolated worktree '" + worktree.getDirectory() + "'.");
+        } else if (isIsolatedWorktreeSupported()) {
+            if (!isGitVersionAtLeast(GitVersion.WORKTREE_REMOVE)) {
+                getMavenLog().info("Isolated worktree requires git " + GitVersion.WORKTREE_REMOVE
+                        + " or newer. Executing goal in the working tree.");
+                return;
+            }
+            checkUncommittedChanges();
+            worktree = IsolatedWorktree.create(this::executeGitCommandIn, layout.getCommonDir(), getBasedir());
+            getMavenLog().info("Executing goal in isolated worktree '" + worktree.getDirectory() + "'.");
+            isolatedWorktreeStartState = worktree.getState();
+        } else {
+            return;
+        }
+        initExecutables();
+        activeIsolatedWorktree = worktree;
+        File worktreeDir = worktree.getDirectory();
+        isolatedBasedir = prefix.isEmpty() ? worktreeDir : new File(worktreeDir, prefix);
+        repositoryLayout = null;
+        sparseRepository = null;
+        repositoryState = null;
+        cmdGit.setWorkingDirectory(isolatedBasedir);
+        cmdMvn.setWorkingDirectory(isolatedBasedir);
+    }
+
+    private String executeGitCommandIn(File workingDirectory, boolean failOnError, String... args)
+            throws MojoFailureException, CommandLineException {
+        CommandResult result = executeCommand(getWorktreeCmd(workingDirectory), failOnError, args);
+        return result.getExitCode() == SUCCESS_EXIT_CODE ? result.getOut().trim() : null;
+    }
+
+    /**
+     * Detach the HEAD of the user's working tree before the first git command
+     * executed in the isolated worktree that can change the repository.
+     */
+    private void releaseUserBranchInIsolatedWorktree() throws MojoFailureException, CommandLineException {
+        if (activeIsolatedWorktree.releaseUserBranch()) {
+            getLog().debug("Detached HEAD of the working tree from branch '"
+                    + activeIsolatedWorktree.getUserBranch() + "' while the goal changes the repository.");
         }
     }
 
+    /**
+     * Remove the isolated worktree after the goal and switch all commands back
+     * to the user's working tree. The isolated worktree is kept if the goal
+     * failed after changing something in it, so that the goal can be continued
+     * there. After the removal the HEAD of the user's working tree is attached
+     * to its branch again unless the goal changed the branch.
+     */
+    private void leaveIsolatedWorktree(boolean success) {
+        if (activeIsolatedWorktree == null) {
+            return;
+        }
+        IsolatedWorktree worktree = activeIsolatedWorktree;
+        try {
+            boolean unchanged = isolatedWorktreeStartState != null && !executeGitHasUncommitted()
+                    && !gitMergeInProcess() && !gitRebaseInProcess()
+                    && isolatedWorktreeStartState.equals(worktree.getState());
+            String finalBranch = gitCurrentBranchOrCommit();
+            activeIsolatedWorktree = null;
+            isolatedBasedir = null;
+            repositoryLayout = null;
+            sparseRepository = null;
+            repositoryState = null;
+            cmdGit.setWorkingDirectory(getBasedir());
+            cmdMvn.setWorkingDirectory(getBasedir());
+            if (!success && !unchanged) {
+                if (worktree.isUserHeadDetached()) {
+                    getMavenLog().info("The HEAD of your working tree was detached at the commit of your files "
+                            + "while the goal is not finished.");
+                }
+                getMavenLog().info("The goal was executed in isolated worktree '" + worktree.getDirectory()
+                        + "'. Fix the problem there and run the goal again (with isolated worktree enabled) "
+                        + "to continue.");
+                return;
+            }
+            worktree.remove();
+            if (!worktree.restoreUserBranch() && worktree.isUserHeadDetached()) {
+                getMavenLog().info("Branch '" + worktree.getUserBranch() + "' was changed by the goal. "
+                        + "The HEAD of your working tree stays detached at the commit of your files.");
+            }
+            if (success && !finalBranch.equals(gitCurrentBranchOrCommit())) {
+                getMavenLog().info("Your working tree was not changed. The goal finished on '" + finalBranch
+                        + "'. Use 'git checkout " + finalBranch + "' to switch to it.");
+            }
+        } catch (MojoFailureException | CommandLineException e) {
+            getLog().warn("Failed to remove isolated worktree '" + worktree.getDirectory() + "'.", e);
+        }
+    }
+
+    /**
+     * Check if the last fetch (<code>FETCH_HEAD</code>) is younger than
+     * <code>fetchFreshness</code> seconds and nothing was pushed since then.
+     */
+    private boolean isFetchHeadFresh() throws MojoFailureException, CommandLineException {
+        if (fetchFreshness <= 0 || commandReplayer != null) {
+            return false;
+        }
+        if (fetchHeadFile == null) {
+            fetchHeadFile = new File(getRepositoryLayout().getGitDir(), "FETCH_HEAD");
+        }
+        long lastFetchTime = fetchHeadFile.lastModified();
+        if (lastFetchTime == 0 || lastFetchTime <= lastPushTime) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - lastFetchTime;
+        if (age < 0 || age >= fetchFreshness * 1000L) {
+            return false;
+        }
+        getLog().info("Skipping fetch from '" + gitFlowConfig.getOrigin() + "'. Last fetch was " + (age / 1000)
+                + " seconds ago.");
+        return true;
+    }
+
+    /**
+     * Check if fetching can be skipped, because the background fetch was
+     * finished or the last fetch is fresh enough.
+     */
+    private boolean isFetchUpToDate() throws MojoFailureException, CommandLineException {
+        if (awaitBackgroundFetch() || isFetchHeadFresh()) {
+            alreadyFetched = true;
+            if (maintainCommitGraph) {
+                gitMaintainCommitGraph();
+            }
+            return true;
+        }
+        return false;
+    }
+
     private String getJavaExecutable() {
         String[] candidates = new String[] { "javaw", "javaw.exe", "java", "java.exe" };
         Path javaBinPath = Paths.get(System.getProperty("java.home"), "bin");
@@ -595,9 +1265,13 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     /**
-     * Get the directory where we operate
+     * Get the directory where we operate (the corresponding directory in the
+     * isolated worktree if the goal is executed there)
      */
     protected File getBasedir() {
+        if (isolatedBasedir != null) {
+            return isolatedBasedir;
+        }
         String basedir = this.session.getRequest().getBaseDirectory();
         return new File(basedir);
     }
@@ -628,8 +1302,15 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             }
         }
         initializeVersionlessMode();
+        boolean success = false;
         try {
+            initCommandRecording();
+            initGoalMetrics();
+            initSshMultiplexing();
+            startBackgroundFetch();
+            enterIsolatedWorktree();
             executeGoal();
+            success = true;
             copyLogFile();
         } catch (CommandLineException e) {
             String message = "External command execution failed with error:\n" + e.getMessage()
@@ -650,10 +1331,117 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             }
             throw e;
         } finally {
+            leaveIsolatedWorktree(success);
+            finishBackgroundFetch();
+            closeSshMultiplexing();
+            writeGoalMetrics(success);
+            closeCommandRecording();
             closeExternalLog();
         }
     }
 
+    private void initGoalMetrics() {
+        if (StringUtils.isNotBlank(metricsFile) || StringUtils.isNotBlank(metricsPushUrl)) {
+            goalMetrics = new GoalMetrics(getCurrentGoal());
+        }
+    }
+
+    private void writeGoalMetrics(boolean success) {
+        if (goalMetrics == null) {
+            return;
+        }
+        Map<String, String> labels = new HashMap<>();
+        labels.put("project", project.getGroupId() + ":" + project.getArtifactId());
+        String metrics = goalMetrics.format(success, System.currentTimeMillis(), labels);
+        goalMetrics = null;
+        if (StringUtils.isNotBlank(metricsFile)) {
+            File file = resolveFile(metricsFile);
+            try {
+                GoalMetricsExporter.writeFile(file, metrics);
+            } catch (IOException e) {
+                getLog().warn("Failed to write metrics to file '" + file + "'.", e);
+            }
+        }
+        if (StringUtils.isNotBlank(metricsPushUrl)) {
+            try {
+                GoalMetricsExporter.post(metricsPushUrl, metrics);
+            } catch (IOException e) {
+                getLog().warn("Failed to post metrics to '" + metricsPushUrl + "'.", e);
+            }
+        }
+    }
+
+    /**
+     * Register the execution of a process step in the goal metrics.
+     *
+     * @param stepIndex
+     *            the index of the step in the list of all process steps
+     * @param breakpoint
+     *            the breakpoint associated with the step or <code>null</code>
+     * @param durationMillis
+     *            the execution time of the step in milliseconds
+     */
+    protected void stepExecuted(int stepIndex, Breakpoint breakpoint, long durationMillis) {
+        if (goalMetrics != null) {
+            goalMetrics.stepExecuted(stepIndex, breakpoint != null ? breakpoint.getId() : null, durationMillis);
+        }
+    }
+
+    private void initCommandRecording() throws MojoFailureException {
+        if (StringUtils.isNotBlank(recordCommands) && StringUtils.isNotBlank(replayCommands)) {
+            throw new GitFlowFailureException(
+                    "Parameters 'flow.recordCommands' and 'flow.replayCommands' can't be used at the same time.",
+                    "Please use only one of the parameters.");
+        }
+        if (StringUtils.isNotBlank(recordCommands)) {
+            File recordFile = resolveFile(recordCommands);
+            try {
+                commandRecorder = new CommandRecorder(recordFile, getCurrentGoal());
+            } catch (IOException e) {
+                throw new GitFlowFailureException(e,
+                        "Failed to create command recording file '" + recordFile + "'.\n" + e.getMessage(),
+                        "Please check the path in parameter 'flow.recordCommands'.");
+            }
+            getMavenLog().info("Recording external commands to '" + recordFile + "'.");
+        } else if (StringUtils.isNotBlank(replayCommands)) {
+            File replayFile = resolveFile(replayCommands);
+            try {
+                commandReplayer = new CommandReplayer(replayFile);
+            } catch (IOException e) {
+                throw new GitFlowFailureException(e,
+                        "Failed to read command recording file '" + replayFile + "'.\n" + e.getMessage(),
+                        "Please check the path in parameter 'flow.replayCommands'.");
+            }
+            getMavenLog().info("Replaying external commands from '" + replayFile + "'. No commands will be executed.");
+        }
+    }
+
+    private File resolveFile(String path) {
+        File file = new File(path);
+        if (!file.isAbsolute()) {
+            file = new File(getBasedir(), path);
+        }
+        return file;
+    }
+
+    private void closeCommandRecording() {
+        if (commandRecorder != null) {
+            try {
+                commandRecorder.close();
+            } catch (IOException e) {
+                getLog().warn("Failed to close command recording file '" + commandRecorder.getFile() + "'.", e);
+            }
+            commandRecorder = null;
+        }
+        if (commandReplayer != null) {
+            int unused = commandReplayer.getUnusedCount();
+            if (unused > 0) {
+                getLog().info(unused + " recorded command(s) were not replayed.");
+            }
+            commandReplayer = null;
+        }
+    }
+
     private void closeExternalLog() {
         if (extLog != null) {
             for (Handler h : extLog.getHandlers()) {
@@ -733,7 +1521,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         try {
             // read pom.xml
             final MavenXpp3Reader mavenReader = new MavenXpp3Reader();
-            try (FileReader fileReader = new FileReader(project.getFile().getAbsoluteFile())) {
+            try (FileReader fileReader = new FileReader(getProjectFile())) {
                 final Model model = mavenReader.read(fileReader);
 
                 if (model.getVersion() == null) {
@@ -748,6 +1536,46 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Gets the project version from pom.xml file on the passed branch without
+     * checking out the branch.
+     *
+     * @param branchName
+     *            the name of the branch
+     * @return the project version on the branch
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected String getProjectVersionOnBranch(String branchName) throws MojoFailureException, CommandLineException {
+        if (versionless) {
+            // use project version
+            return project.getVersion();
+        }
+        String pomPath = getBasedir().getAbsoluteFile().toPath().relativize(getProjectFile().toPath()).toString()
+                .replace('\\', '/');
+        String pom = executeGitCommandReturn("show", branchName + ":./" + pomPath);
+        try {
+            final Model model = new MavenXpp3Reader().read(new StringReader(pom));
+            if (model.getVersion() == null) {
+                throw new MojoFailureException("Cannot get project version on branch '" + branchName
+                        + "'. This plugin should be executed from the parent project.");
+            }
+            return model.getVersion();
+        } catch (IOException | XmlPullParserException e) {
+            throw new MojoFailureException("", e);
+        }
+    }
+
+    private File getProjectFile() {
+        File projectFile = project.getFile().getAbsoluteFile();
+        if (isolatedBasedir == null) {
+            return projectFile;
+        }
+        Path relativePath = new File(session.getRequest().getBaseDirectory()).getAbsoluteFile().toPath()
+                .relativize(projectFile.toPath());
+        return new File(isolatedBasedir, relativePath.toString());
+    }
+
     /**
      * Access to the project itself.
      */
@@ -900,6 +1728,12 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      * @throws MojoFailureException
      */
     protected boolean executeGitHasUncommitted() throws MojoFailureException, CommandLineException {
+        if (fastDirtyCheck) {
+            if (uncommittedChanges == null) {
+                uncommittedChanges = StringUtils.isNotEmpty(executeGitCommandReturn(getFastDirtyCheckArgs()));
+            }
+            return uncommittedChanges;
+        }
         boolean uncommited = false;
 
         if (statusBeforeCheck) {
@@ -927,6 +1761,57 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return uncommited;
     }
 
+    private String[] getFastDirtyCheckArgs() throws MojoFailureException, CommandLineException {
+        if (fastDirtyCheckArgs == null) {
+            List<String> args = new ArrayList<>();
+            // status also reconciles pseudo-changes (CRLF) like statusBeforeCheck
+            if (executeGitCommandExitCode("version", "--build-options").getOut().contains("fsmonitor--daemon")
+                    && executeGitCommandExitCode("config", "core.fsmonitor").getExitCode() != SUCCESS_EXIT_CODE) {
+                getLog().debug("Using built-in file system monitor of git for the check of uncommitted changes.");
+                args.addAll(Arrays.asList("-c", "core.fsmonitor=true"));
+            }
+            args.addAll(Arrays.asList("status", "--porcelain=v2", "-z", "--untracked-files=no",
+                    "--ignore-submodules"));
+            fastDirtyCheckArgs = args.toArray(new String[args.size()]);
+        }
+        return fastDirtyCheckArgs;
+    }
+
+    /**
+     * Check if the plugin is configured to be sparse aware and the repository
+     * is a sparse checkout or a partial clone. The result is determined once
+     * per execution.
+     *
+     * @return <code>true</code> if the operations of the plugin should stay
+     *         inside the sparse checkout cone
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected boolean isSparseRepository() throws MojoFailureException, CommandLineException {
+        if (!sparseAware) {
+            return false;
+        }
+        if (sparseRepository == null) {
+            sparseRepository = false;
+            // keys are reported in lower case
+            CommandResult result = executeGitCommandExitCode("config", "--get-regexp",
+                    "^(core\\.sparsecheckout|extensions\\.partialclone|remote\\..*\\.promisor)$");
+            if (result.getExitCode() == SUCCESS_EXIT_CODE) {
+                for (String line : result.getOut().split("\r?\n")) {
+                    String[] parts = line.trim().split(" ", 2);
+                    if (parts.length == 2 && (parts[0].equals("extensions.partialclone")
+                            || !Arrays.asList("false", "no", "off", "0").contains(parts[1].trim().toLowerCase()))) {
+                        sparseRepository = true;
+                    }
+                }
+            }
+            if (sparseRepository) {
+                getLog().debug("Sparse checkout or partial clone detected.");
+            }
+        }
+        return sparseRepository;
+    }
+
     /**
      * Executes git config command.
      *
@@ -941,6 +1826,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         String configValue = StringUtils.isEmpty(value) ? "\"\"" : value;
         // ignore error exit codes
         executeGitCommandExitCode("config", name, configValue);
+        repositoryState = null;
     }
 
     /**
@@ -975,6 +1861,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         // ignore error exit codes
         getLog().info("Remove git local config " + name);
         executeGitCommandExitCode("config", "--unset", name);
+        repositoryState = null;
     }
 
     /**
@@ -992,6 +1879,9 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     protected String gitGetBranchLocalConfig(String branchName, String configName)
             throws MojoFailureException, CommandLineException {
+        if ("breakpoint".equals(configName)) {
+            return getRepositoryState().getBreakpoint(branchName);
+        }
         return gitGetConfig("branch." + branchName + "." + configName);
     }
 
@@ -1147,6 +2037,18 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     protected void gitApplyBranchCentralConfigChanges(BranchCentralConfigChanges changes, String commitMessage)
             throws MojoFailureException, CommandLineException {
+        long startTime = System.currentTimeMillis();
+        try {
+            applyBranchCentralConfigChanges(changes, commitMessage);
+        } finally {
+            if (goalMetrics != null) {
+                goalMetrics.centralBranchConfigAccessed("store", System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    private void applyBranchCentralConfigChanges(BranchCentralConfigChanges changes, String commitMessage)
+            throws MojoFailureException, CommandLineException {
         getMavenLog().info("Storing branch properties to central branch config");
         File branchConfigWorktree = prepareBranchConfigWorktree(true);
         try {
@@ -1226,7 +2128,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                             CommandResult gitResult = executeCommand(worktreeCmd, false, "push",
                                     gitFlowConfig.getOrigin(), configBranchName);
                             if (gitResult.getExitCode() != SUCCESS_EXIT_CODE) {
-                                gitFetchForced();
+                                gitFetchBranches(true, configBranchName);
                                 executeCommand(worktreeCmd, true, "rebase",
                                         gitFlowConfig.getOrigin() + "/" + configBranchName, configBranchName);
                                 executeCommand(worktreeCmd, true, "push", gitFlowConfig.getOrigin(), configBranchName);
@@ -1294,8 +2196,15 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected CentralBranchConfigCache getCentralBranchConfigCache() throws MojoFailureException, CommandLineException {
+        if (goalMetrics != null) {
+            goalMetrics.cacheRequested("central_branch_config", centralBranchConfigCache != null);
+        }
         if (centralBranchConfigCache == null) {
+            long startTime = System.currentTimeMillis();
             centralBranchConfigCache = new CentralBranchConfigCache(loadCentralBranchConfig());
+            if (goalMetrics != null) {
+                goalMetrics.centralBranchConfigAccessed("load", System.currentTimeMillis() - startTime);
+            }
         }
         return centralBranchConfigCache;
     }
@@ -1349,7 +2258,18 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         }
     }
 
-    private Properties readBranchProperties(File branchPropertyFile, String branch) throws MojoFailureException {
+    /**
+     * Read the properties of a central branch config file.
+     *
+     * @param branchPropertyFile
+     *            the branch property file to be read
+     * @param branch
+     *            the name of the branch the file belongs to
+     * @return the branch properties
+     * @throws MojoFailureException
+     *             if the file can't be read
+     */
+    Properties readBranchProperties(File branchPropertyFile, String branch) throws MojoFailureException {
         Properties properties = new Properties();
         PropertiesBuilderParameters params = new Parameters().properties().setFile(branchPropertyFile);
         FileBasedConfigurationBuilder<FileBasedConfiguration> builder = new FileBasedConfigurationBuilder<FileBasedConfiguration>(
@@ -1400,7 +2320,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         }
 
         // clean worktree target directory
-        String basedir = this.session.getRequest().getBaseDirectory();
+        String basedir = getBasedir().getPath();
         File branchConfigWorktree = new File(basedir, configBranchDir);
         if (branchConfigWorktree.exists()) {
             try {
@@ -1420,6 +2340,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
 
         if (create) {
             executeGitCommand("worktree", "add", "--no-checkout", "--detach", configBranchDir);
+            disableInheritedSparseCheckout(worktreeCmd);
 
             executeCommand(worktreeCmd, true, "checkout", "--orphan", configBranchName);
             executeCommand(worktreeCmd, true, "reset", "--hard");
@@ -1432,7 +2353,13 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                         configBranchName);
             }
         } else {
-            executeGitCommand("worktree", "add", configBranchDir, configBranchName);
+            if (isSparseRepository()) {
+                executeGitCommand("worktree", "add", "--no-checkout", configBranchDir, configBranchName);
+                disableInheritedSparseCheckout(worktreeCmd);
+                executeCommand(worktreeCmd, true, "reset", "--hard");
+            } else {
+                executeGitCommand("worktree", "add", configBranchDir, configBranchName);
+            }
             if (pull) {
                 executeCommand(worktreeCmd, true, "rebase", gitFlowConfig.getOrigin() + "/" + configBranchName,
                         configBranchName);
@@ -1441,11 +2368,37 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return branchConfigWorktree;
     }
 
+    /**
+     * Disable the sparse checkout in a worktree added with
+     * <code>--no-checkout</code> if it inherited the sparse checkout patterns
+     * of the current worktree (git 2.36 and newer). Older git versions don't
+     * copy the patterns, the worktree is checked out completely then.
+     */
+    private void disableInheritedSparseCheckout(Commandline worktreeCmd)
+            throws MojoFailureException, CommandLineException {
+        if (!isSparseRepository()) {
+            return;
+        }
+        String sparseCheckoutFile = executeCommand(worktreeCmd, true, "rev-parse", "--git-path",
+                "info/sparse-checkout").getOut().trim();
+        File file = new File(sparseCheckoutFile);
+        if (!file.isAbsolute()) {
+            file = new File(worktreeCmd.getWorkingDirectory(), sparseCheckoutFile);
+        }
+        if (file.exists()) {
+            // the patterns are copied together with the worktree specific config
+            executeCommand(worktreeCmd, true, "sparse-checkout", "disable");
+        }
+    }
+
     private Commandline getWorktreeCmd(File branchConfigWorktree) {
         initExecutables();
         Commandline worktreeCmd = new ShellCommandLine();
         worktreeCmd.setExecutable(gitExecutable);
         worktreeCmd.setWorkingDirectory(branchConfigWorktree);
+        if (gitSshCommand != null) {
+            worktreeCmd.addEnvironment("GIT_SSH_COMMAND", gitSshCommand);
+        }
         return worktreeCmd;
     }
 
@@ -1594,7 +2547,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
 
     protected List<String> gitRemoteBranches(String branchNamePrefix)
             throws MojoFailureException, CommandLineException {
-        gitFetchOnce();
+        gitFetchBranches(false, branchNamePrefix + "*");
         String originPrefix = "refs/remotes/" + gitFlowConfig.getOrigin() + "/";
         String tempCmdResult = executeGitCommandReturn("for-each-ref", "--format=%(refname)", originPrefix).trim();
         if (!StringUtils.isBlank(tempCmdResult)) {
@@ -1644,6 +2597,23 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         executeGitCommand("checkout", "-b", newBranchName, fromBranchName);
     }
 
+    /**
+     * Executes git branch without checking out the new branch.
+     *
+     * @param newBranchName
+     *            Create branch with this name.
+     * @param fromBranchName
+     *            Create branch from this branch.
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitCreateBranch(final String newBranchName, final String fromBranchName)
+            throws MojoFailureException, CommandLineException {
+        getLog().info("Creating a new branch '" + newBranchName + "' from '" + fromBranchName + "'.");
+
+        executeGitCommand("branch", newBranchName, fromBranchName);
+    }
+
     /**
      * Executes git commit -a -m.
      *
@@ -1690,6 +2660,66 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         executeGitCommand("rm", file);
     }
 
+    /**
+     * Check if the installed git supports a feature of a newer git version
+     * (see {@link GitVersion} for the policy). The version is read once per
+     * goal execution.
+     *
+     * @param requiredVersion
+     *            the git version that introduced the feature
+     * @return <code>true</code> if the installed git version is the same or
+     *         newer, <code>false</code> if it is older or unknown
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected boolean isGitVersionAtLeast(GitVersion requiredVersion)
+            throws MojoFailureException, CommandLineException {
+        if (gitVersion == null) {
+            gitVersion = GitVersion.parse(executeGitCommandExitCode("version").getOut());
+            if (gitVersion == null) {
+                gitVersion = new GitVersion(0, 0, 0);
+            }
+            getLog().debug("Installed git version: " + gitVersion);
+        }
+        return gitVersion.isAtLeast(requiredVersion);
+    }
+
+    /**
+     * Remove the files with one <code>git rm --pathspec-from-file</code>.
+     * Falls back to one <code>git rm</code> per file if the installed git
+     * doesn't support pathspec files (see {@link GitVersion}).
+     *
+     * @param files
+     *            the files to be removed
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitRemoveFiles(List<String> files) throws MojoFailureException, CommandLineException {
+        if (files.size() == 1 || !isGitVersionAtLeast(GitVersion.PATHSPEC_FROM_FILE)) {
+            for (String file : files) {
+                gitRemoveFile(file);
+            }
+            return;
+        }
+        getLog().info("Removing files " + files);
+        File pathspecFile;
+        try {
+            pathspecFile = File.createTempFile("pathspec-", ".txt");
+        } catch (IOException e) {
+            throw new MojoFailureException("Error on creation of temp file for removed files", e);
+        }
+        try {
+            try {
+                FileUtils.writeLines(pathspecFile, "UTF-8", files, "\n");
+            } catch (IOException e) {
+                throw new MojoFailureException("Error on creation of temp file for removed files", e);
+            }
+            executeGitCommand("rm", "--pathspec-from-file=" + pathspecFile.getPath());
+        } finally {
+            pathspecFile.delete();
+        }
+    }
+
     /**
      * Execute <code>git merge</code> or <code>git merge --no-ff</code>.
      *
@@ -1782,6 +2812,43 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         executeGitCommand(options.toArray(new String[options.size()]));
     }
 
+    /**
+     * Rebase branch starting from oldBase on top of newBase and move all local
+     * branches that point to the rebased commits (stacked branches) with it.
+     * Each commit is replayed only once and the stacked branches are updated
+     * at the end of the rebase. If the rebase fails (e.g. on conflicts) it is
+     * aborted, so that neither the branch nor the stacked branches are
+     * changed. Requires {@link GitVersion#REBASE_UPDATE_REFS}.<br>
+     * Execute: <code>git rebase --update-refs --onto newBase oldBase branch</code>
+     *
+     * @param newBase
+     *            the new base commit or branch
+     * @param oldBase
+     *            the commit the rebased commits start after
+     * @param branch
+     *            the branch to be rebased
+     * @return <code>true</code> if the branch was rebased, <code>false</code>
+     *         if the rebase failed and was aborted
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected boolean gitRebaseOntoWithUpdateRefs(String newBase, String oldBase, String branch)
+            throws MojoFailureException, CommandLineException {
+        if (!isGitVersionAtLeast(GitVersion.REBASE_UPDATE_REFS)) {
+            return false;
+        }
+        CommandResult result = executeGitCommandExitCode("rebase", "--update-refs", "--onto", newBase, oldBase,
+                branch);
+        if (result.getExitCode() != SUCCESS_EXIT_CODE) {
+            getLog().debug("Rebase with --update-refs failed: " + result.getError());
+            if (gitRebaseInProcess()) {
+                executeGitCommandExitCode("rebase", "--abort");
+            }
+            return false;
+        }
+        return true;
+    }
+
     /**
      * @param aBranchName
      * @param aCurrentBranchName
@@ -1845,6 +2912,79 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         gitMerge(branchName, true);
     }
 
+    /**
+     * Merge the branch into the target branch without checking out the target
+     * branch if parameter <code>inMemoryMerge</code> is enabled. The merge
+     * result is computed with <code>git merge-tree --write-tree</code>, a
+     * clean result is committed with <code>git commit-tree</code> and the
+     * target branch is moved with <code>git update-ref</code>. Nothing is done
+     * if the merge has conflicts or if <code>git merge</code> would create a
+     * different merge commit (see {@link #gitIsCommitTreeEquivalent}), so
+     * that the caller can execute the merge in the working tree.
+     *
+     * @param targetBranch
+     *            the name of the local branch to merge into. Must not be the
+     *            current branch.
+     * @param branchName
+     *            the name of the branch to be merged
+     * @param noff
+     *            <code>true</code> if a merge commit should be created also if
+     *            fast forward is possible
+     * @return <code>true</code> if the target branch contains the branch now,
+     *         <code>false</code> if the merge has to be executed in the
+     *         working tree
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected boolean gitMergeInMemory(String targetBranch, String branchName, boolean noff)
+            throws MojoFailureException, CommandLineException {
+        if (!inMemoryMerge || !gitBranchExists(targetBranch) || targetBranch.equals(gitCurrentBranch())
+                || gitIsBranchCheckedOutInWorktree(targetBranch)) {
+            return false;
+        }
+        if (!isGitVersionAtLeast(GitVersion.MERGE_TREE_WRITE_TREE)) {
+            getLog().info("In-memory merge requires git " + GitVersion.MERGE_TREE_WRITE_TREE
+                    + " or newer. Merging in the working tree.");
+            return false;
+        }
+        String targetCommit = getCurrentCommit("refs/heads/" + targetBranch);
+        String mergedCommit = getCurrentCommit(branchName);
+        if (gitIsAncestorBranch(mergedCommit, targetCommit)) {
+            getLog().info("Branch '" + branchName + "' is already merged into '" + targetBranch + "'.");
+            return true;
+        }
+        String newCommit;
+        if (!noff && gitIsAncestorBranch(targetCommit, mergedCommit)) {
+            getLog().info("Fast forwarding '" + targetBranch + "' branch to '" + branchName + "' branch.");
+            newCommit = mergedCommit;
+        } else {
+            CommandResult result = executeGitCommandExitCode("merge-tree", "--write-tree", "--name-only",
+                    "--no-messages", targetCommit, mergedCommit);
+            if (result.getExitCode() == 1) {
+                List<String> conflicts = new ArrayList<>(Arrays.asList(result.getOut().split("\\r?\\n")));
+                conflicts.remove(0);
+                getMavenLog().info("Merge of '" + branchName + "' into '" + targetBranch + "' has conflicts in: "
+                        + String.join(", ", conflicts));
+                return false;
+            } else if (result.getExitCode() != SUCCESS_EXIT_CODE) {
+                getLog().info("In-memory merge failed: " + result.getError() + " Merging in the working tree.");
+                return false;
+            }
+            if (!gitIsCommitTreeEquivalent(MERGE_HOOKS, "merge.log")) {
+                return false;
+            }
+            String tree = result.getOut().split("\\r?\\n")[0].trim();
+            getLog().info("Merging (--no-ff) '" + branchName + "' branch into '" + targetBranch
+                    + "' branch in memory.");
+            newCommit = gitCommitTree(tree, getMergeMessageFor(branchName, targetBranch), targetCommit,
+                    mergedCommit);
+        }
+        // the old value protects against concurrent changes of the target branch
+        executeGitCommand("update-ref", "-m", "merge " + branchName, "refs/heads/" + targetBranch, newCommit,
+                targetCommit);
+        return true;
+    }
+
     /**
      * Executes git tag -a -m.
      *
@@ -1925,36 +3065,233 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         if (gitResult.trim().isEmpty()) {
             return new ArrayList<>();
         }
-        return new ArrayList<>(Arrays.asList(gitResult.split("\\r?\\n")));
+        return new ArrayList<>(Arrays.asList(gitResult.split("\\r?\\n")));
+    }
+
+    /**
+     * Execute <code>git fetch</code> if not yet executed and
+     * <code>fetchRemote=true</code>.
+     *
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitFetchOnce() throws MojoFailureException, CommandLineException {
+        gitFetchAll(false);
+    }
+
+    /**
+     * Execute <code>git fetch</code> if <code>fetchRemote=true</code> even if
+     * already executed.
+     *
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitFetchForced() throws MojoFailureException, CommandLineException {
+        gitFetchAll(true);
+    }
+
+    private void gitFetchAll(boolean forced) throws MojoFailureException, CommandLineException {
+        boolean fetchNeeded = fetchRemote && (forced || !alreadyFetched) && !isFetchUpToDate();
+        if (fetchRemote && goalMetrics != null) {
+            goalMetrics.cacheRequested("fetch", !fetchNeeded);
+        }
+        if (fetchNeeded) {
+            getLog().info("Fetching changes from '" + gitFlowConfig.getOrigin() + "'.");
+            if (goalMetrics != null) {
+                // progress output is needed to measure the fetched bytes
+                executeGitCommand("fetch", "--quiet", "--progress", gitFlowConfig.getOrigin());
+            } else {
+                executeGitCommand("fetch", "--quiet", gitFlowConfig.getOrigin());
+            }
+            alreadyFetched = true;
+            if (maintainCommitGraph) {
+                gitMaintainCommitGraph();
+            }
+        }
+    }
+
+    /**
+     * Execute <code>git fetch</code> for passed branches if
+     * <code>fetchRemote=true</code>. If parameter <code>targetedFetch</code> is
+     * enabled only the passed branches are fetched with explicit refspecs and
+     * <code>--prune</code>, so that remote branches deleted on the remote
+     * repository are removed locally. Otherwise all branches and tags are
+     * fetched.
+     *
+     * @param forced
+     *            whether the branches should be fetched even if already fetched
+     * @param branchNames
+     *            the names of the branches without remote prefix. A trailing
+     *            <code>*</code> stands for all branches with the prefix.
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitFetchBranches(boolean forced, String... branchNames)
+            throws MojoFailureException, CommandLineException {
+        if (!targetedFetch || !fetchRemote) {
+            gitFetchAll(forced);
+            return;
+        }
+        List<String> patterns = new ArrayList<>();
+        if ((forced || !alreadyFetched) && !isFetchUpToDate()) {
+            for (String branchName : branchNames) {
+                // the pattern matches also the deleted remote branch, so that
+                // the fetch doesn't fail and the branch can be pruned
+                String pattern = branchName.endsWith("*") ? branchName : branchName + "*";
+                if ((forced || !fetchedBranchPatterns.contains(pattern)) && !patterns.contains(pattern)) {
+                    patterns.add(pattern);
+                }
+            }
+        }
+        if (goalMetrics != null) {
+            goalMetrics.cacheRequested("fetch", patterns.isEmpty());
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+        String origin = gitFlowConfig.getOrigin();
+        List<String> args = new ArrayList<>(Arrays.asList("fetch", "--quiet", "--prune"));
+        if (goalMetrics != null) {
+            args.add("--progress");
+        }
+        if (!isFetchTagsRequired()) {
+            args.add("--no-tags");
+        }
+        args.add(origin);
+        for (String pattern : patterns) {
+            args.add("+refs/heads/" + pattern + ":refs/remotes/" + origin + "/" + pattern);
+        }
+        getLog().info("Fetching branches " + patterns + " from '" + origin + "'.");
+        try {
+            executeGitCommand(args.toArray(new String[args.size()]));
+        } catch (MojoFailureException e) {
+            getLog().warn("Fetching branches " + patterns + " failed, fetching all branches from '" + origin
+                    + "': " + e.getMessage());
+            gitFetchAll(true);
+            return;
+        }
+        fetchedBranchPatterns.addAll(patterns);
+        if (maintainCommitGraph) {
+            gitMaintainCommitGraph();
+        }
     }
 
     /**
-     * Execute <code>git fetch</code> if not yet executed and
-     * <code>fetchRemote=true</code>.
+     * Whether the goal needs the tags of the remote repository. Tags are not
+     * fetched on targeted fetch (see parameter <code>targetedFetch</code>) if
+     * not needed.
      *
-     * @throws MojoFailureException
-     * @throws CommandLineException
+     * @return <code>true</code> if tags should be fetched
      */
-    protected void gitFetchOnce() throws MojoFailureException, CommandLineException {
-        gitFetchAll(false);
+    protected boolean isFetchTagsRequired() {
+        return false;
     }
 
     /**
-     * Execute <code>git fetch</code> if <code>fetchRemote=true</code> even if
-     * already executed.
+     * Refresh the commit-graph and the multi-pack-index if they are missing or
+     * older than the newest pack file. Only the new commits are written into a
+     * new commit-graph layer (<code>--split</code>). The commands are executed
+     * within the time budget of <code>commitGraphMaintenanceBudget</code>
+     * seconds and never fail the goal.
+     */
+    private void gitMaintainCommitGraph() throws MojoFailureException, CommandLineException {
+        if (commitGraphMaintenanceFailed || commandReplayer != null) {
+            return;
+        }
+        if (!isGitVersionAtLeast(GitVersion.COMMIT_GRAPH_SPLIT)) {
+            getLog().debug("Commit-graph maintenance requires git " + GitVersion.COMMIT_GRAPH_SPLIT + " or newer.");
+            commitGraphMaintenanceFailed = true;
+            return;
+        }
+        if (commitGraphMaintenanceDeadline == 0) {
+            commitGraphMaintenanceDeadline = System.currentTimeMillis() + commitGraphMaintenanceBudget * 1000L;
+        }
+        File objectsDir = new File(getRepositoryLayout().getCommonDir(), "objects");
+        File packDir = new File(objectsDir, "pack");
+        File[] packs = packDir.listFiles((dir, name) -> name.endsWith(".pack"));
+        if (packs == null || packs.length == 0) {
+            return;
+        }
+        long newestPack = 0;
+        for (File pack : packs) {
+            newestPack = Math.max(newestPack, pack.lastModified());
+        }
+        File commitGraph = new File(objectsDir, "info/commit-graph");
+        File commitGraphChain = new File(objectsDir, "info/commit-graphs/commit-graph-chain");
+        long commitGraphTime = Math.max(commitGraph.lastModified(), commitGraphChain.lastModified());
+        if (commitGraphTime < newestPack) {
+            long startTime = System.currentTimeMillis();
+            long probeWithoutGraph = probeAncestryQuery(false);
+            if (!executeMaintenanceCommand(objectsDir, "commit-graph", "write", "--reachable", "--split")) {
+                return;
+            }
+            long probeWithGraph = probeAncestryQuery(true);
+            getLog().info("Commit-graph " + (commitGraphTime == 0 ? "created" : "updated") + " in "
+                    + (System.currentTimeMillis() - startTime) + " ms"
+                    + (probeWithoutGraph >= 0 && probeWithGraph >= 0 ? " (merge-base with development branch: "
+                            + probeWithoutGraph + " ms without, " + probeWithGraph + " ms with commit-graph)" : "")
+                    + ".");
+        }
+        File multiPackIndex = new File(packDir, "multi-pack-index");
+        if (packs.length > 1 && multiPackIndex.lastModified() < newestPack) {
+            long startTime = System.currentTimeMillis();
+            if (executeMaintenanceCommand(objectsDir, "multi-pack-index", "write")) {
+                getLog().info("Multi-pack-index for " + packs.length + " pack files written in "
+                        + (System.currentTimeMillis() - startTime) + " ms.");
+            }
+        }
+    }
+
+    private boolean executeMaintenanceCommand(File objectsDir, String... args)
+            throws MojoFailureException, CommandLineException {
+        if (System.currentTimeMillis() >= commitGraphMaintenanceDeadline) {
+            getLog().debug("Time budget for commit-graph maintenance exhausted.");
+            return false;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            CommandResult result = executeCommand(OutputMode.DEBUG, CommandCategory.GIT_MAINTENANCE, cmdGit, false,
+                    args);
+            if (result.getExitCode() != SUCCESS_EXIT_CODE) {
+                getLog().debug("git " + args[0] + " failed, commit-graph maintenance disabled: "
+                        + result.getError());
+                commitGraphMaintenanceFailed = true;
+                return false;
+            }
+            return true;
+        } catch (GitFlowFailureException e) {
+            // terminated because the time budget was exceeded
+            getLog().info("Commit-graph maintenance terminated after time budget of " + commitGraphMaintenanceBudget
+                    + " seconds was exceeded.");
+            commitGraphMaintenanceFailed = true;
+            removeStaleLockFiles(startTime, new File(objectsDir, "info/commit-graph.lock"),
+                    new File(objectsDir, "info/commit-graphs/commit-graph-chain.lock"),
+                    new File(objectsDir, "pack/multi-pack-index.lock"));
+            return false;
+        }
+    }
+
+    /**
+     * Measure a merge-base query of HEAD and the development branch with or
+     * without commit-graph.
      *
-     * @throws MojoFailureException
-     * @throws CommandLineException
+     * @return the duration in milliseconds or <code>-1</code> if the query
+     *         failed
      */
-    protected void gitFetchForced() throws MojoFailureException, CommandLineException {
-        gitFetchAll(true);
+    private long probeAncestryQuery(boolean useCommitGraph) throws MojoFailureException, CommandLineException {
+        long startTime = System.currentTimeMillis();
+        CommandResult result = executeCommand(OutputMode.DEBUG, CommandCategory.GIT_MAINTENANCE, cmdGit, false,
+                "-c", "core.commitGraph=" + useCommitGraph, "merge-base", "HEAD",
+                gitFlowConfig.getOrigin() + "/" + gitFlowConfig.getDevelopmentBranch());
+        return result.getExitCode() == SUCCESS_EXIT_CODE ? System.currentTimeMillis() - startTime : -1;
     }
 
-    private void gitFetchAll(boolean forced) throws MojoFailureException, CommandLineException {
-        if (fetchRemote && (forced || !alreadyFetched)) {
-            getLog().info("Fetching changes from '" + gitFlowConfig.getOrigin() + "'.");
-            executeGitCommand("fetch", "--quiet", gitFlowConfig.getOrigin());
-            alreadyFetched = true;
+    private void removeStaleLockFiles(long startTime, File... lockFiles) {
+        for (File lockFile : lockFiles) {
+            // file system timestamps can have a resolution of up to 2 seconds
+            if (lockFile.isFile() && lockFile.lastModified() >= startTime - 2000 && lockFile.delete()) {
+                getLog().info("Removed lock file '" + lockFile + "' left by terminated git process.");
+            }
         }
     }
     
@@ -1998,7 +3335,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         String tempCmdResult = executeGitCommandReturn("branch", "-a", "--contains", commit).trim();
         if (!StringUtils.isBlank(tempCmdResult)) {
             String[] lines = tempCmdResult.split("\r?\n");
-            List<String> result = new ArrayList<>();
+            Set<String> result = new LinkedHashSet<>();
             for (int i = 0; i < lines.length; ++i) {
                 lines[i] = StringUtils.stripStart(lines[i].trim(), "*").trim();
                 if (lines[i].startsWith(prefix1)) {
@@ -2006,18 +3343,115 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                 } else if (lines[i].startsWith(prefix2)) {
                     lines[i] = lines[i].substring(prefix2.length());
                 }
-                if (!result.contains(lines[i])) {
-                    result.add(lines[i]);
-                }
+                result.add(lines[i]);
             }
-            return result;
+            return new ArrayList<>(result);
         }
         return Collections.emptyList();
     }
 
+    /**
+     * Get all local and remote branches that contain the passed commits. The
+     * result for each commit is the same as of
+     * {@link #gitAllBranchesWithCommit(String)}, except that a detached HEAD is
+     * not reported because it is no branch. For several commits only the
+     * history of all branches down to the merge base of the passed commits is
+     * loaded once into a {@link BranchReachabilityIndex} instead of executing
+     * <code>git branch -a --contains</code> per commit.
+     *
+     * @param commits
+     *            the commits to be checked
+     * @return map with the passed commits as keys and the branches containing
+     *         them as values
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected Map<String, List<String>> gitAllBranchesWithCommits(Collection<String> commits)
+            throws MojoFailureException, CommandLineException {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        if (commits.size() < 2) {
+            for (String commit : commits) {
+                result.put(commit, gitAllBranchesWithCommit(commit));
+            }
+            return result;
+        }
+        Map<String, String> commitIds = new LinkedHashMap<>();
+        List<String> revisions = new ArrayList<>();
+        for (String commit : commits) {
+            if (commit.matches("[0-9a-f]{40}")) {
+                commitIds.put(commit, commit);
+            } else {
+                commitIds.put(commit, null);
+                revisions.add(commit + "^{commit}");
+            }
+        }
+        if (!revisions.isEmpty()) {
+            List<String> args = new ArrayList<>(Collections.singletonList("rev-parse"));
+            args.addAll(revisions);
+            // one rev-parse for all symbolic names, the ids are printed in order
+            String[] resolved = executeGitCommandReturn(args.toArray(new String[args.size()])).trim()
+                    .split("\\r?\\n");
+            int resolvedIndex = 0;
+            for (Map.Entry<String, String> entry : commitIds.entrySet()) {
+                if (entry.getValue() == null) {
+                    entry.setValue(resolved[resolvedIndex++].trim());
+                }
+            }
+        }
+        BranchReachabilityIndex index = gitBranchReachabilityIndex(new LinkedHashSet<>(commitIds.values()));
+        for (Map.Entry<String, String> entry : commitIds.entrySet()) {
+            result.put(entry.getKey(), new ArrayList<>(index.getBranchesContaining(entry.getValue())));
+        }
+        return result;
+    }
+
+    /**
+     * Get the reachability index for the current state of all local and remote
+     * branches that answers queries for the passed commits. Only the history
+     * of the branches down to the merge base of the commits is loaded. The
+     * index is rebuilt only if branches or the merge base were changed since
+     * the last call.
+     *
+     * @param commitIds
+     *            the full ids of the commits to be queried
+     * @return the branch reachability index
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected BranchReachabilityIndex gitBranchReachabilityIndex(Collection<String> commitIds)
+            throws MojoFailureException, CommandLineException {
+        gitFetchOnce();
+        String refListing = executeGitCommandReturn("for-each-ref", "--format=" + BranchReachabilityIndex.REF_FORMAT,
+                "refs/heads/", "refs/remotes/");
+        List<String> mergeBaseArgs = new ArrayList<>(Arrays.asList("merge-base", "--octopus"));
+        mergeBaseArgs.addAll(commitIds);
+        CommandResult mergeBaseResult = executeGitCommandExitCode(
+                mergeBaseArgs.toArray(new String[mergeBaseArgs.size()]));
+        // commits without common history are checked against the whole history
+        String mergeBase = (mergeBaseResult.getExitCode() == SUCCESS_EXIT_CODE) ? mergeBaseResult.getOut().trim()
+                : "";
+        boolean cached = branchReachabilityIndex != null && branchReachabilityIndex.isSnapshotOf(refListing)
+                && mergeBase.equals(branchReachabilityMergeBase);
+        if (goalMetrics != null) {
+            goalMetrics.cacheRequested("branchReachability", cached);
+        }
+        if (!cached) {
+            List<String> revisions = new ArrayList<>(Arrays.asList("--branches", "--remotes"));
+            if (!mergeBase.isEmpty()) {
+                // the merge base itself is loaded as boundary commit
+                revisions.add("^" + mergeBase);
+            }
+            branchReachabilityIndex = new BranchReachabilityIndex(refListing, gitFlowConfig.getOrigin(),
+                    gitLoadCommitGraphWithBoundary(revisions));
+            branchReachabilityMergeBase = mergeBase;
+        }
+        return branchReachabilityIndex;
+    }
+
     /**
      * Returns <code>true</code> if the given branch exists on the configured origin
-     * remote.
+     * remote. The branch is looked up in the references advertised by the
+     * remote repository (see {@link #gitRemoteBranchHeads()}).
      *
      * @param aBranch
      * @return
@@ -2025,11 +3459,60 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      * @throws MojoFailureException
      */
     protected boolean hasRemoteBranch(String aBranch) throws MojoFailureException, CommandLineException {
-        String tempResult = executeGitCommandReturn("ls-remote", "--heads", gitFlowConfig.getOrigin(), aBranch);
-        if (tempResult != null && tempResult.trim().endsWith(aBranch)) {
-            return true;
+        return gitRemoteBranchHeads().containsKey(aBranch);
+    }
+
+    /**
+     * Returns <code>true</code> if the given tag exists on the configured origin
+     * remote. The tag is looked up in the references advertised by the remote
+     * repository (see {@link #gitRemoteBranchHeads()}).
+     *
+     * @param aTag
+     *            the name of the tag
+     * @return <code>true</code> if the tag exists on the remote repository
+     * @throws CommandLineException
+     * @throws MojoFailureException
+     */
+    protected boolean hasRemoteTag(String aTag) throws MojoFailureException, CommandLineException {
+        gitRemoteBranchHeads();
+        return remoteTags.containsKey(aTag);
+    }
+
+    /**
+     * Get all branches advertised by the remote repository. Branches and tags
+     * are requested once per goal execution with one
+     * <code>git ls-remote --heads --tags</code> (with protocol v2 the server
+     * filters the references by prefix). The result is refreshed after push
+     * and after deletion of remote branches.
+     *
+     * @return map with branch names as keys and commit ids as values
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected Map<String, String> gitRemoteBranchHeads() throws MojoFailureException, CommandLineException {
+        if (goalMetrics != null) {
+            goalMetrics.cacheRequested("lsRemote", remoteBranches != null);
+        }
+        if (remoteBranches == null) {
+            Map<String, String> heads = new HashMap<>();
+            Map<String, String> tags = new HashMap<>();
+            String lsRemoteOutput = executeGitCommandReturn("ls-remote", "--heads", "--tags",
+                    gitFlowConfig.getOrigin());
+            for (String line : lsRemoteOutput.split("\r?\n")) {
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length != 2) {
+                    continue;
+                }
+                if (fields[1].startsWith("refs/heads/")) {
+                    heads.put(fields[1].substring("refs/heads/".length()), fields[0]);
+                } else if (fields[1].startsWith("refs/tags/") && !fields[1].endsWith("^{}")) {
+                    tags.put(fields[1].substring("refs/tags/".length()), fields[0]);
+                }
+            }
+            remoteBranches = heads;
+            remoteTags = tags;
         }
-        return false;
+        return remoteBranches;
     }
 
     /**
@@ -2075,8 +3558,13 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     protected boolean gitHasNoMergeCommits(String branchName, String branchPoint)
             throws MojoFailureException, CommandLineException {
-        final String mergeCommits = executeGitCommandReturn("rev-list", branchPoint + ".." + branchName, "--merges");
-        return mergeCommits.trim().isEmpty();
+        final boolean[] found = new boolean[1];
+        // the first merge commit is enough, stop the walk there
+        executeGitCommandStreaming(line -> {
+            found[0] |= !line.trim().isEmpty();
+            return !found[0];
+        }, "rev-list", branchPoint + ".." + branchName, "--merges");
+        return !found[0];
     }
 
     /**
@@ -2129,6 +3617,45 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return false;
     }
 
+    /**
+     * Check if at least one of the passed merge commits on the branch is not
+     * empty. Only the commits between the branch point and the branch are
+     * loaded with one <code>git rev-list --boundary</code> and the parents of
+     * the merge commits are checked in memory. Merge commits whose parents are
+     * connected only through the history before the branch point are checked
+     * with {@link #isEmptyMergeCommit(String)}.
+     *
+     * @param branchName
+     *            The branch containing the merge commits.
+     * @param branchPoint
+     *            The branch point of the branch.
+     * @param mergeCommits
+     *            The list of merge commits between branch point and branch to
+     *            be checked.
+     * @return <code>true</code> if at least one of the passed merge commits is not
+     *         empty.
+     * @throws CommandLineException
+     * @throws MojoFailureException
+     */
+    protected boolean gitHasNonEmptyMergeCommits(String branchName, String branchPoint, List<String> mergeCommits)
+            throws MojoFailureException, CommandLineException {
+        if (mergeCommits.isEmpty()) {
+            return false;
+        }
+        CommitGraph graph = CommitGraph.parse(executeGitCommandReturn("rev-list", "--topo-order", "--parents",
+                "--boundary", branchPoint + ".." + branchName));
+        for (String mergeCommit : mergeCommits) {
+            Boolean empty = graph.isEmptyMerge(mergeCommit, branchPoint);
+            if (empty == null) {
+                empty = isEmptyMergeCommit(mergeCommit);
+            }
+            if (!empty) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Check if passed merge commit is an empty commit: one parent is ancestor for
      * the other parent.
@@ -2165,6 +3692,27 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         executeGitCommand("update-ref", "refs/heads/" + branchName, newRef);
     }
 
+    /**
+     * Call update-ref to set a reference for a branch only if the branch
+     * still points to the expected commit. The update fails if the branch was
+     * changed concurrently.
+     *
+     * @param branchName
+     *            Branch name to set a specific reference for
+     * @param newRef
+     *            Value to set the reference to
+     * @param oldValue
+     *            the commit the branch is expected to point to
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitUpdateRef(final String branchName, final String newRef, final String oldValue)
+            throws MojoFailureException, CommandLineException {
+        getLog().info("Updating reference for branch '" + branchName + "'.");
+
+        executeGitCommand("update-ref", "refs/heads/" + branchName, newRef, oldValue);
+    }
+
     /**
      * Executes git branch -d.
      *
@@ -2206,7 +3754,13 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         getLog().info("Deleting '" + branchName + "' branch on remote.");
 
         if (hasRemoteBranch(branchName)) {
+            Map<String, String> heads = remoteBranches;
+            Map<String, String> tags = remoteTags;
             executeGitCommand("push", gitFlowConfig.getOrigin(), "--delete", branchName);
+            // only the deleted branch was changed by the push
+            heads.remove(branchName);
+            remoteBranches = heads;
+            remoteTags = tags;
         }
     }
 
@@ -2260,14 +3814,9 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                 return true;
             }
 
-            getLog().debug("Comparing local branch '" + branchName + "' with remote '" + gitFlowConfig.getOrigin() + "/"
-                    + branchName + "'.");
-            String revlistout = executeGitCommandReturn("rev-list", "--left-right", "--count",
-                    branchName + "..." + gitFlowConfig.getOrigin() + "/" + branchName);
-
-            String[] counts = org.apache.commons.lang3.StringUtils.split(revlistout, '\t');
-            if (counts != null && counts.length > 1) {
-                if (!"0".equals(org.apache.commons.lang3.StringUtils.deleteWhitespace(counts[1]))) {
+            int[] counts = gitLocalAndRemoteAheadBehind(branchName);
+            if (counts != null) {
+                if (counts[1] != 0) {
                     try {
                         diffFunctor.call();
                     } catch (MojoFailureException | CommandLineException ex) {
@@ -2782,6 +4331,72 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         });
     }
 
+    /**
+     * Fast forward the local branch to the remote branch without checking it
+     * out if parameter <code>skipRedundantCheckouts</code> is enabled. Only
+     * the reference is moved (<code>git update-ref</code> with the compared
+     * local commit as old value), so that the branch has to be materialized
+     * in the working tree only once afterwards.
+     *
+     * @param branchName
+     *            the name of the branch that is not checked out
+     * @return <code>true</code> if the local branch contains all commits of the
+     *         remote branch now, <code>false</code> if local and remote branches
+     *         diverge, the branch is checked out in this or another worktree or
+     *         the parameter is disabled
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected boolean gitFastForwardBranchWithoutCheckout(String branchName)
+            throws MojoFailureException, CommandLineException {
+        if (!skipRedundantCheckouts || gitIsBranchCheckedOutInWorktree(branchName)) {
+            return false;
+        }
+        // the commits the comparison is based on, the old value protects
+        // against concurrent changes of the branch
+        BranchStateOracle oracle = gitBranchStateOracle();
+        final String localCommit = oracle.getLocalCommit(branchName);
+        final String remoteCommit = oracle.getRemoteCommit(branchName);
+        final boolean[] upToDate = new boolean[] { true };
+        gitCompareLocalAndRemoteBranches(branchName, null, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                gitUpdateRef(branchName, remoteCommit, localCommit);
+                return null;
+            }
+        }, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                upToDate[0] = false;
+                return null;
+            }
+        });
+        return upToDate[0];
+    }
+
+    /**
+     * Check if the branch is checked out in any worktree of the repository
+     * (including the current one). Moving such a branch with
+     * <code>git update-ref</code> would leave the files of that worktree
+     * behind the branch.
+     *
+     * @param branchName
+     *            the name of the local branch
+     * @return <code>true</code> if the branch is the HEAD of a worktree
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected boolean gitIsBranchCheckedOutInWorktree(String branchName)
+            throws MojoFailureException, CommandLineException {
+        WorktreeList worktrees = new WorktreeList(executeGitCommandReturn("worktree", "list", "--porcelain"));
+        if (worktrees.isCheckedOut(branchName)) {
+            getLog().info("Branch '" + branchName + "' is checked out in worktree '"
+                    + worktrees.getWorktree(branchName) + "'.");
+            return true;
+        }
+        return false;
+    }
+
     private GitFlowFailureInfo replacePlaceholders(GitFlowFailureInfo divergeErrorInfo, Object... replacements) {
         if (divergeErrorInfo != null) {
             String problem = divergeErrorInfo.getProblem();
@@ -2873,24 +4488,18 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             }
             return true;
         }
-        getLog().debug("Comparing local branch '" + branchName + "' with remote '" + gitFlowConfig.getOrigin() + "/"
-                + branchName + "'.");
-        String revlistout = executeGitCommandReturn("rev-list", "--left-right", "--count",
-                branchName + "..." + gitFlowConfig.getOrigin() + "/" + branchName);
-        String[] counts = org.apache.commons.lang3.StringUtils.split(revlistout, '\t');
-        if (counts != null && counts.length > 1) {
-            String localCommitsCount = org.apache.commons.lang3.StringUtils.deleteWhitespace(counts[0]);
-            String remoteCommitsCount = org.apache.commons.lang3.StringUtils.deleteWhitespace(counts[1]);
+        int[] counts = gitLocalAndRemoteAheadBehind(branchName);
+        if (counts != null) {
             try {
-                if (!"0".equals(localCommitsCount) && !"0".equals(remoteCommitsCount)) {
+                if (counts[0] != 0 && counts[1] != 0) {
                     if (bothHaveChangesCallback != null) {
                         bothHaveChangesCallback.call();
                     }
-                } else if (!"0".equals(localCommitsCount)) {
+                } else if (counts[0] != 0) {
                     if (localAheadCallback != null) {
                         localAheadCallback.call();
                     }
-                } else if (!"0".equals(remoteCommitsCount)) {
+                } else if (counts[1] != 0) {
                     if (remoteAheadCallback != null) {
                         remoteAheadCallback.call();
                     }
@@ -2932,24 +4541,21 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         } else if (!hasRemote) {
             return BranchRefState.REMOTE_MISSING;
         }
-        String revlistout = executeGitCommandReturn("rev-list", "--left-right", "--count",
-                branchName + "..." + gitFlowConfig.getOrigin() + "/" + branchName);
-        String[] counts = org.apache.commons.lang3.StringUtils.split(revlistout, '\t');
-        if (counts != null && counts.length > 1) {
-            String localCommitsCount = org.apache.commons.lang3.StringUtils.deleteWhitespace(counts[0]);
-            String remoteCommitsCount = org.apache.commons.lang3.StringUtils.deleteWhitespace(counts[1]);
-            if (!"0".equals(localCommitsCount) && !"0".equals(remoteCommitsCount)) {
+        int[] counts = gitLocalAndRemoteAheadBehind(branchName);
+        if (counts != null) {
+            if (counts[0] != 0 && counts[1] != 0) {
                 return BranchRefState.DIVERGE;
-            } else if (!"0".equals(localCommitsCount)) {
+            } else if (counts[0] != 0) {
                 return BranchRefState.LOCAL_AHEAD;
-            } else if (!"0".equals(remoteCommitsCount)) {
+            } else if (counts[1] != 0) {
                 return BranchRefState.REMOTE_AHEAD;
             } else {
                 return BranchRefState.SYNCHRONIZED;
             }
         } else {
             throw new GitFlowFailureException(
-                    "Unexpected result of external command execution (rev-list):\n" + revlistout,
+                    "Unexpected result of external command execution (rev-list) while comparing local and remote "
+                            + "branch '" + branchName + "'.",
                     "Please report the error in the GBLD JIRA.");
         }
     }
@@ -3046,6 +4652,10 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         List<String> cmd = new ArrayList<String>();
         cmd.add("push");
         cmd.add("--quiet");
+        if (goalMetrics != null) {
+            // progress output is needed to measure the pushed bytes
+            cmd.add("--progress");
+        }
         if (force) {
             cmd.add("-f");
         }
@@ -3061,8 +4671,60 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     /**
-     * Executes <code>git for-each-ref refs/heads/[branch name]</code> to find an
-     * existing branch.
+     * Push all branch updates and deletions of the push plan with one
+     * <code>git push --atomic</code>, so that either all or none of the
+     * references are updated on the remote repository. Deletions of branches
+     * that don't exist on the remote repository are skipped. If the remote
+     * repository doesn't support atomic pushes, the branches are pushed and
+     * deleted one after another.
+     *
+     * @param pushPlan
+     *            the branch updates and deletions to be pushed
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected void gitPush(PushPlan pushPlan) throws MojoFailureException, CommandLineException {
+        List<String> deletedBranches = new ArrayList<>();
+        for (String branchName : pushPlan.getDeletedBranches()) {
+            if (hasRemoteBranch(branchName)) {
+                deletedBranches.add(branchName);
+            }
+        }
+        List<String> pushedBranches = pushPlan.getPushedBranches();
+        if (!pushPlan.isAtomicPushNeeded(deletedBranches)) {
+            pushSeparately(pushPlan, pushedBranches, deletedBranches);
+            return;
+        }
+        getLog().info("Pushing atomically to '" + gitFlowConfig.getOrigin() + "': branches " + pushedBranches
+                + (deletedBranches.isEmpty() ? "" : ", deleting branches " + deletedBranches) + ".");
+        // progress output is needed to measure the pushed bytes
+        List<String> cmd = pushPlan.getAtomicPushArguments(gitFlowConfig.getOrigin(), deletedBranches,
+                goalMetrics != null);
+        CommandResult result = executeGitCommandExitCode(cmd.toArray(new String[cmd.size()]));
+        if (result.getExitCode() != SUCCESS_EXIT_CODE) {
+            String error = StringUtils.isBlank(result.getError()) ? result.getOut() : result.getError();
+            if (PushPlan.isAtomicPushUnsupported(error)) {
+                getLog().info("Remote repository doesn't support atomic push. Pushing branches separately.");
+                pushSeparately(pushPlan, pushedBranches, deletedBranches);
+                return;
+            }
+            throw new MojoFailureException(error);
+        }
+    }
+
+    private void pushSeparately(PushPlan pushPlan, List<String> pushedBranches, List<String> deletedBranches)
+            throws MojoFailureException, CommandLineException {
+        for (String branchName : pushedBranches) {
+            gitPush(branchName, pushPlan.isFollowTags(), false);
+        }
+        for (String branchName : deletedBranches) {
+            gitBranchDeleteRemote(branchName);
+        }
+    }
+
+    /**
+     * Checks the cached branch state (see {@link #gitBranchStateOracle()}) to
+     * find an existing branch.
      *
      * @param branchName
      *            name of the branch to check for.
@@ -3071,13 +4733,12 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      * @throws CommandLineException
      */
     protected boolean gitBranchExists(final String branchName) throws MojoFailureException, CommandLineException {
-        // git for-each-ref refs/heads/support/...
-        final String branchResult = executeGitCommandReturn("for-each-ref", "refs/heads/" + branchName);
-        return (StringUtils.isNotBlank(branchResult));
+        return gitBranchStateOracle().getLocalCommit(branchName) != null;
     }
 
     /**
-     * Execute <code>git for-each-ref refs/remotes/[origin]/[branch name]</code> to
+     * Executes git fetch if parameter <code>fetchRemote</code> is enabled and
+     * checks the cached branch state (see {@link #gitBranchStateOracle()}) to
      * find an existing remote branch.
      *
      * @param branchName
@@ -3087,10 +4748,69 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      * @throws CommandLineException
      */
     protected boolean gitRemoteBranchExists(String branchName) throws MojoFailureException, CommandLineException {
-        gitFetchForced();
-        String branchResult = executeGitCommandReturn("for-each-ref",
-                "refs/remotes/" + gitFlowConfig.getOrigin() + "/" + branchName);
-        return (StringUtils.isNotBlank(branchResult));
+        gitFetchBranches(true, branchName);
+        return gitBranchStateOracle().getRemoteCommit(branchName) != null;
+    }
+
+    /**
+     * Get the state of all local branches and all branches of the remote
+     * repository. The state is loaded with one <code>git for-each-ref</code>
+     * call and cached until the next git command that can change references.
+     *
+     * @return the branch state oracle
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected BranchStateOracle gitBranchStateOracle() throws MojoFailureException, CommandLineException {
+        boolean cached = branchStateOracle != null && branchStateOracle.isValid();
+        if (goalMetrics != null) {
+            goalMetrics.cacheRequested("branchState", cached);
+        }
+        if (!cached) {
+            if (branchStateOracle == null) {
+                branchStateOracle = new BranchStateOracle(gitFlowConfig.getOrigin());
+            }
+            branchStateOracle.load(executeGitCommandReturn("for-each-ref",
+                    "--format=" + BranchStateOracle.FOR_EACH_REF_FORMAT, "refs/heads/",
+                    "refs/remotes/" + gitFlowConfig.getOrigin() + "/"));
+        }
+        return branchStateOracle;
+    }
+
+    /**
+     * Get the number of commits the local branch is ahead and behind of the
+     * remote branch. The counts are taken from the branch state oracle. Only
+     * for branches without upstream configuration
+     * <code>git rev-list --left-right --count</code> is executed.
+     *
+     * @param branchName
+     *            the name of the branch that exists locally and remotely
+     * @return array with ahead count and behind count or <code>null</code> if
+     *         the counts couldn't be determined
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    private int[] gitLocalAndRemoteAheadBehind(String branchName) throws MojoFailureException, CommandLineException {
+        BranchStateOracle oracle = gitBranchStateOracle();
+        int[] counts = oracle.getAheadBehind(branchName);
+        if (counts == null) {
+            getLog().debug("Comparing local branch '" + branchName + "' with remote '" + gitFlowConfig.getOrigin()
+                    + "/" + branchName + "'.");
+            String revlistout = executeGitCommandReturn("rev-list", "--left-right", "--count",
+                    branchName + "..." + gitFlowConfig.getOrigin() + "/" + branchName);
+            String[] values = org.apache.commons.lang3.StringUtils.split(revlistout, '\t');
+            if (values != null && values.length > 1) {
+                try {
+                    int ahead = Integer.parseInt(org.apache.commons.lang3.StringUtils.deleteWhitespace(values[0]));
+                    int behind = Integer.parseInt(org.apache.commons.lang3.StringUtils.deleteWhitespace(values[1]));
+                    oracle.setAheadBehind(branchName, ahead, behind);
+                    counts = new int[] { ahead, behind };
+                } catch (NumberFormatException e) {
+                    getLog().debug("Unexpected result of rev-list: " + revlistout);
+                }
+            }
+        }
+        return counts;
     }
 
     /**
@@ -3151,6 +4871,64 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return nearestAncestor;
     }
 
+    /**
+     * Load the commit graph of all local branches and all branches of the
+     * remote repository with one <code>git rev-list</code> call.
+     *
+     * @return the commit graph
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected CommitGraph gitLoadCommitGraph() throws MojoFailureException, CommandLineException {
+        gitFetchOnce();
+        return CommitGraph.parse(executeGitCommandReturn("rev-list", "--topo-order", "--parents", "--branches",
+                "--remotes=" + gitFlowConfig.getOrigin()));
+    }
+
+    /**
+     * Load the commit graph of the passed revisions (e.g. commit ids and
+     * excluded commits prefixed with <code>^</code>) including the boundary
+     * commits with one <code>git rev-list</code> call.
+     *
+     * @param revisions
+     *            the revisions passed to <code>git rev-list</code>
+     * @return the commit graph
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected CommitGraph gitLoadCommitGraphWithBoundary(List<String> revisions)
+            throws MojoFailureException, CommandLineException {
+        List<String> args = new ArrayList<>(Arrays.asList("rev-list", "--topo-order", "--parents", "--boundary"));
+        args.addAll(revisions);
+        return CommitGraph.parse(executeGitCommandReturn(args.toArray(new String[args.size()])));
+    }
+
+    /**
+     * Get the commit ids of all local branches and all branches of the remote
+     * repository with one <code>git for-each-ref</code> call.
+     *
+     * @return map with full ref names (e.g. <code>refs/heads/master</code> or
+     *         <code>refs/remotes/origin/master</code>) as keys and commit ids as
+     *         values
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected Map<String, String> gitBranchCommits() throws MojoFailureException, CommandLineException {
+        gitFetchOnce();
+        String tempCmdResult = executeGitCommandReturn("for-each-ref", "--format=%(objectname) %(refname)",
+                "refs/heads/", "refs/remotes/" + gitFlowConfig.getOrigin() + "/");
+        Map<String, String> result = new HashMap<>();
+        if (!StringUtils.isBlank(tempCmdResult)) {
+            for (String line : tempCmdResult.split("\r?\n")) {
+                int pos = line.indexOf(' ');
+                if (pos > 0) {
+                    result.put(line.substring(pos + 1).trim(), line.substring(0, pos));
+                }
+            }
+        }
+        return result;
+    }
+
     protected int gitGetDistanceToAncestor(String branch, String ancestor)
             throws CommandLineException, MojoFailureException {
         String revlistout = executeGitCommandReturn("rev-list", "--first-parent", "--count", ancestor + ".." + branch);
@@ -3216,7 +4994,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected boolean gitRebaseInProcess() throws MojoFailureException, CommandLineException {
-        return gitGetRebaseHeadNameFileIfExists() != null;
+        return gitGetRebaseHeadNameIfExists() != null;
     }
 
     protected File gitGetRebaseHeadNameFileIfExists() throws MojoFailureException, CommandLineException {
@@ -3224,34 +5002,19 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected String gitGetRebaseHeadNameIfExists() throws MojoFailureException, CommandLineException {
-        File rebaseHeadNameFile = gitGetRebaseHeadNameFileIfExists();
-        if (rebaseHeadNameFile == null) {
-            return null;
-        }
-        try {
-            return FileUtils.readFileToString(rebaseHeadNameFile, "UTF-8").trim();
-        } catch (IOException e) {
-            throw new MojoFailureException("Failed to check for currently rebasing branch.", e);
-        }
+        return getRepositoryState().getRebaseHeadName();
     }
 
     private File gitGetRebaseFileIfExists(String fileName) throws MojoFailureException, CommandLineException {
-        final String gitDir = executeGitCommandReturn("rev-parse", "--git-dir").trim();
+        File gitDir = getRepositoryLayout().getGitDir();
         String relativePath = "rebase-apply/" + fileName;
-        File headNameFile = FileUtils.getFile(gitDir, relativePath);
-        String basedir = this.session.getRequest().getBaseDirectory();
-        if (!headNameFile.isAbsolute()) {
-            headNameFile = new File(basedir, headNameFile.getPath());
-        }
+        File headNameFile = FileUtils.getFile(gitDir, relativePath);
         if (headNameFile.exists()) {
             return headNameFile;
         }
         // try with rebase-merge instead
         relativePath = "rebase-merge/" + fileName;
         headNameFile = FileUtils.getFile(gitDir, relativePath);
-        if (!headNameFile.isAbsolute()) {
-            headNameFile = new File(basedir, headNameFile.getPath());
-        }
         if (headNameFile.exists()) {
             return headNameFile;
         }
@@ -3282,7 +5045,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected boolean gitInteractiveRebaseInProcess() throws MojoFailureException, CommandLineException {
-        return gitGetRebaseFileIfExists("interactive") != null;
+        return getRepositoryState().isInteractiveRebase();
     }
 
     /**
@@ -3314,7 +5077,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected boolean gitMergeInProcess() throws MojoFailureException, CommandLineException {
-        return gitGetMergeHeadFileIfExists() != null;
+        return gitGetMergeHeadIfExists() != null;
     }
 
     protected File gitGetMergeHeadFileIfExists() throws MojoFailureException, CommandLineException {
@@ -3322,25 +5085,51 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected File gitGetMergeFileIfExists(String fileName) throws MojoFailureException, CommandLineException {
-        final String gitDir = executeGitCommandReturn("rev-parse", "--git-dir").trim();
-        File mergeHeadNameFile = FileUtils.getFile(gitDir, fileName);
-        if (!mergeHeadNameFile.isAbsolute()) {
-            String basedir = this.session.getRequest().getBaseDirectory();
-            mergeHeadNameFile = new File(basedir, mergeHeadNameFile.getPath());
-        }
+        File mergeHeadNameFile = FileUtils.getFile(getRepositoryLayout().getGitDir(), fileName);
         return mergeHeadNameFile.exists() ? mergeHeadNameFile : null;
     }
 
     protected String gitGetMergeHeadIfExists() throws MojoFailureException, CommandLineException {
-        File mergeHeadNameFile = gitGetMergeHeadFileIfExists();
-        if (mergeHeadNameFile == null) {
-            return null;
+        return getRepositoryState().getMergeHead();
+    }
+
+    /**
+     * Get the layout of the repository (git directory, common directory and
+     * top level directory of the current working tree). The layout is resolved
+     * once per working tree.
+     *
+     * @return the repository layout
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected RepositoryLayout getRepositoryLayout() throws MojoFailureException, CommandLineException {
+        if (repositoryLayout == null) {
+            repositoryLayout = RepositoryLayout.parse(executeGitCommandReturn(RepositoryLayout.REV_PARSE_ARGS),
+                    getBasedir());
         }
-        try {
-            return FileUtils.readFileToString(mergeHeadNameFile, "UTF-8").trim();
-        } catch (IOException e) {
-            throw new MojoFailureException("Failed to check for currently merging branch.", e);
+        return repositoryLayout;
+    }
+
+    /**
+     * Get the operations in process (rebase, merge) and the breakpoints of
+     * paused goals. The state is read once and reused until a command is
+     * executed that can change it.
+     *
+     * @return the repository state
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    protected RepositoryState getRepositoryState() throws MojoFailureException, CommandLineException {
+        if (repositoryState == null) {
+            RepositoryLayout layout = getRepositoryLayout();
+            String breakpoints = executeGitCommandExitCode(RepositoryState.BREAKPOINTS_CONFIG_ARGS).getOut();
+            try {
+                repositoryState = RepositoryState.read(layout, breakpoints);
+            } catch (IOException e) {
+                throw new MojoFailureException("Failed to check for operations in process.", e);
+            }
         }
+        return repositoryState;
     }
 
     protected String gitMergeFromBranchIfInProcess(String... branchCandidates)
@@ -3592,6 +5381,19 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
 
         cmdGit.clearArgs();
         cmdGit.addArguments(args);
+        if (branchStateOracle != null) {
+            branchStateOracle.invalidate();
+        }
+        remoteBranches = null;
+        uncommittedChanges = null;
+        repositoryState = null;
+
+        long startTime = System.currentTimeMillis();
+        if (commandReplayer != null) {
+            int exitCode = replayCommand(cmdGit, 0, args).getExitCode();
+            registerCommandMetrics(cmdGit, startTime);
+            return exitCode;
+        }
 
         ProcessBuilder processBuilder = new ProcessBuilder(cmdGit.getShellCommandline())
                 .directory(cmdGit.getWorkingDirectory());
@@ -3612,7 +5414,11 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             }
         }
         Process process = processBuilder.start();
-        return process.waitFor();
+        int exitCode = process.waitFor();
+        recordCommand(cmdGit, 0, args, startTime, exitCode, Collections.<String>emptyList(),
+                Collections.<String>emptyList());
+        registerCommandMetrics(cmdGit, startTime);
+        return exitCode;
     }
 
     private boolean isExternalGitEditorUsedconfiguredConfiguredByUserProperties() {
@@ -3706,13 +5512,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                         "-Dxpath=/project/parent/version[text()='" + oldVersion + "']/text()",
                         "-Dreplacement=" + newVersion, "-DfailIfNoMatch=false");
             }
-            CommandResult result;
-            if (amend) {
-                result = executeGitCommandExitCode("commit", "--amend", "--no-edit", "**/pom.xml");
-            } else {
-                result = executeGitCommandExitCode("commit", "-m", message, "**/pom.xml");
-            }
-            if (result.exitCode == 0) {
+            if (gitCommitPomFiles(message, amend)) {
                 getMavenLog().info("New modules adapted to correct version"
                         + (amend ? " and the changes squashed with last commit" : ""));
             }
@@ -3732,19 +5532,49 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                             "-Dreplacement=" + newVersion, "-DfailIfNoMatch=false");
                 }
             }
-            CommandResult result;
-            if (amend) {
-                result = executeGitCommandExitCode("commit", "--amend", "--no-edit", "**/pom.xml");
-            } else {
-                result = executeGitCommandExitCode("commit", "-m", message, "**/pom.xml");
-            }
-            if (result.exitCode == 0) {
+            if (gitCommitPomFiles(message, amend)) {
                 getMavenLog().info("New modules adapted to correct version"
                         + (amend ? " and the changes squashed with last commit" : ""));
             }
         }
     }
 
+    /**
+     * Commit the changed pom files of the modules. In a sparse checkout or
+     * partial clone only the changed pom files inside the sparse checkout cone
+     * are passed explicitly instead of matching the pattern against the whole
+     * index.
+     *
+     * @return <code>true</code> if a commit was created
+     */
+    private boolean gitCommitPomFiles(String message, boolean amend)
+            throws MojoFailureException, CommandLineException {
+        List<String> args = new ArrayList<>();
+        args.add("commit");
+        if (amend) {
+            args.addAll(Arrays.asList("--amend", "--no-edit"));
+        } else {
+            args.addAll(Arrays.asList("-m", message));
+        }
+        if (isSparseRepository()) {
+            String changedFiles = executeGitCommandReturn("diff", "--name-only", "-z", "HEAD", "--", "**/pom.xml");
+            List<String> pomFiles = new ArrayList<>();
+            for (String file : changedFiles.split("\u0000")) {
+                if (!file.trim().isEmpty()) {
+                    pomFiles.add(file);
+                }
+            }
+            if (pomFiles.isEmpty()) {
+                return false;
+            }
+            args.add("--");
+            args.addAll(pomFiles);
+        } else {
+            args.add("**/pom.xml");
+        }
+        return executeGitCommandExitCode(args.toArray(new String[args.size()])).exitCode == SUCCESS_EXIT_CODE;
+    }
+
     /**
      * Executes 'set' goal of versions-maven-plugin or 'set-version' of
      * tycho-versions-plugin in case it is tycho build.
@@ -3884,8 +5714,9 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             switch (versionlessMode) {
             case FILE:
                 try {
-                    String basedir = session.getRequest().getBaseDirectory();
+                    String basedir = getBasedir().getPath();
                     FileUtils.writeStringToFile(new File(basedir, POM_VERSION_FILE), version, StandardCharsets.UTF_8);
+                    uncommittedChanges = null;
                     if (commitMessage != null) {
                         executeGitCommand("add", POM_VERSION_FILE);
                     }
@@ -4227,7 +6058,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             throw new GitFlowFailureException(exc, "Failed to parse maven command [" + mvnCommand
                     + "] created from parameters \"testProjectGoals\" and \"testProjectOptions\"", null);
         }
-        executeMvnCommand(printTestOutput ? OutputMode.FULL : OutputMode.PROGRESS, goals);
+        executeMvnCommand(printTestOutput ? OutputMode.FULL : OutputMode.PROGRESS, CommandCategory.MVN_BUILD, goals);
     }
 
     /**
@@ -4257,7 +6088,8 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             throw new GitFlowFailureException(exc, "Failed to parse maven command [" + mvnCommand
                     + "] created from parameters \"installProjectGoals\" and \"installProjectOptions\"", null);
         }
-        executeMvnCommand(printInstallOutput ? OutputMode.FULL : OutputMode.PROGRESS, goals);
+        executeMvnCommand(printInstallOutput ? OutputMode.FULL : OutputMode.PROGRESS, CommandCategory.MVN_BUILD,
+                goals);
     }
 
     /**
@@ -4269,7 +6101,7 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     protected void mvnGoals(String goals) throws MojoFailureException, CommandLineException {
         getLog().info("Executing mvn " + goals + ".");
         try {
-            executeMvnCommand(printReleaseOutput ? OutputMode.FULL : OutputMode.PROGRESS,
+            executeMvnCommand(printReleaseOutput ? OutputMode.FULL : OutputMode.PROGRESS, CommandCategory.MVN_BUILD,
                     CommandLineUtils.translateCommandline(goals));
         } catch (Exception e) {
             throw new MojoFailureException("Failed to execute mvn " + goals, e);
@@ -4303,6 +6135,27 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return executeCommand(cmdGit, false, args);
     }
 
+    /**
+     * Executes Git command and passes the output lines to the consumer while
+     * the command is running. The command is terminated as soon as the
+     * consumer returns <code>false</code>, so that e.g. <code>rev-list</code>
+     * or <code>log</code> don't have to walk the whole history.
+     *
+     * @param lineConsumer
+     *            the consumer for the output lines, returns <code>false</code>
+     *            if no more lines are needed
+     * @param args
+     *            Git command line arguments.
+     * @throws CommandLineException
+     * @throws MojoFailureException
+     *             if the command failed before the consumer got all needed
+     *             lines
+     */
+    protected void executeGitCommandStreaming(Predicate<String> lineConsumer, final String... args)
+            throws CommandLineException, MojoFailureException {
+        executeCommand(OutputMode.DEBUG, null, cmdGit, true, lineConsumer, args);
+    }
+
     /**
      * Executes Git command.
      *
@@ -4354,7 +6207,26 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     private void executeMvnCommand(OutputMode outputMode, final String... args)
             throws CommandLineException, MojoFailureException {
-        String[] effectiveArgs = addArgs(args, "-f", session.getRequest().getPom().getAbsolutePath());
+        executeMvnCommand(outputMode, CommandCategory.MVN_VERSION, args);
+    }
+
+    /**
+     * Executes Maven command.
+     *
+     * @param outputMode
+     *            the output mode for console
+     * @param category
+     *            the category of the maven command used to determine the timeout
+     * @param args
+     *            Maven command line arguments.
+     * @throws CommandLineException
+     * @throws MojoFailureException
+     */
+    private void executeMvnCommand(OutputMode outputMode, CommandCategory category, final String... args)
+            throws CommandLineException, MojoFailureException {
+        // in the isolated worktree the pom of the worktree must be changed, not the user's one
+        File pomFile = isolatedBasedir != null ? getProjectFile() : session.getRequest().getPom();
+        String[] effectiveArgs = addArgs(args, "-f", pomFile.getAbsolutePath());
         if (session.getRequest().getUserSettingsFile() != null) {
             effectiveArgs = addArgs(effectiveArgs, "-s", session.getRequest().getUserSettingsFile().getAbsolutePath());
         }
@@ -4411,14 +6283,14 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             effectiveArgs = mergeArgs(cmdMvnJVMArgs, effectiveArgs);
 
         }
-        executeCommand(outputMode, cmd, true, effectiveArgs);
+        executeCommand(outputMode, category, cmd, true, effectiveArgs);
     }
 
     private Commandline getCmdMvnConfiguredByUserProperties() {
         String cmdMvnExecutable = session.getUserProperties().getProperty(USER_PROPERTY_KEY_CMD_MVN_EXECUTABLE);
         if (cmdMvnExecutable != null) {
             ShellCommandLine cmd = new ShellCommandLine();
-            String basedir = session.getRequest().getBaseDirectory();
+            String basedir = getBasedir().getPath();
             cmd.setExecutable(cmdMvnExecutable);
             cmd.setWorkingDirectory(basedir);
             return cmd;
@@ -4583,6 +6455,10 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     }
 
     protected ExtendedPrompter getPrompter() {
+        // the user can change files or continue git operations while a prompt
+        // is shown
+        uncommittedChanges = null;
+        repositoryState = null;
         if (extendedPrompter == null) {
             extendedPrompter = new ExtendedPrompter(prompter, settings.isInteractiveMode(), this);
         }
@@ -4639,6 +6515,69 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      */
     private CommandResult executeCommand(OutputMode outputMode, final Commandline cmd, final boolean failOnError,
             final String... args) throws CommandLineException, MojoFailureException {
+        return executeCommand(outputMode, null, cmd, failOnError, args);
+    }
+
+    /**
+     * Executes command line.
+     *
+     * @param outputMode
+     *            the output mode for console
+     * @param category
+     *            the category of the command used to determine the timeout or
+     *            <code>null</code> to determine the category of a git command
+     *            from its arguments
+     * @param cmd
+     *            Command line.
+     * @param failOnError
+     *            Whether to throw exception on NOT success exit code.
+     * @param args
+     *            Command line arguments.
+     * @return {@link CommandResult} instance holding command exit code, output and
+     *         error if any.
+     * @throws CommandLineException
+     * @throws MojoFailureException
+     *             If <code>failOnError</code> is <code>true</code> and command exit
+     *             code is NOT equals to 0 or if the command exceeded its
+     *             timeout.
+     */
+    private CommandResult executeCommand(OutputMode outputMode, CommandCategory category, final Commandline cmd,
+            final boolean failOnError, final String... args) throws CommandLineException, MojoFailureException {
+        return executeCommand(outputMode, category, cmd, failOnError, null, args);
+    }
+
+    /**
+     * Executes command line and passes the output lines to the consumer while
+     * the command is running.
+     *
+     * @param outputMode
+     *            the output mode for console
+     * @param category
+     *            the category of the command used to determine the timeout or
+     *            <code>null</code> to determine the category of a git command
+     *            from its arguments
+     * @param cmd
+     *            Command line.
+     * @param failOnError
+     *            Whether to throw exception on NOT success exit code.
+     * @param outLineConsumer
+     *            the consumer for the output lines that returns
+     *            <code>false</code> if it doesn't need more lines (the command
+     *            is terminated then and treated as successful) or
+     *            <code>null</code> to collect the output in the result
+     * @param args
+     *            Command line arguments.
+     * @return {@link CommandResult} instance holding command exit code, output
+     *         (if no consumer passed) and error if any.
+     * @throws CommandLineException
+     * @throws MojoFailureException
+     *             If <code>failOnError</code> is <code>true</code> and command exit
+     *             code is NOT equals to 0 or if the command exceeded its
+     *             timeout.
+     */
+    private CommandResult executeCommand(OutputMode outputMode, CommandCategory category, final Commandline cmd,
+            final boolean failOnError, final Predicate<String> outLineConsumer, final String... args)
+            throws CommandLineException, MojoFailureException {
         // initialize executables
         initExecutables();
 
@@ -4646,8 +6585,24 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             getLog().debug(cmd.getExecutable() + " " + StringUtils.join(args, " "));
         }
 
+        if (cmd == cmdGit && activeIsolatedWorktree != null && !GitCommandClassifier.isReadOnly(args)) {
+            releaseUserBranchInIsolatedWorktree();
+        }
+
         cmd.clearArgs();
         cmd.addArguments(args);
+        if (isGitCommand(cmd)) {
+            if (pendingBackgroundFetch != null && !GitCommandClassifier.isReadOnly(args)) {
+                // git locks references and the object store while fetching, so
+                // commands that change the repository wait for the fetch
+                awaitBackgroundFetch();
+            }
+            invalidateRefCaches(args);
+        }
+        if (!isGitCommand(cmd) || !GitCommandClassifier.isReadOnly(args)) {
+            uncommittedChanges = null;
+            repositoryState = null;
+        }
 
         final StringBufferStreamConsumer out = new StringBufferStreamConsumer(verbose);
 
@@ -4661,22 +6616,46 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
             System.out.flush();
         }
 
-        // execute
-        final int exitCode = CommandLineUtils.executeCommandLine(cmd, new StreamConsumer() {
+        final boolean transferCommand = goalMetrics != null && cmd != cmdMvn && args.length > 0
+                && ("fetch".equals(args[0]) || "push".equals(args[0]));
+        final List<String> outLines = (commandRecorder != null) ? new ArrayList<String>() : null;
+        final List<String> errLines = (commandRecorder != null) ? new ArrayList<String>() : null;
+        final AtomicBoolean stopped = new AtomicBoolean(false);
+        StreamConsumer outConsumer = new StreamConsumer() {
 
             @Override
             public void consumeLine(String line) {
-                out.consumeLine(line);
+                if (outLineConsumer != null) {
+                    // lines read after the consumer is satisfied are ignored
+                    if (stopped.get()) {
+                        return;
+                    }
+                    if (!outLineConsumer.test(line)) {
+                        stopped.set(true);
+                    }
+                } else {
+                    out.consumeLine(line);
+                }
+                if (outLines != null) {
+                    outLines.add(line);
+                }
                 getLog().logCommandOut(logContext, line, outputMode);
                 if (hasToPrintProgressOutput(lastProgressOutput)) {
                     System.out.print(".");
                     System.out.flush();
                 }
             }
-        }, new StreamConsumer() {
+        };
+        StreamConsumer errConsumer = new StreamConsumer() {
 
             @Override
             public void consumeLine(String line) {
+                if (errLines != null) {
+                    errLines.add(line);
+                }
+                if (transferCommand && goalMetrics.consumeTransferProgress(line)) {
+                    return;
+                }
                 err.consumeLine(line);
                 getLog().logCommandErr(logContext, line, outputMode);
                 if (hasToPrintProgressOutput(lastProgressOutput)) {
@@ -4684,7 +6663,43 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
                     System.out.flush();
                 }
             }
-        });
+        };
+
+        // execute
+        final int exitCode;
+        int launcherArgsCount = getLauncherArgsCount(cmd, args);
+        long startTime = System.currentTimeMillis();
+        if (commandReplayer != null) {
+            RecordedCommand recorded = replayCommand(cmd, launcherArgsCount, args);
+            try {
+                for (String line : recorded.getOutLines()) {
+                    outConsumer.consumeLine(line);
+                }
+                for (String line : recorded.getErrLines()) {
+                    errConsumer.consumeLine(line);
+                }
+            } catch (IOException e) {
+                throw new CommandLineException("Failed to replay command '" + recorded + "'.", e);
+            }
+            exitCode = stopped.get() ? SUCCESS_EXIT_CODE : recorded.getExitCode();
+        } else {
+            CommandCategory effectiveCategory = (category != null) ? category : getGitCommandCategory(args);
+            long timeout = getCommandTimeout(effectiveCategory);
+            final String commandDescription = getCommandDescription(cmd, launcherArgsCount, args);
+            try {
+                exitCode = CommandWatchdog.executeCommandLine(cmd, outConsumer, errConsumer, timeout,
+                        commandHeartbeatInterval, elapsedSeconds -> getMavenLog().info("External command '"
+                                + commandDescription + "' is still running (" + elapsedSeconds + " seconds)..."),
+                        (outLineConsumer != null) ? stopped::get : null);
+            } catch (CommandTimeoutException e) {
+                if (lastProgressOutput != null) {
+                    System.out.println();
+                }
+                throw createCommandTimeoutException(e, cmd, effectiveCategory, commandDescription, startTime);
+            }
+            recordCommand(cmd, launcherArgsCount, args, startTime, exitCode, outLines, errLines);
+        }
+        registerCommandMetrics(cmd, startTime);
         if (lastProgressOutput != null) {
             System.out.println();
         }
@@ -4706,6 +6721,192 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return new CommandResult(exitCode, StringUtils.trim(outStr), errorStr);
     }
 
+    /**
+     * Check if passed command line executes git (also in the worktree of the
+     * central branch config or with additional environment variables).
+     */
+    private boolean isGitCommand(Commandline cmd) {
+        return cmd == cmdGit || (cmd != cmdMvn && cmd.getExecutable() != null
+                && cmd.getExecutable().equals(cmdGit.getExecutable()));
+    }
+
+    /**
+     * Invalidate cached local and remote references if passed git command can
+     * change them.
+     */
+    private void invalidateRefCaches(String... args) {
+        if (branchStateOracle != null) {
+            branchStateOracle.invalidateIfMutating(args);
+        }
+        if (Arrays.asList(args).contains("push")) {
+            lastPushTime = System.currentTimeMillis();
+            remoteBranches = null;
+        }
+    }
+
+    private CommandCategory getGitCommandCategory(String... args) {
+        if (args.length > 0) {
+            switch (args[0]) {
+            case "fetch":
+            case "push":
+            case "pull":
+            case "ls-remote":
+            case "clone":
+                return CommandCategory.GIT_NETWORK;
+            case "remote":
+                if (args.length > 1 && ("update".equals(args[1]) || "prune".equals(args[1])
+                        || ("show".equals(args[1]) && !Arrays.asList(args).contains("-n")))) {
+                    return CommandCategory.GIT_NETWORK;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return CommandCategory.GIT_LOCAL;
+    }
+
+    private long getCommandTimeout(CommandCategory category) {
+        switch (category) {
+        case GIT_NETWORK:
+            return gitNetworkTimeout;
+        case GIT_MAINTENANCE:
+            return Math.max(1, (commitGraphMaintenanceDeadline - System.currentTimeMillis() + 999) / 1000);
+        case MVN_VERSION:
+            return mvnVersionTimeout;
+        case MVN_BUILD:
+            return mvnBuildTimeout;
+        default:
+            return gitLocalTimeout;
+        }
+    }
+
+    private String getCommandTimeoutParameter(CommandCategory category) {
+        switch (category) {
+        case GIT_NETWORK:
+            return "flow.gitNetworkTimeout";
+        case GIT_MAINTENANCE:
+            return "flow.commitGraphMaintenanceBudget";
+        case MVN_VERSION:
+            return "flow.mvnVersionTimeout";
+        case MVN_BUILD:
+            return "flow.mvnBuildTimeout";
+        default:
+            return "flow.gitLocalTimeout";
+        }
+    }
+
+    private String getCommandDescription(final Commandline cmd, int launcherArgsCount, String... args) {
+        StringBuilder description = new StringBuilder(RecordedCommand.getExecutableName(cmd.getExecutable()));
+        for (int i = launcherArgsCount; i < args.length; i++) {
+            description.append(' ').append(args[i]);
+        }
+        if (description.length() > 200) {
+            description.setLength(200);
+            description.append("...");
+        }
+        return description.toString();
+    }
+
+    private GitFlowFailureException createCommandTimeoutException(CommandTimeoutException e, final Commandline cmd,
+            CommandCategory category, String commandDescription, long startTime) {
+        getLog().info("External command '" + commandDescription + "' terminated after timeout of "
+                + e.getTimeoutSeconds() + " seconds.");
+        if (category == CommandCategory.GIT_LOCAL || category == CommandCategory.GIT_NETWORK) {
+            removeStaleGitIndexLock(cmd, startTime);
+        }
+        return new GitFlowFailureException(e,
+                "External command '" + commandDescription + "' didn't finish within " + e.getTimeoutSeconds()
+                        + " seconds and was terminated.",
+                "Please check whether the command waits for an input (e.g. SSH passphrase or credentials) or "
+                        + "increase the timeout using parameter '" + getCommandTimeoutParameter(category)
+                        + "'.\nThen run 'mvn flow:" + getCurrentGoal() + "' again in order to continue.");
+    }
+
+    /**
+     * Remove index lock file left behind by a terminated git process, so that
+     * the goal can be continued.
+     */
+    private void removeStaleGitIndexLock(final Commandline cmd, long startTime) {
+        File gitDir;
+        try {
+            if (cmd == cmdGit) {
+                gitDir = getRepositoryLayout().getGitDir();
+            } else {
+                // other worktree, e.g. the one of the central branch config
+                File workingDirectory = cmd.getWorkingDirectory();
+                if (workingDirectory == null) {
+                    workingDirectory = getBasedir();
+                }
+                CommandResult result = executeCommand(getWorktreeCmd(workingDirectory), false, "rev-parse",
+                        "--absolute-git-dir");
+                if (result.getExitCode() != SUCCESS_EXIT_CODE) {
+                    return;
+                }
+                gitDir = new File(result.getOut().trim());
+            }
+        } catch (MojoFailureException | CommandLineException e) {
+            getLog().debug("Failed to determine git directory of terminated git process.", e);
+            return;
+        }
+        File indexLock = new File(gitDir, "index.lock");
+        // file system timestamps can have a resolution of up to 2 seconds
+        if (indexLock.isFile() && indexLock.lastModified() >= startTime - 2000) {
+            if (indexLock.delete()) {
+                getLog().info("Removed git index lock '" + indexLock + "' left by terminated git process.");
+            }
+        }
+    }
+
+    private void registerCommandMetrics(final Commandline cmd, long startTime) {
+        if (goalMetrics != null) {
+            String executable = (cmd == cmdMvn) ? "mvn" : RecordedCommand.getExecutableName(cmd.getExecutable());
+            if (executable.toLowerCase().endsWith(".exe")) {
+                executable = executable.substring(0, executable.length() - 4);
+            }
+            goalMetrics.commandExecuted(executable.toLowerCase(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private int getLauncherArgsCount(final Commandline cmd, final String... args) {
+        if (cmd == cmdMvn && !cmdMvnJVMArgs.isEmpty() && args.length >= cmdMvnJVMArgs.size()
+                && cmdMvnJVMArgs.equals(Arrays.asList(args).subList(0, cmdMvnJVMArgs.size()))) {
+            return cmdMvnJVMArgs.size();
+        }
+        return 0;
+    }
+
+    private void recordCommand(final Commandline cmd, int launcherArgsCount, String[] args, long startTime,
+            int exitCode, List<String> outLines, List<String> errLines) {
+        if (commandRecorder != null) {
+            Map<String, String> environment = (cmd instanceof ShellCommandLine)
+                    ? ((ShellCommandLine) cmd).getAddedEnvironmentVariables()
+                    : Collections.<String, String>emptyMap();
+            File workingDirectory = cmd.getWorkingDirectory();
+            RecordedCommand recorded = new RecordedCommand(startTime, System.currentTimeMillis() - startTime,
+                    exitCode, workingDirectory != null ? workingDirectory.getPath() : null, cmd.getExecutable(),
+                    launcherArgsCount, Arrays.asList(args), environment, outLines, errLines);
+            try {
+                commandRecorder.record(recorded);
+            } catch (IOException e) {
+                getLog().warn("Failed to record command '" + recorded + "'.", e);
+            }
+        }
+    }
+
+    private RecordedCommand replayCommand(final Commandline cmd, int launcherArgsCount, String[] args)
+            throws CommandLineException {
+        String executableName = RecordedCommand.getExecutableName(cmd.getExecutable());
+        List<String> commandArgs = Arrays.asList(args).subList(launcherArgsCount, args.length);
+        RecordedCommand recorded = commandReplayer.nextCommand(executableName, commandArgs);
+        if (recorded == null) {
+            throw new CommandLineException(
+                    "Command '" + executableName + " " + StringUtils.join(commandArgs.iterator(), " ")
+                            + "' not found in command recording '" + commandReplayer.getFile() + "'.");
+        }
+        return recorded;
+    }
+
     private String getLogContext(final Commandline cmd) {
         String executable = cmd.getExecutable();
         int pos = Math.max(executable.lastIndexOf("/"), executable.lastIndexOf("\\"));
@@ -4756,8 +6957,17 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
      * @throws MojoFailureException
      */
     protected void gitCheckoutOurs() throws CommandLineException, MojoFailureException {
-        getLog().info("git checkout --ours .");
-        executeGitCommand("checkout", "--ours", ".");
+        Map<String, StageStates> unmergedFiles;
+        if (isSparseRepository() && (unmergedFiles = gitUnmergedFiles()) != null && !unmergedFiles.isEmpty()) {
+            // only the conflicting files instead of the whole index
+            List<String> args = new ArrayList<>(Arrays.asList("checkout", "--ours", "--"));
+            args.addAll(unmergedFiles.keySet());
+            getLog().info("git checkout --ours (" + unmergedFiles.size() + " unmerged files)");
+            executeGitCommand(args.toArray(new String[args.size()]));
+        } else {
+            getLog().info("git checkout --ours .");
+            executeGitCommand("checkout", "--ours", ".");
+        }
     }
 
     /**
@@ -5043,6 +7253,80 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         return !gitFlowConfig.isNoProduction() && !developmentBranch.equals(productionBranch);
     }
 
+    /**
+     * Check if a commit created with <code>git commit-tree</code> is the same
+     * as the commit created by <code>git commit</code> or
+     * <code>git merge</code>. This is not the case if one of the passed hooks
+     * is installed (the hooks could change the commit or the message or
+     * reject the commit), if the commit would be signed, if a cleanup mode
+     * for commit messages other than the default is configured or if one of
+     * the passed boolean config options is enabled.
+     *
+     * @param hookNames
+     *            the names of the hooks executed by the git command
+     * @param configNames
+     *            the names of additional boolean config options that change
+     *            the commit created by the git command
+     * @return <code>true</code> if the commit can be created with
+     *         <code>git commit-tree</code>
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    private boolean gitIsCommitTreeEquivalent(String[] hookNames, String... configNames)
+            throws MojoFailureException, CommandLineException {
+        List<String> reasons = new ArrayList<>();
+        List<String> boolConfigNames = new ArrayList<>(Arrays.asList(configNames));
+        boolConfigNames.add("commit.gpgSign");
+        for (String configName : boolConfigNames) {
+            if ("true".equals(executeGitCommandExitCode("config", "--bool", configName).getOut().trim())) {
+                reasons.add(configName);
+            }
+        }
+        if (executeGitCommandExitCode("config", "commit.cleanup").getExitCode() == SUCCESS_EXIT_CODE) {
+            reasons.add("commit.cleanup");
+        }
+        String hooksPath = executeGitCommandReturn("rev-parse", "--git-path", "hooks").trim();
+        File hooksDir = new File(hooksPath);
+        if (!hooksDir.isAbsolute()) {
+            hooksDir = new File(cmdGit.getWorkingDirectory(), hooksPath);
+        }
+        for (String hookName : hookNames) {
+            File hook = new File(hooksDir, hookName);
+            if (hook.isFile() && hook.canExecute()) {
+                reasons.add(hookName + " hook");
+            }
+        }
+        if (reasons.isEmpty()) {
+            return true;
+        }
+        getLog().info("Commit is created by git in the working tree because of: " + String.join(", ", reasons));
+        return false;
+    }
+
+    /**
+     * Create a commit with <code>git commit-tree</code>. The commit message is
+     * cleaned up the same way as by <code>git commit</code>.
+     *
+     * @return the id of the new commit
+     */
+    private String gitCommitTree(String tree, String messageBody, String... parents)
+            throws MojoFailureException, CommandLineException {
+        List<String> args = new ArrayList<>(Arrays.asList("commit-tree", tree));
+        for (String parent : parents) {
+            args.add("-p");
+            args.add(parent);
+        }
+        String message = CommitMessageCleanup.whitespace(messageBody);
+        if (message.indexOf('\n') < message.length() - 1) {
+            args.add("-F");
+            args.add(createTempCommitMessageFile(message).getAbsolutePath());
+        } else {
+            args.add("-m");
+            args.add(message.trim());
+        }
+        return executeGitCommandReturn(args.toArray(new String[args.size()])).trim();
+    }
+
     /**
      * Squash commits on the current branch beginning from the first commit after
      * passed base commit.
@@ -5058,6 +7342,11 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
     protected void gitSquash(String baseCommit, String squashCommitMessage)
             throws MojoFailureException, CommandLineException {
         String currentCommit = getCurrentCommit();
+        if (inMemorySquash && StringUtils.isNotBlank(squashCommitMessage)
+                && !gitIsAncestorBranch(currentCommit, baseCommit) && gitIsCommitTreeEquivalent(SQUASH_HOOKS)) {
+            gitSquashInMemory(gitCurrentBranch(), baseCommit, currentCommit, squashCommitMessage.replace("\\n", "\n"));
+            return;
+        }
         executeGitCommand("reset", "--soft", baseCommit);
         CommandResult result;
         try {
@@ -5086,6 +7375,18 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Squash commits without touching the index and the working tree: the
+     * squash commit gets the tree of the current commit and the base commit as
+     * parent, only the branch is moved to the new commit.
+     */
+    private void gitSquashInMemory(String branch, String baseCommit, String currentCommit, String messageBody)
+            throws MojoFailureException, CommandLineException {
+        getLog().info("Squashing commits on branch '" + branch + "' in memory.");
+        String squashCommit = gitCommitTree(currentCommit + "^{tree}", messageBody, baseCommit);
+        executeGitCommand("update-ref", "-m", "squash", "refs/heads/" + branch, squashCommit, currentCommit);
+    }
+
     private File createTempCommitMessageFile(String messageBody) throws MojoFailureException {
         try {
             File tempFile = File.createTempFile("commit-", ".msg");
@@ -5299,47 +7600,68 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
 
     protected boolean fixAndContinueIfModuleDeletedConflictDetected(String rebasePausedLogMessage,
             GitFlowFailureInfo rebasePausedFailureInfo) throws MojoFailureException, CommandLineException {
-        Map<String, StageStates> unmergedFiles = gitUnmergedFiles();
-        if (unmergedFiles != null && unmergedFiles.size() > 0) {
-            List<String> removedPomFiles = new ArrayList<>();
-            for (Entry<String, StageStates> unmergedEntry : unmergedFiles.entrySet()) {
-                String file = unmergedEntry.getKey();
-                StageStates stage = unmergedEntry.getValue();
-                // stage 1: common ancestor
-                // stage 2: ours (on rebase: theirs)
-                // stage 3: theirs (on rebase: ours)
-                // is deleted on feature branch (stage1=true, stage2=true, stage3=false)?
-                if (stage.hasStage(1) && stage.hasStage(2) && !stage.hasStage(3) && file.endsWith("pom.xml")) {
-                    removedPomFiles.add(file);
-                } else {
-                    return false;
-                }
-            }
-            if (!removedPomFiles.isEmpty()) {
-                getLog().info("Detected conflict with deleted modules on branch to be rebased. "
-                        + "Trying to resolve conflict automatically.");
-                for (String removedPomFile : removedPomFiles) {
-                    gitRemoveFile(removedPomFile);
+        List<String> removedPomFiles = gitUnmergedRemovedPomFiles();
+        if (removedPomFiles == null) {
+            return false;
+        }
+        // resolve the conflicts of all following patches in a loop, a long
+        // chain of patches touching deleted modules is common after rebase
+        while (true) {
+            getLog().info("Detected conflict with deleted modules on branch to be rebased. "
+                    + "Trying to resolve conflict automatically.");
+            gitRemoveFiles(removedPomFiles);
+            Integer patchNumber = gitGetRebaseProgress();
+            getLog().info("Continue rebase after automatically resolved conflict with deleted modules...");
+            try {
+                gitRebaseContinueOrSkip();
+                return true;
+            } catch (MojoFailureException exc) {
+                Integer newPatchNumber = gitGetRebaseProgress();
+                removedPomFiles = null;
+                if (patchNumber != null && newPatchNumber != null && !patchNumber.equals(newPatchNumber)) {
+                    removedPomFiles = gitUnmergedRemovedPomFiles();
                 }
-                Integer patchNumber = gitGetRebasePatchNumber();
-                getLog().info("Continue rebase after automatically resolved conflict with deleted modules...");
-                try {
-                    gitRebaseContinueOrSkip();
-                } catch (MojoFailureException exc) {
-                    Integer newPatchNumber = gitGetRebasePatchNumber();
-                    if (patchNumber != null && newPatchNumber != null && patchNumber != newPatchNumber) {
-                        if (fixAndContinueIfModuleDeletedConflictDetected(rebasePausedLogMessage,
-                                rebasePausedFailureInfo)) {
-                            return true;
-                        }
-                    }
+                if (removedPomFiles == null) {
                     getMavenLog().info(rebasePausedLogMessage);
                     throw new GitFlowFailureException(exc, rebasePausedFailureInfo);
                 }
-                return true;
             }
         }
-        return false;
+    }
+
+    /**
+     * Get the pom files in conflict because they were deleted on the branch
+     * the current branch is being rebased on.
+     *
+     * @return the pom files or <code>null</code> if there are no conflicts or
+     *         other conflicts
+     */
+    private List<String> gitUnmergedRemovedPomFiles() throws MojoFailureException, CommandLineException {
+        Map<String, StageStates> unmergedFiles = gitUnmergedFiles();
+        if (unmergedFiles == null || unmergedFiles.isEmpty()) {
+            return null;
+        }
+        List<String> removedPomFiles = new ArrayList<>();
+        for (Entry<String, StageStates> unmergedEntry : unmergedFiles.entrySet()) {
+            String file = unmergedEntry.getKey();
+            StageStates stage = unmergedEntry.getValue();
+            // stage 1: common ancestor
+            // stage 2: ours (on rebase: theirs)
+            // stage 3: theirs (on rebase: ours)
+            // is deleted on feature branch (stage1=true, stage2=true, stage3=false)?
+            if (stage.hasStage(1) && stage.hasStage(2) && !stage.hasStage(3) && file.endsWith("pom.xml")) {
+                removedPomFiles.add(file);
+            } else {
+                return null;
+            }
+        }
+        return removedPomFiles;
+    }
+
+    private Integer gitGetRebaseProgress() throws MojoFailureException, CommandLineException {
+        Integer patchNumber = gitGetRebasePatchNumber();
+        // the merge backend of rebase stores the progress in msgnum
+        return (patchNumber != null) ? patchNumber : gitGetInteractiveRebaseCommitNumber();
     }
 
     /**
@@ -5886,6 +8208,13 @@ public abstract class AbstractGitFlowMojo extends AbstractMojo {
         NONE, PROGRESS, DEBUG, FULL;
     }
 
+    /**
+     * Category of external commands with own timeout.
+     */
+    protected enum CommandCategory {
+        GIT_LOCAL, GIT_NETWORK, GIT_MAINTENANCE, MVN_VERSION, MVN_BUILD;
+    }
+
     protected enum BranchRefState {
         LOCAL_AHEAD, REMOTE_AHEAD, DIVERGE, SYNCHRONIZED, REMOTE_MISSING, BRANCH_MISSING;
     }
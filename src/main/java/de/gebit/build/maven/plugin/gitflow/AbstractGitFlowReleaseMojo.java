@@ -98,6 +98,12 @@ public abstract class AbstractGitFlowReleaseMojo extends AbstractGitFlowMojo {
      */
     protected abstract String getCurrentGoal();
 
+    @Override
+    protected boolean isFetchTagsRequired() {
+        // version tags are needed to check and create release tags
+        return true;
+    }
+
     /**
      * The mojo provides this flag from a configuration property.
      */
@@ -543,17 +549,28 @@ public abstract class AbstractGitFlowReleaseMojo extends AbstractGitFlowMojo {
         // if we're on a release branch merge it now to maintenance or
         // production.
         if (isUsingProductionBranch(developmentBranch, productionBranch)) {
+            // the production branch is checked out only if the merge has to be
+            // executed in the working tree
+            boolean merged;
             if (gitBranchExists(productionBranch)) {
-                gitCheckout(productionBranch);
+                merged = gitMergeInMemory(productionBranch, releaseBranch, isReleaseMergeProductionNoFF());
+            } else if (skipRedundantCheckouts) {
+                getMavenLog().info("Creating production branch '" + productionBranch + "'");
+                gitCreateBranch(productionBranch, releaseBranch);
+                merged = true;
             } else {
                 getMavenLog().info("Creating production branch '" + productionBranch + "'");
                 gitCreateAndCheckout(productionBranch, releaseBranch);
+                merged = true;
             }
             // merge release branch into production, never rebase
             try {
-                getMavenLog().info("Merging release branch '" + releaseBranch + "' into production branch '"
-                        + productionBranch + "'");
-                gitMerge(releaseBranch, isReleaseMergeProductionNoFF());
+                if (!merged) {
+                    gitCheckout(productionBranch);
+                    getMavenLog().info("Merging release branch '" + releaseBranch + "' into production branch '"
+                            + productionBranch + "'");
+                    gitMerge(releaseBranch, isReleaseMergeProductionNoFF());
+                }
             } catch (MojoFailureException ex) {
                 throw new GitFlowFailureException(ex,
                         "Automatic merge of release branch '" + releaseBranch + "' into production branch '"
@@ -576,6 +593,13 @@ public abstract class AbstractGitFlowReleaseMojo extends AbstractGitFlowMojo {
     private void prepareDevelopmentBranchAndFinalizeRelease(String nextSnapshotVersion, String releaseBranch,
             String productionBranch, String developmentBranch, String releaseCommit)
             throws MojoFailureException, CommandLineException {
+        // move the development branch as far as possible without working tree,
+        // so that it is checked out only once
+        if (gitFastForwardBranchWithoutCheckout(developmentBranch)) {
+            gitMergeInMemory(developmentBranch,
+                    isUsingProductionBranch(developmentBranch, productionBranch) ? productionBranch : releaseBranch,
+                    isReleaseMergeNoFF());
+        }
         gitCheckout(developmentBranch);
         gitSetBranchLocalConfig(developmentBranch, "releaseBranch", releaseBranch);
         // if there are any changes in the remote development branch, we need to
@@ -694,14 +718,20 @@ public abstract class AbstractGitFlowReleaseMojo extends AbstractGitFlowMojo {
         gitRemoveBranchLocalConfig(releaseBranch, "releaseCommit");
         gitRemoveBranchLocalConfig(releaseBranch, "nextSnapshotVersion");
 
-        // first push modified branches
+        // push modified branches and remove remote release branch at once
         if (pushRemote) {
+            PushPlan pushPlan = new PushPlan(!isSkipTag());
             if (isUsingProductionBranch(developmentBranch, productionBranch)) {
                 getMavenLog().info("Pushing production branch '" + productionBranch + "' to remote repository");
-                gitPush(productionBranch, !isSkipTag(), false);
+                pushPlan.push(productionBranch);
             }
             getMavenLog().info("Pushing development branch '" + developmentBranch + "' to remote repository");
-            gitPush(developmentBranch, !isSkipTag(), false);
+            pushPlan.push(developmentBranch);
+            if (!isKeepBranch() && isPushReleaseBranch()) {
+                getMavenLog().info("Removing remote release branch '" + releaseBranch + "'");
+                pushPlan.delete(releaseBranch);
+            }
+            gitPush(pushPlan);
         }
         if (isDetachReleaseCommit()) {
             // make sure we leave the workspace in the state as released
@@ -714,10 +744,6 @@ public abstract class AbstractGitFlowReleaseMojo extends AbstractGitFlowMojo {
             // remove the release branch
             getMavenLog().info("Removing local release branch '" + releaseBranch + "'");
             gitBranchDeleteForce(releaseBranch);
-            if (pushRemote && isPushReleaseBranch()) {
-                getMavenLog().info("Removing remote release branch '" + releaseBranch + "'");
-                gitBranchDeleteRemote(releaseBranch);
-            }
             gitRemoveAllBranchCentralConfigsForBranch(releaseBranch, "release '" + releaseBranch + "' finished");
         }
     }
@@ -0,0 +1,154 @@
+//
+// BackgroundFetch.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.Commandline;
+
+/**
+ * Executes a <code>git fetch</code> in a background thread while the goal
+ * does local work. The background thread uses only its own command line and
+ * buffers the output of the command. Caches, logging and metrics of the goal
+ * are updated by the goal thread after {@link #await()}, so that no state of
+ * the goal is shared between the threads.
+ *
+ * @author Volodymyr Medvid
+ */
+public class BackgroundFetch {
+
+    private static final String THREAD_NAME = "gitflow-background-fetch";
+
+    private final Commandline cmd;
+
+    private final long timeoutSeconds;
+
+    private final FutureTask<Result> task;
+
+    private final long startTime;
+
+    /**
+     * Starts the fetch in a new daemon thread.
+     *
+     * @param aCmd
+     *            the complete fetch command line, not used by the goal
+     *            otherwise
+     * @param aTimeoutSeconds
+     *            the timeout in seconds after that the fetch is terminated or
+     *            <code>0</code> for no timeout
+     */
+    public BackgroundFetch(Commandline aCmd, long aTimeoutSeconds) {
+        cmd = aCmd;
+        timeoutSeconds = aTimeoutSeconds;
+        startTime = System.currentTimeMillis();
+        task = new FutureTask<>(this::execute);
+        Thread thread = new Thread(task, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private Result execute() throws CommandLineException {
+        // the pumper threads of the process append to the lists
+        List<String> outLines = Collections.synchronizedList(new ArrayList<>());
+        List<String> errLines = Collections.synchronizedList(new ArrayList<>());
+        int exitCode = CommandWatchdog.executeCommandLine(cmd, outLines::add, errLines::add, timeoutSeconds, 0,
+                null);
+        return new Result(exitCode, new ArrayList<>(outLines), new ArrayList<>(errLines),
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * @return the start time of the fetch in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return <code>true</code> if the fetch is finished
+     */
+    public boolean isDone() {
+        return task.isDone();
+    }
+
+    /**
+     * Wait for the fetch to be finished.
+     *
+     * @return the result of the fetch
+     * @throws CommandLineException
+     *             if the fetch couldn't be executed or was terminated because
+     *             of timeout
+     * @throws InterruptedException
+     *             if the current thread was interrupted while waiting
+     */
+    public Result await() throws CommandLineException, InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CommandLineException) {
+                throw (CommandLineException) e.getCause();
+            }
+            throw new CommandLineException("Background fetch failed.", e.getCause());
+        }
+    }
+
+    /**
+     * The result of a finished fetch.
+     */
+    public static class Result {
+
+        private final int exitCode;
+
+        private final List<String> outLines;
+
+        private final List<String> errLines;
+
+        private final long durationMillis;
+
+        private Result(int anExitCode, List<String> anOutLines, List<String> anErrLines, long aDurationMillis) {
+            exitCode = anExitCode;
+            outLines = anOutLines;
+            errLines = anErrLines;
+            durationMillis = aDurationMillis;
+        }
+
+        /**
+         * @return the exit code of the fetch
+         */
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        /**
+         * @return the lines of the standard output
+         */
+        public List<String> getOutLines() {
+            return outLines;
+        }
+
+        /**
+         * @return the lines of the error output (including progress output)
+         */
+        public List<String> getErrLines() {
+            return errLines;
+        }
+
+        /**
+         * @return the execution time of the fetch in milliseconds
+         */
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+//
+// BranchReachabilityIndex.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index that answers "which branches contain commit X" for a snapshot of all
+ * local and remote branches. The reachability of all commits from all
+ * branches is computed once in one pass over the commit graph, so that a batch
+ * of commits can be checked without executing
+ * <code>git branch -a --contains</code> per commit. Building the index loads
+ * the history of all branches, so it pays off only for several queries.
+ * <p>
+ * The branch names are the same as reported by
+ * <code>git branch -a --contains</code> with the prefix of the origin remote
+ * removed: <code>master</code> for local branch and origin branch,
+ * <code>remotes/other/master</code> for branches of other remotes and
+ * <code>HEAD -&gt; origin/master</code> for the symbolic HEAD ref of origin.
+ *
+ * @author Volodymyr Medvid
+ */
+public class BranchReachabilityIndex {
+
+    /**
+     * Format for <code>git for-each-ref</code> that produces the ref listing
+     * the index is created for.
+     */
+    public static final String REF_FORMAT = "%(objectname) %(refname) %(symref)";
+
+    private static final String LOCAL_PREFIX = "refs/heads/";
+
+    private static final String REMOTE_PREFIX = "refs/remotes/";
+
+    private final String refListing;
+
+    private final List<String> branchNames = new ArrayList<>();
+
+    private final CommitGraph.TipReachability reachability;
+
+    /**
+     * Creates the index for the passed branches.
+     *
+     * @param aRefListing
+     *            the output of
+     *            <code>git for-each-ref --format=&lt;REF_FORMAT&gt; refs/heads/ refs/remotes/</code>
+     * @param anOrigin
+     *            the name of the origin remote repository
+     * @param aGraph
+     *            the commit graph containing the history of all listed
+     *            branches
+     */
+    public BranchReachabilityIndex(String aRefListing, String anOrigin, CommitGraph aGraph) {
+        refListing = aRefListing;
+        List<String> tips = new ArrayList<>();
+        // same order as in git branch -a: local branches first, sorted by ref name
+        for (Map.Entry<String, String[]> entry : parseRefListing(aRefListing).entrySet()) {
+            String[] commitAndTarget = entry.getValue();
+            branchNames.add(getBranchName(entry.getKey(), commitAndTarget[1], anOrigin));
+            tips.add(commitAndTarget[0]);
+        }
+        reachability = aGraph.computeReachability(tips);
+    }
+
+    private static Map<String, String[]> parseRefListing(String aRefListing) {
+        Map<String, String[]> refs = new TreeMap<>();
+        for (String line : aRefListing.split("\r?\n")) {
+            String[] fields = line.trim().split(" ");
+            if (fields.length >= 2 && (fields[1].startsWith(LOCAL_PREFIX) || fields[1].startsWith(REMOTE_PREFIX))) {
+                refs.put(fields[1], new String[] { fields[0], fields.length > 2 ? fields[2] : "" });
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Get the name of a branch as reported by
+     * <code>git branch -a --contains</code> with the prefix of the origin
+     * remote removed.
+     *
+     * @param refName
+     *            the full ref name
+     * @param symrefTarget
+     *            the full ref name of the target of a symbolic ref or an empty
+     *            string
+     * @param origin
+     *            the name of the origin remote repository
+     * @return the branch name
+     */
+    static String getBranchName(String refName, String symrefTarget, String origin) {
+        String name;
+        if (refName.startsWith(LOCAL_PREFIX)) {
+            name = refName.substring(LOCAL_PREFIX.length());
+        } else {
+            name = "remotes/" + refName.substring(REMOTE_PREFIX.length());
+        }
+        if (!symrefTarget.isEmpty()) {
+            name += " -> " + shortenRefName(symrefTarget);
+        }
+        String prefix = "remotes/" + origin + "/";
+        return name.startsWith(prefix) ? name.substring(prefix.length()) : name;
+    }
+
+    private static String shortenRefName(String refName) {
+        if (refName.startsWith(LOCAL_PREFIX)) {
+            return refName.substring(LOCAL_PREFIX.length());
+        } else if (refName.startsWith(REMOTE_PREFIX)) {
+            return refName.substring(REMOTE_PREFIX.length());
+        }
+        return refName;
+    }
+
+    /**
+     * Check if the index was created for the passed ref listing.
+     *
+     * @param aRefListing
+     *            the output of <code>git for-each-ref</code> with
+     *            {@link #REF_FORMAT}
+     * @return <code>true</code> if the index is up to date for the listed
+     *         branches
+     */
+    public boolean isSnapshotOf(String aRefListing) {
+        return refListing.equals(aRefListing);
+    }
+
+    /**
+     * Get the names of local and remote branches that contain the commit. Local
+     * and origin branch with the same name are returned once.
+     *
+     * @param commit
+     *            the full commit id
+     * @return the branch names
+     */
+    public Set<String> getBranchesContaining(String commit) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int tip : reachability.getContainingTips(commit)) {
+            result.add(branchNames.get(tip));
+        }
+        return result;
+    }
+
+    /**
+     * Get the names of local and remote branches that contain the commits.
+     *
+     * @param commits
+     *            the full commit ids
+     * @return map with commit ids as keys and branch names as values
+     */
+    public Map<String, Set<String>> getBranchesContaining(Collection<String> commits) {
+        Map<String, Set<String>> result = new LinkedHashMap<>();
+        for (String commit : commits) {
+            result.put(commit, getBranchesContaining(commit));
+        }
+        return result;
+    }
+}
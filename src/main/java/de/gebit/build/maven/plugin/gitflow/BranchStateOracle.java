@@ -0,0 +1,199 @@
+//
+// BranchStateOracle.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cached state of all local branches and all branches of the remote
+ * repository: existence, commit ids and ahead/behind counts of local branches
+ * compared with their remote counterparts. The state is loaded with one
+ * <code>git for-each-ref</code> call and is valid until the next git command
+ * that can change references.
+ *
+ * @author Volodymyr Medvid
+ */
+public class BranchStateOracle {
+
+    /**
+     * Format to be passed to <code>git for-each-ref --format</code>.
+     */
+    public static final String FOR_EACH_REF_FORMAT = "%(refname)%09%(objectname)%09%(upstream)%09"
+            + "%(upstream:track,nobracket)";
+
+    private static final String LOCAL_PREFIX = "refs/heads/";
+
+    private final String remotePrefix;
+
+    private final Map<String, String> localCommits = new HashMap<>();
+
+    private final Map<String, String> remoteCommits = new HashMap<>();
+
+    private final Map<String, int[]> aheadBehind = new HashMap<>();
+
+    private boolean valid = false;
+
+    /**
+     * Creates an empty (invalid) branch state oracle.
+     *
+     * @param anOrigin
+     *            the name of the remote repository
+     */
+    public BranchStateOracle(String anOrigin) {
+        remotePrefix = "refs/remotes/" + anOrigin + "/";
+    }
+
+    /**
+     * @return <code>true</code> if the branch state is loaded and no references
+     *         were changed since then
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Mark the branch state as outdated.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Invalidate the branch state if the passed git command can change
+     * references.
+     *
+     * @param args
+     *            the arguments of the git command
+     */
+    public void invalidateIfMutating(String... args) {
+        if (valid && !GitCommandClassifier.isReadOnly(args)) {
+            valid = false;
+        }
+    }
+
+    /**
+     * Replace the branch state with the output of
+     * <code>git for-each-ref --format={@link #FOR_EACH_REF_FORMAT} refs/heads/ refs/remotes/[origin]/</code>.
+     *
+     * @param forEachRefOutput
+     *            the output of for-each-ref
+     */
+    public void load(String forEachRefOutput) {
+        localCommits.clear();
+        remoteCommits.clear();
+        aheadBehind.clear();
+        for (String line : forEachRefOutput.split("\r?\n")) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 2) {
+                continue;
+            }
+            String refName = fields[0];
+            if (refName.startsWith(LOCAL_PREFIX)) {
+                String branchName = refName.substring(LOCAL_PREFIX.length());
+                localCommits.put(branchName, fields[1]);
+                // counts are only meaningful if the upstream is the remote
+                // branch with the same name
+                if (fields.length > 3 && (remotePrefix + branchName).equals(fields[2])) {
+                    int[] counts = parseTrack(fields[3]);
+                    if (counts != null) {
+                        aheadBehind.put(branchName, counts);
+                    }
+                }
+            } else if (refName.startsWith(remotePrefix)) {
+                remoteCommits.put(refName.substring(remotePrefix.length()), fields[1]);
+            }
+        }
+        valid = true;
+    }
+
+    private int[] parseTrack(String track) {
+        if (track.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+        if ("gone".equals(track)) {
+            return null;
+        }
+        int[] counts = new int[2];
+        for (String part : track.split(",")) {
+            String[] tokens = part.trim().split(" ");
+            if (tokens.length != 2) {
+                return null;
+            }
+            try {
+                if ("ahead".equals(tokens[0])) {
+                    counts[0] = Integer.parseInt(tokens[1]);
+                } else if ("behind".equals(tokens[0])) {
+                    counts[1] = Integer.parseInt(tokens[1]);
+                } else {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @param branchName
+     *            the name of the local branch
+     * @return the commit id of the local branch or <code>null</code> if branch
+     *         doesn't exist
+     */
+    public String getLocalCommit(String branchName) {
+        return localCommits.get(branchName);
+    }
+
+    /**
+     * @param branchName
+     *            the name of the branch without remote prefix
+     * @return the commit id of the remote branch or <code>null</code> if branch
+     *         doesn't exist
+     */
+    public String getRemoteCommit(String branchName) {
+        return remoteCommits.get(branchName);
+    }
+
+    /**
+     * Get the number of commits the local branch is ahead and behind of the
+     * remote branch.
+     *
+     * @param branchName
+     *            the name of the branch
+     * @return array with ahead count and behind count or <code>null</code> if
+     *         the counts are unknown (e.g. local branch tracks another remote
+     *         branch)
+     */
+    public int[] getAheadBehind(String branchName) {
+        int[] counts = aheadBehind.get(branchName);
+        if (counts == null) {
+            String localCommit = localCommits.get(branchName);
+            if (localCommit != null && localCommit.equals(remoteCommits.get(branchName))) {
+                return new int[] { 0, 0 };
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Store ahead and behind counts computed separately, e.g. for branches
+     * without configured upstream.
+     *
+     * @param branchName
+     *            the name of the branch
+     * @param ahead
+     *            number of local commits not on the remote branch
+     * @param behind
+     *            number of remote commits not on the local branch
+     */
+    public void setAheadBehind(String branchName, int ahead, int behind) {
+        aheadBehind.put(branchName, new int[] { ahead, behind });
+    }
+}
@@ -0,0 +1,118 @@
+//
+// CommandRecorder.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map.Entry;
+
+/**
+ * Writes executed external commands with their arguments, working directory,
+ * environment, exit code, output and timing into a command recording file.
+ * The recording can be used later by {@link CommandReplayer} to reproduce the
+ * goal execution without running any external command.
+ *
+ * @author Volodymyr Medvid
+ * @see RecordedCommand
+ */
+public class CommandRecorder implements Closeable {
+
+    private final File file;
+
+    private final Writer writer;
+
+    /**
+     * Creates a command recorder that writes into passed file. An existing file
+     * will be overwritten.
+     *
+     * @param aFile
+     *            the recording file
+     * @param aGoal
+     *            the goal to be recorded
+     * @throws IOException
+     *             if the recording file can't be created
+     */
+    public CommandRecorder(File aFile, String aGoal) throws IOException {
+        file = aFile;
+        File parent = aFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(aFile.toPath()), StandardCharsets.UTF_8));
+        writer.write(RecordedCommand.HEADER_PREFIX + " goal=" + aGoal);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * @return the recording file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Write the passed command into the recording file. The file is flushed
+     * after each command so that the recording is usable even if the goal
+     * execution was interrupted.
+     *
+     * @param command
+     *            the command to be recorded
+     * @throws IOException
+     *             if the command can't be written
+     */
+    public synchronized void record(RecordedCommand command) throws IOException {
+        StringBuilder sb = new StringBuilder(RecordedCommand.CMD_PREFIX);
+        appendField(sb, Long.toString(command.getStartTime()));
+        appendField(sb, Long.toString(command.getDuration()));
+        appendField(sb, Integer.toString(command.getExitCode()));
+        appendField(sb, Integer.toString(command.getLauncherArgsCount()));
+        appendField(sb, command.getWorkingDirectory());
+        appendField(sb, command.getExecutable());
+        for (String arg : command.getArgs()) {
+            appendField(sb, arg);
+        }
+        sb.append('\n');
+        if (!command.getEnvironment().isEmpty()) {
+            sb.append(RecordedCommand.ENV_PREFIX);
+            for (Entry<String, String> entry : command.getEnvironment().entrySet()) {
+                appendField(sb, entry.getKey() + "=" + entry.getValue());
+            }
+            sb.append('\n');
+        }
+        for (String line : command.getOutLines()) {
+            sb.append(RecordedCommand.OUT_PREFIX);
+            appendField(sb, line);
+            sb.append('\n');
+        }
+        for (String line : command.getErrLines()) {
+            sb.append(RecordedCommand.ERR_PREFIX);
+            appendField(sb, line);
+            sb.append('\n');
+        }
+        writer.write(sb.toString());
+        writer.flush();
+    }
+
+    private void appendField(StringBuilder sb, String value) {
+        sb.append(RecordedCommand.SEPARATOR).append(RecordedCommand.escape(value));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,182 @@
+//
+// CommandReplayer.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers external command executions from a command recording file written
+ * by {@link CommandRecorder} without running anything.
+ * <p>
+ * Commands are matched by executable name and arguments (launcher arguments
+ * are ignored). The recorded commands are consumed in recorded order. If the
+ * next recorded command doesn't match, the first unused matching command is
+ * used, so that the recording can still be replayed if commands were reordered
+ * or removed (e.g. while testing caching or batching changes).
+ *
+ * @author Volodymyr Medvid
+ * @see RecordedCommand
+ */
+public class CommandReplayer {
+
+    private final File file;
+
+    private final List<RecordedCommand> commands;
+
+    private final boolean[] used;
+
+    private int cursor = 0;
+
+    /**
+     * Creates a command replayer for passed recording file.
+     *
+     * @param aFile
+     *            the recording file
+     * @throws IOException
+     *             if the recording file can't be read or has wrong format
+     */
+    public CommandReplayer(File aFile) throws IOException {
+        file = aFile;
+        commands = Collections.unmodifiableList(load(aFile));
+        used = new boolean[commands.size()];
+    }
+
+    /**
+     * @return the recording file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return all recorded commands
+     */
+    public List<RecordedCommand> getCommands() {
+        return commands;
+    }
+
+    /**
+     * Find the recorded command for passed command and mark it as used.
+     *
+     * @param anExecutableName
+     *            the executable name without path
+     * @param aCommandArgs
+     *            the command arguments without launcher arguments
+     * @return the recorded command or <code>null</code> if no unused recorded
+     *         command matches
+     */
+    public synchronized RecordedCommand nextCommand(String anExecutableName, List<String> aCommandArgs) {
+        int index = findUnused(anExecutableName, aCommandArgs, cursor, commands.size());
+        if (index < 0) {
+            index = findUnused(anExecutableName, aCommandArgs, 0, cursor);
+        }
+        if (index < 0) {
+            return null;
+        }
+        used[index] = true;
+        cursor = index + 1;
+        return commands.get(index);
+    }
+
+    /**
+     * @return the number of recorded commands that were not replayed yet
+     */
+    public synchronized int getUnusedCount() {
+        int count = 0;
+        for (boolean u : used) {
+            if (!u) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int findUnused(String anExecutableName, List<String> aCommandArgs, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!used[i] && commands.get(i).matches(anExecutableName, aCommandArgs)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<RecordedCommand> load(File aFile) throws IOException {
+        List<RecordedCommand> result = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(aFile.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith(RecordedCommand.HEADER_PREFIX)) {
+                throw new IOException("File '" + aFile + "' is not a command recording.");
+            }
+            List<String> cmdFields = null;
+            Map<String, String> env = new LinkedHashMap<>();
+            List<String> out = new ArrayList<>();
+            List<String> err = new ArrayList<>();
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                List<String> fields = RecordedCommand.splitFields(line);
+                String prefix = fields.get(0);
+                if (RecordedCommand.CMD_PREFIX.equals(prefix)) {
+                    if (cmdFields != null) {
+                        result.add(createCommand(cmdFields, env, out, err));
+                        env.clear();
+                        out.clear();
+                        err.clear();
+                    }
+                    if (fields.size() < 7) {
+                        throw new IOException("Wrong command entry in line " + lineNumber + " of command recording '"
+                                + aFile + "'.");
+                    }
+                    cmdFields = fields;
+                } else if (cmdFields == null) {
+                    throw new IOException("Unexpected entry in line " + lineNumber + " of command recording '"
+                            + aFile + "'.");
+                } else if (RecordedCommand.ENV_PREFIX.equals(prefix)) {
+                    for (String variable : fields.subList(1, fields.size())) {
+                        int pos = variable.indexOf('=');
+                        if (pos > 0) {
+                            env.put(variable.substring(0, pos), variable.substring(pos + 1));
+                        }
+                    }
+                } else if (RecordedCommand.OUT_PREFIX.equals(prefix)) {
+                    out.add(fields.size() > 1 ? fields.get(1) : "");
+                } else if (RecordedCommand.ERR_PREFIX.equals(prefix)) {
+                    err.add(fields.size() > 1 ? fields.get(1) : "");
+                }
+            }
+            if (cmdFields != null) {
+                result.add(createCommand(cmdFields, env, out, err));
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Wrong number in command recording '" + aFile + "'.", e);
+        }
+        return result;
+    }
+
+    private static RecordedCommand createCommand(List<String> cmdFields, Map<String, String> env, List<String> out,
+            List<String> err) {
+        String workingDirectory = cmdFields.get(5);
+        return new RecordedCommand(Long.parseLong(cmdFields.get(1)), Long.parseLong(cmdFields.get(2)),
+                Integer.parseInt(cmdFields.get(3)), workingDirectory.isEmpty() ? null : workingDirectory,
+                cmdFields.get(6), Integer.parseInt(cmdFields.get(4)), cmdFields.subList(7, cmdFields.size()), env,
+                out, err);
+    }
+}
@@ -0,0 +1,247 @@
+//
+// CommandWatchdog.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.codehaus.plexus.util.cli.StreamPumper;
+
+/**
+ * Executes a command line like
+ * {@link org.codehaus.plexus.util.cli.CommandLineUtils#executeCommandLine(Commandline, StreamConsumer, StreamConsumer)}
+ * but reports long running commands periodically and terminates the whole
+ * process tree if the command doesn't finish within the timeout.
+ *
+ * @author Volodymyr Medvid
+ */
+public class CommandWatchdog {
+
+    /**
+     * Listener that is notified periodically while the command is running.
+     */
+    @FunctionalInterface
+    public interface HeartbeatListener {
+
+        /**
+         * Called periodically while the command is running.
+         *
+         * @param elapsedSeconds
+         *            the seconds elapsed since the command was started
+         */
+        void stillRunning(long elapsedSeconds);
+    }
+
+    /**
+     * Exception thrown if the command was terminated because of timeout.
+     */
+    public static class CommandTimeoutException extends CommandLineException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long timeoutSeconds;
+
+        /**
+         * Creates a command timeout exception.
+         *
+         * @param aTimeoutSeconds
+         *            the timeout that was exceeded
+         */
+        public CommandTimeoutException(long aTimeoutSeconds) {
+            super("Command was terminated after timeout of " + aTimeoutSeconds + " seconds.");
+            timeoutSeconds = aTimeoutSeconds;
+        }
+
+        /**
+         * @return the timeout in seconds that was exceeded
+         */
+        public long getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+    }
+
+    private static final long STOP_POLL_MILLIS = 20;
+
+    private CommandWatchdog() {
+    }
+
+    /**
+     * Execute the command line.
+     *
+     * @param cmd
+     *            the command line to be executed
+     * @param out
+     *            the consumer for the standard output
+     * @param err
+     *            the consumer for the error output
+     * @param timeoutSeconds
+     *            the timeout in seconds after that the process tree will be
+     *            terminated or <code>0</code> for no timeout
+     * @param heartbeatSeconds
+     *            the interval in seconds for heartbeat notifications or
+     *            <code>0</code> for no heartbeat
+     * @param heartbeatListener
+     *            the listener to be notified on heartbeat or <code>null</code>
+     * @return the exit code of the command
+     * @throws CommandTimeoutException
+     *             if the command was terminated because of timeout
+     * @throws CommandLineException
+     *             if the command can't be executed
+     */
+    public static int executeCommandLine(Commandline cmd, StreamConsumer out, StreamConsumer err,
+            long timeoutSeconds, long heartbeatSeconds, HeartbeatListener heartbeatListener)
+            throws CommandLineException {
+        return executeCommandLine(cmd, out, err, timeoutSeconds, heartbeatSeconds, heartbeatListener, null);
+    }
+
+    /**
+     * Execute the command line and terminate it as soon as the caller doesn't
+     * need its output anymore.
+     *
+     * @param cmd
+     *            the command line to be executed
+     * @param out
+     *            the consumer for the standard output
+     * @param err
+     *            the consumer for the error output
+     * @param timeoutSeconds
+     *            the timeout in seconds after that the process tree will be
+     *            terminated or <code>0</code> for no timeout
+     * @param heartbeatSeconds
+     *            the interval in seconds for heartbeat notifications or
+     *            <code>0</code> for no heartbeat
+     * @param heartbeatListener
+     *            the listener to be notified on heartbeat or <code>null</code>
+     * @param stopRequested
+     *            condition that is checked while the command is running, the
+     *            process tree is terminated once it is fulfilled, or
+     *            <code>null</code>
+     * @return the exit code of the command or <code>0</code> if the stop
+     *         condition was fulfilled, because the caller got all output it
+     *         needed (the exit code of a terminated process is platform
+     *         dependent)
+     * @throws CommandTimeoutException
+     *             if the command was terminated because of timeout
+     * @throws CommandLineException
+     *             if the command can't be executed
+     */
+    public static int executeCommandLine(Commandline cmd, StreamConsumer out, StreamConsumer err,
+            long timeoutSeconds, long heartbeatSeconds, HeartbeatListener heartbeatListener,
+            BooleanSupplier stopRequested) throws CommandLineException {
+        Process process = cmd.execute();
+        StreamPumper outputPumper = new StreamPumper(process.getInputStream(), out);
+        StreamPumper errorPumper = new StreamPumper(process.getErrorStream(), err);
+        outputPumper.start();
+        errorPumper.start();
+        long startTime = System.currentTimeMillis();
+        long lastHeartbeat = startTime;
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                long waitMillis = Long.MAX_VALUE;
+                if (timeoutSeconds > 0) {
+                    waitMillis = Math.min(waitMillis, startTime + timeoutSeconds * 1000 - now);
+                }
+                if (heartbeatSeconds > 0) {
+                    waitMillis = Math.min(waitMillis, lastHeartbeat + heartbeatSeconds * 1000 - now);
+                }
+                if (stopRequested != null) {
+                    waitMillis = Math.min(waitMillis, STOP_POLL_MILLIS);
+                }
+                if (process.waitFor(Math.max(waitMillis, 1), TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+                if (stopRequested != null && stopRequested.getAsBoolean()) {
+                    destroyProcessTree(process);
+                    break;
+                }
+                now = System.currentTimeMillis();
+                if (timeoutSeconds > 0 && now - startTime >= timeoutSeconds * 1000) {
+                    destroyProcessTree(process);
+                    throw new CommandTimeoutException(timeoutSeconds);
+                }
+                if (heartbeatSeconds > 0 && now - lastHeartbeat >= heartbeatSeconds * 1000) {
+                    lastHeartbeat = now;
+                    if (heartbeatListener != null) {
+                        heartbeatListener.stillRunning((now - startTime) / 1000);
+                    }
+                }
+            }
+            int exitCode = process.exitValue();
+            outputPumper.waitUntilDone();
+            errorPumper.waitUntilDone();
+            if (outputPumper.getException() != null) {
+                throw new CommandLineException("Error inside systemOut parser", outputPumper.getException());
+            }
+            if (errorPumper.getException() != null) {
+                throw new CommandLineException("Error inside systemErr parser", errorPumper.getException());
+            }
+            if (stopRequested != null && stopRequested.getAsBoolean()) {
+                // a command stopped on request is successful, also if it
+                // finished on its own after the caller got the needed output
+                return 0;
+            }
+            return exitCode;
+        } catch (InterruptedException e) {
+            destroyProcessTree(process);
+            Thread.currentThread().interrupt();
+            throw new CommandLineException("Error while executing external command, process killed.", e);
+        } finally {
+            outputPumper.close();
+            errorPumper.close();
+        }
+    }
+
+    /**
+     * Terminate the process and all its descendants. Descendants can be
+     * determined only on Java 9 and newer, on older Java versions only the
+     * process itself is terminated.
+     *
+     * @param process
+     *            the process to be terminated
+     */
+    static void destroyProcessTree(Process process) {
+        List<Object> descendants = new ArrayList<>();
+        Method destroyForcibly = null;
+        try {
+            Class<?> processHandleClass = Class.forName("java.lang.ProcessHandle");
+            Object handle = Process.class.getMethod("toHandle").invoke(process);
+            Stream<?> stream = (Stream<?>) processHandleClass.getMethod("descendants").invoke(handle);
+            descendants.addAll(stream.collect(Collectors.toList()));
+            destroyForcibly = processHandleClass.getMethod("destroyForcibly");
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException
+                | InvocationTargetException e) {
+            // Java 8: only the process itself can be terminated
+        }
+        process.destroyForcibly();
+        if (destroyForcibly != null) {
+            for (Object descendant : descendants) {
+                try {
+                    destroyForcibly.invoke(descendant);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    // process already terminated or not accessible
+                }
+            }
+        }
+        try {
+            process.waitFor(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
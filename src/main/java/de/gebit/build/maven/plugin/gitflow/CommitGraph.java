@@ -0,0 +1,472 @@
+//
+// CommitGraph.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * In-memory commit graph loaded once from the output of
+ * <code>git rev-list --topo-order --parents</code>. Allows to compute branch
+ * points and first-parent distances for many branches without starting a git
+ * process per branch. A graph loaded for a range with <code>--boundary</code>
+ * contains the boundary commits as leaves whose history is unknown.
+ *
+ * @author Volodymyr Medvid
+ */
+public class CommitGraph {
+
+    private final Map<String, Integer> indexes;
+
+    private final String[] commits;
+
+    private final int[][] parents;
+
+    private final int[] generations;
+
+    private final boolean[] boundary;
+
+    private CommitGraph(Map<String, Integer> anIndexes, String[] aCommits, int[][] aParents, boolean[] aBoundary) {
+        indexes = anIndexes;
+        commits = aCommits;
+        parents = aParents;
+        boundary = aBoundary;
+        generations = new int[commits.length];
+        // topological order: children are listed before their parents
+        for (int i = commits.length - 1; i >= 0; i--) {
+            int generation = 0;
+            for (int parent : parents[i]) {
+                generation = Math.max(generation, generations[parent]);
+            }
+            generations[i] = generation + 1;
+        }
+    }
+
+    /**
+     * Parse the output of <code>git rev-list --topo-order --parents</code>.
+     * Boundary commits (prefixed with <code>-</code> if rev-list was executed
+     * with <code>--boundary</code>) are marked as such.
+     *
+     * @param revListOutput
+     *            the output of rev-list, one commit with its parents per line
+     * @return the commit graph
+     */
+    public static CommitGraph parse(String revListOutput) {
+        String[] lines = revListOutput.trim().isEmpty() ? new String[0] : revListOutput.trim().split("\r?\n");
+        Map<String, Integer> indexes = new HashMap<>(lines.length * 2);
+        String[] commits = new String[lines.length];
+        String[][] parentIds = new String[lines.length][];
+        boolean[] boundary = new boolean[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.startsWith("-")) {
+                boundary[i] = true;
+                line = line.substring(1);
+            }
+            String[] ids = line.split(" ");
+            commits[i] = ids[0];
+            indexes.put(ids[0], i);
+            parentIds[i] = Arrays.copyOfRange(ids, 1, ids.length);
+        }
+        int[][] parents = new int[lines.length][];
+        for (int i = 0; i < lines.length; i++) {
+            int[] commitParents = new int[parentIds[i].length];
+            int count = 0;
+            for (String parentId : parentIds[i]) {
+                Integer parent = indexes.get(parentId);
+                // parents of shallow commits are not part of the graph
+                if (parent != null) {
+                    commitParents[count++] = parent;
+                }
+            }
+            parents[i] = (count == commitParents.length) ? commitParents : Arrays.copyOf(commitParents, count);
+        }
+        return new CommitGraph(indexes, commits, parents, boundary);
+    }
+
+    /**
+     * @return the number of commits in the graph
+     */
+    public int size() {
+        return commits.length;
+    }
+
+    /**
+     * Check if the commit is part of the graph.
+     *
+     * @param commit
+     *            the commit id
+     * @return <code>true</code> if the commit is known
+     */
+    public boolean contains(String commit) {
+        return indexes.containsKey(commit);
+    }
+
+    /**
+     * Compute the reachability of all commits from the passed tip commits in
+     * one traversal of the graph.
+     *
+     * @param tips
+     *            the commit ids of the tips (e.g. base branches)
+     * @return the reachability that can be used to compute branch points
+     *         against all tips
+     */
+    public TipReachability computeReachability(List<String> tips) {
+        int words = (tips.size() + 63) / 64;
+        long[][] reachedBy = new long[commits.length][];
+        for (int tip = 0; tip < tips.size(); tip++) {
+            Integer index = indexes.get(tips.get(tip));
+            if (index != null) {
+                if (reachedBy[index] == null) {
+                    reachedBy[index] = new long[words];
+                }
+                reachedBy[index][tip / 64] |= 1L << (tip % 64);
+            }
+        }
+        for (int i = 0; i < commits.length; i++) {
+            long[] reached = reachedBy[i];
+            if (reached == null) {
+                continue;
+            }
+            for (int parent : parents[i]) {
+                if (reachedBy[parent] == null) {
+                    reachedBy[parent] = reached.clone();
+                } else {
+                    for (int w = 0; w < words; w++) {
+                        reachedBy[parent][w] |= reached[w];
+                    }
+                }
+            }
+        }
+        return new TipReachability(tips.size(), words, reachedBy);
+    }
+
+    /**
+     * Count commits on the first-parent chain of the commit that are not
+     * reachable from the ancestor. Same as
+     * <code>git rev-list --first-parent --count ancestor..commit</code>.
+     *
+     * @param commit
+     *            the commit id
+     * @param ancestor
+     *            the ancestor commit id
+     * @return the first-parent distance or <code>-1</code> if one of the commits
+     *         is not part of the graph
+     */
+    public int getFirstParentDistance(String commit, String ancestor) {
+        Integer current = indexes.get(commit);
+        Integer ancestorIndex = indexes.get(ancestor);
+        if (current == null || ancestorIndex == null) {
+            return -1;
+        }
+        Set<Integer> ancestorsOfAncestor = new HashSet<>();
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                Comparator.comparingInt((Integer index) -> generations[index]).reversed());
+        frontier.add(ancestorIndex);
+        int distance = 0;
+        int index = current;
+        while (true) {
+            // all ancestors with a generation not lower than the current
+            // commit are known after the expansion
+            while (!frontier.isEmpty() && generations[frontier.peek()] >= generations[index]) {
+                int next = frontier.poll();
+                if (ancestorsOfAncestor.add(next)) {
+                    for (int parent : parents[next]) {
+                        if (!ancestorsOfAncestor.contains(parent)) {
+                            frontier.add(parent);
+                        }
+                    }
+                }
+            }
+            if (ancestorsOfAncestor.contains(index)) {
+                return distance;
+            }
+            distance++;
+            if (parents[index].length == 0) {
+                return distance;
+            }
+            index = parents[index][0];
+        }
+    }
+
+    /**
+     * Check if the commit is an ancestor of (or equal to) the other commit.
+     * Same as <code>git merge-base --is-ancestor ancestor commit</code>.
+     *
+     * @param ancestor
+     *            the potential ancestor commit id
+     * @param commit
+     *            the commit id
+     * @return <code>true</code> if the ancestor is reachable from the commit
+     */
+    public boolean isAncestor(String ancestor, String commit) {
+        Integer ancestorIndex = indexes.get(ancestor);
+        Integer start = indexes.get(commit);
+        if (ancestorIndex == null || start == null) {
+            return false;
+        }
+        int minGeneration = generations[ancestorIndex];
+        Set<Integer> visited = new HashSet<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int index = queue.poll();
+            if (index == ancestorIndex) {
+                return true;
+            }
+            // commits with lower generation can't reach the ancestor
+            if (generations[index] <= minGeneration || !visited.add(index)) {
+                continue;
+            }
+            for (int parent : parents[index]) {
+                queue.add(parent);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the merge commit is empty: one of the first two parents is an
+     * ancestor of the other parent.
+     *
+     * @param mergeCommit
+     *            the merge commit id
+     * @return <code>true</code> if the merge commit is empty,
+     *         <code>false</code> if it is not empty and <code>null</code> if
+     *         the merge commit is not part of the graph or the parents are
+     *         connected only through the history beyond the boundary
+     */
+    public Boolean isEmptyMerge(String mergeCommit) {
+        return isEmptyMerge(mergeCommit, null);
+    }
+
+    /**
+     * Check if the merge commit is empty: one of the first two parents is an
+     * ancestor of the other parent. For a graph loaded for range
+     * <code>excludedCommit..branch</code> all boundary commits are known to be
+     * ancestors of the excluded commit, which allows to decide more merge
+     * commits without the history beyond the boundary.
+     *
+     * @param mergeCommit
+     *            the merge commit id
+     * @param excludedCommit
+     *            the full id of the commit excluded from the range the graph
+     *            was loaded for or <code>null</code>
+     * @return <code>true</code> if the merge commit is empty,
+     *         <code>false</code> if it is not empty and <code>null</code> if
+     *         the merge commit is not part of the graph or the parents are
+     *         connected only through the history beyond the boundary
+     */
+    public Boolean isEmptyMerge(String mergeCommit, String excludedCommit) {
+        Integer index = indexes.get(mergeCommit);
+        if (index == null || parents[index].length < 2) {
+            return null;
+        }
+        Integer excluded = (excludedCommit != null) ? indexes.get(excludedCommit) : null;
+        Boolean firstIsAncestor = isAncestorWithinBoundary(parents[index][0], parents[index][1], excluded);
+        if (Boolean.TRUE.equals(firstIsAncestor)) {
+            return true;
+        }
+        Boolean secondIsAncestor = isAncestorWithinBoundary(parents[index][1], parents[index][0], excluded);
+        if (Boolean.TRUE.equals(secondIsAncestor)) {
+            return true;
+        }
+        return (firstIsAncestor == null || secondIsAncestor == null) ? null : false;
+    }
+
+    private Boolean isAncestorWithinBoundary(int ancestor, int commit, Integer excluded) {
+        Set<Integer> reachable = getReachable(commit);
+        if (reachable.contains(ancestor)) {
+            return true;
+        }
+        if (!boundary[ancestor]) {
+            // commits inside the range can't be ancestors of the history
+            // beyond the boundary
+            return false;
+        }
+        if (excluded != null && excluded == ancestor) {
+            // all other boundary commits are ancestors of the excluded commit
+            return false;
+        }
+        Set<Integer> ancestorsOfAncestor = null;
+        for (int index : reachable) {
+            if (boundary[index]) {
+                if (ancestorsOfAncestor == null) {
+                    ancestorsOfAncestor = getReachable(ancestor);
+                }
+                // the ancestor can be part of the unknown history of the
+                // boundary commit unless the boundary commit is its ancestor
+                if (!ancestorsOfAncestor.contains(index)) {
+                    return null;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<Integer> getReachable(int start) {
+        Set<Integer> visited = new HashSet<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int index = queue.poll();
+            if (visited.add(index)) {
+                for (int parent : parents[index]) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Find the ancestor with the lowest first-parent distance to the commit.
+     *
+     * @param commit
+     *            the commit id
+     * @param ancestors
+     *            the ancestor commit ids
+     * @return the nearest ancestor or <code>null</code> if no ancestor passed
+     */
+    public String getNearestAncestor(String commit, Collection<String> ancestors) {
+        int minDistance = -1;
+        String nearestAncestor = null;
+        for (String ancestor : ancestors) {
+            int distance = getFirstParentDistance(commit, ancestor);
+            if (distance >= 0 && (minDistance == -1 || distance < minDistance)) {
+                minDistance = distance;
+                nearestAncestor = ancestor;
+            }
+        }
+        return nearestAncestor;
+    }
+
+    /**
+     * Reachability of the commits of a {@link CommitGraph} from a list of tips.
+     */
+    public class TipReachability {
+
+        private final int tipCount;
+
+        private final int words;
+
+        private final long[][] reachedBy;
+
+        private TipReachability(int aTipCount, int aWords, long[][] aReachedBy) {
+            tipCount = aTipCount;
+            words = aWords;
+            reachedBy = aReachedBy;
+        }
+
+        /**
+         * Get the tips the commit is reachable from.
+         *
+         * @param commit
+         *            the commit id
+         * @return the indexes of the tips (in the order of the tips) that
+         *         contain the commit
+         */
+        public List<Integer> getContainingTips(String commit) {
+            List<Integer> result = new ArrayList<>();
+            Integer index = indexes.get(commit);
+            if (index == null || reachedBy[index] == null) {
+                return result;
+            }
+            for (int tip = 0; tip < tipCount; tip++) {
+                if ((reachedBy[index][tip / 64] & (1L << (tip % 64))) != 0) {
+                    result.add(tip);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Compute the branch points (merge bases) of the commit with all tips
+         * in one walk. The walk stops for each tip as soon as a common ancestor
+         * is found.
+         *
+         * @param commit
+         *            the commit id
+         * @return array with the branch point for each tip (same order as the
+         *         tips) or <code>null</code> entries if commit and tip have no
+         *         common ancestor
+         */
+        public String[] getBranchPoints(String commit) {
+            String[] result = new String[tipCount];
+            Integer start = indexes.get(commit);
+            if (start == null || tipCount == 0) {
+                return result;
+            }
+            int[] best = new int[tipCount];
+            Arrays.fill(best, -1);
+            long[] all = new long[words];
+            for (int tip = 0; tip < tipCount; tip++) {
+                all[tip / 64] |= 1L << (tip % 64);
+            }
+            Map<Integer, long[]> visited = new HashMap<>();
+            Map<Integer, long[]> pending = new HashMap<>();
+            Deque<Integer> queue = new ArrayDeque<>();
+            pending.put(start, all);
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int index = queue.poll();
+                long[] mask = pending.remove(index);
+                long[] visitedMask = visited.computeIfAbsent(index, k -> new long[words]);
+                long[] reached = reachedBy[index];
+                long[] rest = new long[words];
+                boolean hasRest = false;
+                for (int w = 0; w < words; w++) {
+                    long newBits = mask[w] & ~visitedMask[w];
+                    visitedMask[w] |= newBits;
+                    long found = (reached != null) ? newBits & reached[w] : 0;
+                    while (found != 0) {
+                        int bit = Long.numberOfTrailingZeros(found);
+                        int tip = w * 64 + bit;
+                        // lower index in topological order means younger commit
+                        if (best[tip] == -1 || index < best[tip]) {
+                            best[tip] = index;
+                        }
+                        found &= found - 1;
+                    }
+                    rest[w] = newBits & ~((reached != null) ? reached[w] : 0);
+                    hasRest |= rest[w] != 0;
+                }
+                if (hasRest) {
+                    for (int parent : parents[index]) {
+                        long[] parentMask = pending.get(parent);
+                        if (parentMask == null) {
+                            pending.put(parent, rest.clone());
+                            queue.add(parent);
+                        } else {
+                            for (int w = 0; w < words; w++) {
+                                parentMask[w] |= rest[w];
+                            }
+                        }
+                    }
+                }
+            }
+            for (int tip = 0; tip < tipCount; tip++) {
+                if (best[tip] != -1) {
+                    result[tip] = commits[best[tip]];
+                }
+            }
+            return result;
+        }
+    }
+}
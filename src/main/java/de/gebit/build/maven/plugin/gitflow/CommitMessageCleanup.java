@@ -0,0 +1,65 @@
+//
+// CommitMessageCleanup.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+/**
+ * Cleanup of commit messages for commits created with
+ * <code>git commit-tree</code>. In contrast to <code>git commit</code> and
+ * <code>git merge</code>, <code>git commit-tree</code> stores the message as
+ * passed. The cleanup produces the same message as <code>git commit</code>
+ * and <code>git merge</code> with a message passed by <code>-m</code> or
+ * <code>-F</code> and the default cleanup mode <code>whitespace</code> (same
+ * as <code>git stripspace</code>).
+ *
+ * @author Volodymyr Medvid
+ */
+public final class CommitMessageCleanup {
+
+    private CommitMessageCleanup() {
+        // utility class
+    }
+
+    /**
+     * Removes trailing whitespaces from all lines, collapses consecutive empty
+     * lines, removes leading and trailing empty lines and terminates the last
+     * line with a newline.
+     *
+     * @param message
+     *            the commit message
+     * @return the cleaned up commit message or an empty string if the message
+     *         contains only whitespaces
+     */
+    public static String whitespace(String message) {
+        StringBuilder result = new StringBuilder();
+        int emptyLines = 0;
+        for (String line : message.split("\n", -1)) {
+            int end = line.length();
+            while (end > 0 && isSpace(line.charAt(end - 1))) {
+                end--;
+            }
+            if (end == 0) {
+                emptyLines++;
+                continue;
+            }
+            if (emptyLines > 0 && result.length() > 0) {
+                result.append('\n');
+            }
+            emptyLines = 0;
+            result.append(line, 0, end).append('\n');
+        }
+        return result.toString();
+    }
+
+    /**
+     * Whitespace characters as defined by git (no unicode whitespaces).
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+}
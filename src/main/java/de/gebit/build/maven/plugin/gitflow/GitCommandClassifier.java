@@ -0,0 +1,127 @@
+//
+// GitCommandClassifier.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Classification of git commands by their arguments. Used to decide which
+ * cached state has to be discarded after a command and which commands have to
+ * wait for or be protected from concurrent operations (background fetch,
+ * isolated worktree).
+ *
+ * @author Volodymyr Medvid
+ */
+public final class GitCommandClassifier {
+
+    private static final Set<String> READ_ONLY_GIT_COMMANDS = new HashSet<>(Arrays.asList("cat-file",
+            "commit-graph", "describe", "diff", "for-each-ref", "log", "ls-files", "ls-remote", "merge-base",
+            "multi-pack-index", "rev-list", "rev-parse", "show", "status", "version"));
+
+    private static final Set<String> READ_ONLY_CONFIG_OPTIONS = new HashSet<>(Arrays.asList("--get", "--get-all",
+            "--get-regexp", "--get-urlmatch", "--get-color", "--get-colorbool", "--list", "-l"));
+
+    private static final Set<String> CONFIG_OPTIONS_WITH_VALUE = new HashSet<>(
+            Arrays.asList("--file", "-f", "--blob", "--type", "--default", "--comment"));
+
+    private GitCommandClassifier() {
+    }
+
+    /**
+     * Check if the passed git command doesn't change references, the index,
+     * the working tree or the configuration.
+     *
+     * @param args
+     *            the arguments of the git command
+     * @return <code>true</code> if the command is read-only
+     */
+    public static boolean isReadOnly(String... args) {
+        int commandIndex = 0;
+        // skip configuration options like -c core.commitGraph=false
+        while (commandIndex + 1 < args.length && "-c".equals(args[commandIndex])) {
+            commandIndex += 2;
+        }
+        if (commandIndex >= args.length) {
+            return true;
+        }
+        String command = args[commandIndex];
+        if ("remote".equals(command)) {
+            return commandIndex + 1 < args.length && "get-url".equals(args[commandIndex + 1]);
+        }
+        if ("config".equals(command)) {
+            return isReadOnlyConfigCommand(args, commandIndex + 1);
+        }
+        return READ_ONLY_GIT_COMMANDS.contains(command);
+    }
+
+    /**
+     * Check if the passed <code>git config</code> arguments only read the
+     * configuration. Reads are the <code>--get*</code> and <code>--list</code>
+     * actions, the <code>get</code> and <code>list</code> subcommands and the
+     * implicit get with a single name (e.g. <code>git config --bool name</code>).
+     * Everything else (setting a value, <code>--unset</code>,
+     * <code>--add</code>, <code>--rename-section</code> etc.) changes the
+     * configuration, e.g. the upstream of a branch or a branch local config.
+     *
+     * @param args
+     *            the arguments of the git command
+     * @param firstArgIndex
+     *            the index of the first argument after <code>config</code>
+     * @return <code>true</code> if the command can't change the configuration
+     */
+    private static boolean isReadOnlyConfigCommand(String[] args, int firstArgIndex) {
+        if (firstArgIndex < args.length
+                && ("get".equals(args[firstArgIndex]) || "list".equals(args[firstArgIndex]))) {
+            return true;
+        }
+        int names = 0;
+        for (int i = firstArgIndex; i < args.length; i++) {
+            String arg = args[i];
+            if (READ_ONLY_CONFIG_OPTIONS.contains(arg)) {
+                return true;
+            } else if (CONFIG_OPTIONS_WITH_VALUE.contains(arg)) {
+                i++;
+            } else if (!arg.startsWith("-")) {
+                names++;
+            } else if (!arg.startsWith("--type=") && !arg.startsWith("--file=") && !arg.startsWith("--blob=")
+                    && !arg.startsWith("--default=") && !isConfigScopeOrTypeOption(arg)) {
+                // --unset, --add, --replace-all, --rename-section, --edit etc.
+                return false;
+            }
+        }
+        return names == 1;
+    }
+
+    private static boolean isConfigScopeOrTypeOption(String arg) {
+        switch (arg) {
+        case "--local":
+        case "--global":
+        case "--system":
+        case "--worktree":
+        case "--bool":
+        case "--int":
+        case "--bool-or-int":
+        case "--bool-or-str":
+        case "--path":
+        case "--expiry-date":
+        case "--null":
+        case "-z":
+        case "--includes":
+        case "--no-includes":
+        case "--show-origin":
+        case "--show-scope":
+        case "--name-only":
+            return true;
+        default:
+            return false;
+        }
+    }
+}
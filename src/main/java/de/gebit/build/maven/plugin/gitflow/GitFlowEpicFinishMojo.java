@@ -320,21 +320,22 @@ public class GitFlowEpicFinishMojo extends AbstractGitFlowEpicMojo {
         gitRemoveBranchLocalConfig(baseBranch, "breakpoint");
         gitRemoveBranchLocalConfig(baseBranch, "breakpointEpicBranch");
 
-        // first push modified branches
+        // push modified branches and remove remote epic branch at once
         if (pushRemote) {
+            PushPlan pushPlan = new PushPlan(false);
             getMavenLog().info("Pushing base branch '" + baseBranch + "' to remote repository");
-            gitPush(baseBranch, false, false);
+            pushPlan.push(baseBranch);
+            if (!keepEpicBranch) {
+                getMavenLog().info("Removing remote epic branch '" + epicBranchLocalName + "'");
+                pushPlan.delete(epicBranchLocalName);
+            }
+            gitPush(pushPlan);
         }
 
         // then delete if wanted
         if (!keepEpicBranch) {
             getMavenLog().info("Removing local epic branch '" + epicBranchLocalName + "'");
             gitBranchDeleteForce(epicBranchLocalName);
-
-            if (pushRemote) {
-                getMavenLog().info("Removing remote epic branch '" + epicBranchLocalName + "'");
-                gitBranchDeleteRemote(epicBranchLocalName);
-            }
             String epicName = epicBranchLocalName.substring(gitFlowConfig.getEpicBranchPrefix().length());
             gitRemoveAllBranchCentralConfigsForBranch(epicBranchLocalName, "epic '" + epicName + "' finished");
         }
@@ -154,6 +154,8 @@ public class GitFlowEpicUpdateAbortMojo extends AbstractGitFlowEpicMojo {
         gitRemoveBranchLocalConfig(epicBranch, "oldBaseVersion");
         gitRemoveBranchLocalConfig(epicBranch, "oldStartCommitMessage");
         gitRemoveBranchLocalConfig(epicBranch, "oldVersionChangeCommit");
+        gitRemoveBranchLocalConfig(epicBranch, "stackedBranchTips");
+        gitRemoveBranchLocalConfig(epicBranch, "stackedBranchTipsWithVersionChange");
     }
 
 }
@@ -8,9 +8,13 @@
 //
 package de.gebit.build.maven.plugin.gitflow;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -96,6 +100,26 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
     @Parameter(property = "flow.installProjectGoalsOnEpicUpdate")
     private String installProjectGoalsOnEpicUpdate;
 
+    /**
+     * Whether the epic branch should be rebased even if local feature branches
+     * are based on it. The feature branches are rebased on top of the updated
+     * epic branch afterwards with <code>git rebase --update-refs</code>, so
+     * that the commits of feature branches stacked on each other are replayed
+     * only once. Only possible if all branches based on the epic branch exist
+     * locally and don't share commits that are not on the epic branch.
+     * Requires git 2.38 or newer, with older git versions the epic branch is
+     * handled as if the parameter was disabled. The rebased feature branches
+     * are not pushed.
+     * Feature branches that can't be rebased because of conflicts or because
+     * their version change commit has to be recreated for a changed epic
+     * version stay untouched and the goal fails after the epic branch was
+     * updated, listing the branches to be rebased manually.
+     *
+     * @since 2.3.2
+     */
+    @Parameter(property = "flow.rebaseStackedBranches", defaultValue = "false")
+    private boolean rebaseStackedBranches = false;
+
     @Override
     protected String getCurrentGoal() {
         return GOAL;
@@ -254,14 +278,19 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
                     List<String> mergeCommits = gitGetMergeCommits(epicBranchLocalName, branchPoint);
                     boolean hasNonEmptyMergeCommits = false;
                     if (!mergeCommits.isEmpty()) {
-                        hasNonEmptyMergeCommits = gitHasNonEmptyMergeCommits(mergeCommits);
+                        hasNonEmptyMergeCommits = gitHasNonEmptyMergeCommits(epicBranchLocalName, branchPoint,
+                                mergeCommits);
                     }
                     String rebaseNotPossibleReason = null;
+                    Map<String, Boolean> stackedBranchTips = null;
                     if (hasNonEmptyMergeCommits) {
                         rebaseNotPossibleReason = "epic branch contains merge commits";
                     } else {
                         List<String> subBranches = getSubBranches(epicBranchLocalName, branchPoint);
-                        if (!subBranches.isEmpty()) {
+                        if (!subBranches.isEmpty() && rebaseStackedBranches && mergeCommits.isEmpty()) {
+                            stackedBranchTips = getStackedBranchTips(subBranches, branchPoint);
+                        }
+                        if (!subBranches.isEmpty() && stackedBranchTips == null) {
                             StringBuilder msgBuilder = new StringBuilder("found branches based on epic branch:");
                             final int MAX = 4;
                             int cnt = 0;
@@ -343,6 +372,20 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
                     if (confirmedUpdateWithMerge) {
                         updateEpicByMerge(epicBranchLocalName, baseBranch, baseVersion, oldBaseVersion);
                     } else {
+                        if (stackedBranchTips != null) {
+                            List<String> tipsWithVersionChange = new ArrayList<>();
+                            for (Map.Entry<String, Boolean> tip : stackedBranchTips.entrySet()) {
+                                if (tip.getValue()) {
+                                    tipsWithVersionChange.add(tip.getKey());
+                                }
+                            }
+                            gitSetBranchLocalConfig(epicBranchLocalName, "stackedBranchTips",
+                                    StringUtils.join(stackedBranchTips.keySet().iterator(), ","));
+                            if (!tipsWithVersionChange.isEmpty()) {
+                                gitSetBranchLocalConfig(epicBranchLocalName, "stackedBranchTipsWithVersionChange",
+                                        StringUtils.join(tipsWithVersionChange.iterator(), ","));
+                            }
+                        }
                         updateEpicByRebase(epicBranchLocalName, baseBranch, branchPoint, !mergeCommits.isEmpty());
                     }
                 } else {
@@ -397,6 +440,7 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
             }
         }
         gitRemoveBranchLocalConfig(epicBranchLocalName, "breakpoint");
+        GitFlowFailureInfo stackedBranchesFailure = rebaseStackedBranches(epicBranchLocalName);
         if (pushRemote) {
             if (!confirmedUpdateWithMerge && deleteRemoteBranchOnRebase) {
                 getMavenLog().info("Deleting remote epic branch to not run into non-fast-forward error");
@@ -406,6 +450,11 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
             gitPush(epicBranchLocalName, false, true);
         }
         finalizeEpicUpdateProcess(epicBranchLocalName);
+        if (stackedBranchesFailure != null) {
+            getMavenLog().info("Epic update process finished but branches based on epic branch have to be rebased "
+                    + "manually");
+            throw new GitFlowFailureException(stackedBranchesFailure);
+        }
         getMavenLog().info("Epic update process finished");
     }
 
@@ -440,6 +489,167 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
         return subBranches;
     }
 
+    /**
+     * Get the sub-branches that have to be rebased with
+     * <code>--update-refs</code> in order to rebase all sub-branches of the
+     * current epic branch. Sub-branches contained in other sub-branches are
+     * moved by the rebase of the containing branch. The commit graph of all
+     * sub-branches is loaded once, so that no git process is started per pair
+     * of branches.
+     *
+     * @param subBranches
+     *            the branches based on the epic branch
+     * @param branchPoint
+     *            the branch point of the epic branch on its base branch
+     * @return the topmost sub-branches mapped to <code>true</code> if the
+     *         branch or a branch stacked below it contains a version change
+     *         commit or <code>null</code> if the sub-branches can't be rebased
+     *         together with the epic branch
+     */
+    private Map<String, Boolean> getStackedBranchTips(List<String> subBranches, String branchPoint)
+            throws MojoFailureException, CommandLineException {
+        if (!isGitVersionAtLeast(GitVersion.REBASE_UPDATE_REFS)) {
+            getLog().info("Rebase of branches based on epic branch requires git " + GitVersion.REBASE_UPDATE_REFS
+                    + " or newer.");
+            return null;
+        }
+        Map<String, String> branchCommits = gitBranchCommits();
+        Map<String, String> subBranchCommits = new LinkedHashMap<>();
+        for (String subBranch : subBranches) {
+            String commit = branchCommits.get("refs/heads/" + subBranch);
+            if (commit == null) {
+                getLog().info("Branch '" + subBranch + "' based on epic branch doesn't exist locally and can't be "
+                        + "rebased with the epic branch.");
+                return null;
+            }
+            subBranchCommits.put(subBranch, commit);
+        }
+        String epicHEAD = getCurrentCommit();
+        List<String> revisions = new ArrayList<>(subBranchCommits.values());
+        revisions.add(epicHEAD);
+        revisions.add("^" + branchPoint);
+        CommitGraph graph = gitLoadCommitGraphWithBoundary(revisions);
+        List<String> tips = new ArrayList<>();
+        for (String subBranch : subBranches) {
+            String commit = subBranchCommits.get(subBranch);
+            boolean contained = false;
+            for (String otherBranch : subBranches) {
+                String otherCommit = subBranchCommits.get(otherBranch);
+                if (!subBranch.equals(otherBranch) && graph.isAncestor(commit, otherCommit)
+                        && (!graph.isAncestor(otherCommit, commit) || tips.contains(otherBranch))) {
+                    contained = true;
+                    break;
+                }
+            }
+            if (!contained) {
+                tips.add(subBranch);
+            }
+        }
+        List<String> tipCommits = new ArrayList<>();
+        for (String tip : tips) {
+            tipCommits.add(subBranchCommits.get(tip));
+        }
+        CommitGraph.TipReachability reachability = graph.computeReachability(tipCommits);
+        for (int i = 0; i < tips.size(); i++) {
+            String[] tipBranchPoints = reachability.getBranchPoints(tipCommits.get(i));
+            for (int j = i + 1; j < tips.size(); j++) {
+                if (tipBranchPoints[j] != null && !graph.isAncestor(tipBranchPoints[j], epicHEAD)) {
+                    getLog().info("Branches '" + tips.get(i) + "' and '" + tips.get(j) + "' based on epic branch "
+                            + "share commits and can't be rebased with the epic branch.");
+                    return null;
+                }
+            }
+        }
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String tip : tips) {
+            result.put(tip, Boolean.FALSE);
+        }
+        if (versionlessMode.needsVersionChangeCommit()) {
+            for (String subBranch : subBranches) {
+                String versionChangeCommit = gitGetBranchCentralConfig(subBranch,
+                        BranchConfigKeys.VERSION_CHANGE_COMMIT);
+                if (versionChangeCommit == null || !graph.contains(versionChangeCommit)
+                        || graph.isAncestor(versionChangeCommit, epicHEAD)) {
+                    continue;
+                }
+                for (int i = 0; i < tips.size(); i++) {
+                    if (graph.isAncestor(versionChangeCommit, tipCommits.get(i))) {
+                        result.put(tips.get(i), Boolean.TRUE);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebase the sub-branches stored in the local config on top of the updated
+     * epic branch. A sub-branch that can't be rebased stays untouched. A
+     * sub-branch with a version change commit is not rebased if the version of
+     * the epic branch changed, because the version change commit would
+     * conflict in all poms and the feature version has to be recreated by
+     * <code>flow:feature-rebase</code>.
+     *
+     * @param epicBranch
+     *            the updated epic branch
+     * @return the failure info describing the sub-branches that have to be
+     *         rebased manually or <code>null</code> if all sub-branches were
+     *         rebased
+     */
+    private GitFlowFailureInfo rebaseStackedBranches(String epicBranch)
+            throws MojoFailureException, CommandLineException {
+        String stackedBranchTips = gitGetBranchLocalConfig(epicBranch, "stackedBranchTips");
+        String oldEpicHEAD = gitGetBranchLocalConfig(epicBranch, "oldEpicHEAD");
+        if (StringUtils.isEmpty(stackedBranchTips) || oldEpicHEAD == null) {
+            return null;
+        }
+        String versionChangeTips = gitGetBranchLocalConfig(epicBranch, "stackedBranchTipsWithVersionChange");
+        List<String> tipsWithVersionChange = StringUtils.isEmpty(versionChangeTips) ? Collections.emptyList()
+                : Arrays.asList(versionChangeTips.split(","));
+        String oldEpicVersion = gitGetBranchLocalConfig(epicBranch, "oldEpicVersion");
+        boolean epicVersionChanged = oldEpicVersion != null && !oldEpicVersion.equals(getCurrentProjectVersion());
+        List<String> conflictingBranches = new LinkedList<>();
+        List<String> versionChangeBranches = new LinkedList<>();
+        String[] tips = stackedBranchTips.split(",");
+        for (String tip : tips) {
+            if (epicVersionChanged && tipsWithVersionChange.contains(tip)) {
+                getMavenLog().info("Branch '" + tip + "' contains a version change commit and the version of epic "
+                        + "branch '" + epicBranch + "' changed. Skipping rebase of the branch.");
+                versionChangeBranches.add(tip);
+                continue;
+            }
+            getMavenLog().info("Rebasing branch '" + tip + "' and branches stacked below it on top of updated epic "
+                    + "branch '" + epicBranch + "'...");
+            if (!gitRebaseOntoWithUpdateRefs(epicBranch, oldEpicHEAD, tip)) {
+                conflictingBranches.add(tip);
+            }
+        }
+        gitCheckout(epicBranch);
+        gitRemoveBranchLocalConfig(epicBranch, "stackedBranchTips");
+        gitRemoveBranchLocalConfig(epicBranch, "stackedBranchTipsWithVersionChange");
+        if (conflictingBranches.size() + versionChangeBranches.size() < tips.length) {
+            getMavenLog().info("Branches based on epic branch were rebased locally only. Push them with force if "
+                    + "needed.");
+        }
+        if (conflictingBranches.isEmpty() && versionChangeBranches.isEmpty()) {
+            return null;
+        }
+        StringBuilder problem = new StringBuilder("Epic branch '" + epicBranch + "' was updated but following "
+                + "branches based on it couldn't be rebased automatically:");
+        for (String branch : conflictingBranches) {
+            problem.append("\n- ").append(branch).append(" (rebase failed)");
+        }
+        for (String branch : versionChangeBranches) {
+            problem.append("\n- ").append(branch).append(" (version change commit)");
+        }
+        return new GitFlowFailureInfo(problem.toString(),
+                "Rebase the listed branches manually. Branches with a version change commit have to be rebased "
+                        + "with 'mvn flow:feature-rebase' in order to update the feature version.",
+                "'git rebase --update-refs --onto " + epicBranch + " " + oldEpicHEAD + " <branch>' to rebase a "
+                        + "branch and the branches stacked below it",
+                "'mvn flow:feature-rebase' on a branch with version change commit");
+    }
+
     private void updateEpicByMerge(String epicBranch, String baseBranch, String baseVersion, String oldBaseVersion)
             throws CommandLineException, MojoFailureException {
         if (versionlessMode.needsVersionChangeCommit() && !tychoBuild && !baseVersion.equals(oldBaseVersion)) {
@@ -629,6 +839,8 @@ public class GitFlowEpicUpdateMojo extends AbstractGitFlowEpicMojo {
         gitRemoveBranchLocalConfig(epicBranch, "oldBaseVersion");
         gitRemoveBranchLocalConfig(epicBranch, "oldStartCommitMessage");
         gitRemoveBranchLocalConfig(epicBranch, "oldVersionChangeCommit");
+        gitRemoveBranchLocalConfig(epicBranch, "stackedBranchTips");
+        gitRemoveBranchLocalConfig(epicBranch, "stackedBranchTipsWithVersionChange");
     }
     
     @Override
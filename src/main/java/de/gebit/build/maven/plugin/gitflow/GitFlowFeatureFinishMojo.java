@@ -192,12 +192,18 @@ public class GitFlowFeatureFinishMojo extends AbstractGitFlowFeatureMojo {
         return GOAL;
     }
 
+    @Override
+    protected boolean isIsolatedWorktreeSupported() {
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void executeGoal() throws CommandLineException, MojoExecutionException, MojoFailureException {
         getMavenLog().info("Starting feature finish process");
         checkCentralBranchConfig();
-        StepsUtil.processSteps(allProcessSteps, this::getBreakpoint, this::initParameters);
+        StepsUtil.processSteps(allProcessSteps, this::getBreakpoint, this::initParameters,
+                this::stepExecuted);
         getMavenLog().info("Feature finish process finished");
     }
 
@@ -633,9 +639,13 @@ public class GitFlowFeatureFinishMojo extends AbstractGitFlowFeatureMojo {
                 String featureVersion = getCurrentProjectVersion();
                 getLog().info("Project version on feature branch: " + featureVersion);
 
-                gitCheckout(baseBranch);
-
-                String baseVersion = getCurrentProjectVersion();
+                String baseVersion;
+                if (skipRedundantCheckouts) {
+                    baseVersion = getProjectVersionOnBranch(baseBranch);
+                } else {
+                    gitCheckout(baseBranch);
+                    baseVersion = getCurrentProjectVersion();
+                }
                 getLog().info("Project version on base branch: " + baseVersion);
 
                 boolean rebased = rebaseToRemoveVersionChangeCommit(featureBranch, baseBranch);
@@ -675,20 +685,28 @@ public class GitFlowFeatureFinishMojo extends AbstractGitFlowFeatureMojo {
         if (stepParameters.breakpoint != FeatureFinishBreakpoint.FINAL_MERGE) {
             String baseBranch = stepParameters.baseBranch;
 
-            // git checkout develop
-            gitCheckout(baseBranch);
-
             int featureCommits = gitGetDistanceToAncestor(featureBranch, baseBranch);
             getLog().info("Feature branch has " + featureCommits + " commits that will be merged int base branch.");
             if (featureCommits == 1 && !allowFF) {
                 getMavenLog().info("Using fast forward merge for single commit feature branch.");
             }
             boolean fastForward = allowFF || featureCommits == 1;
+            boolean merged = gitMergeInMemory(baseBranch, featureBranch, !fastForward);
+            if (merged) {
+                getMavenLog().info("Feature branch '" + featureBranch + "' merged into base branch '" + baseBranch
+                        + "' without working tree.");
+            }
+
+            // git checkout develop
+            gitCheckout(baseBranch);
+
             // git merge --no-ff feature/...
             try {
-                getMavenLog().info("Merging (" + (fastForward ? "--ff" : "--no-ff")
-                        + ") feature branch '" + featureBranch + "' into base branch '" + baseBranch + "'...");
-                gitMerge(featureBranch, !fastForward);
+                if (!merged) {
+                    getMavenLog().info("Merging (" + (fastForward ? "--ff" : "--no-ff") + ") feature branch '"
+                            + featureBranch + "' into base branch '" + baseBranch + "'...");
+                    gitMerge(featureBranch, !fastForward);
+                }
             } catch (MojoFailureException ex) {
                 getMavenLog().info("Feature finish process paused to resolve merge conflicts");
                 setBreakpoint(FeatureFinishBreakpoint.FINAL_MERGE, featureBranch);
@@ -742,20 +760,21 @@ public class GitFlowFeatureFinishMojo extends AbstractGitFlowFeatureMojo {
         String featureBranch = stepParameters.featureBranch;
 
         removeBreakpoints(featureBranch, baseBranch);
-        // first push modified branches
+        // push modified branches and remove remote feature branch at once
         if (pushRemote) {
+            PushPlan pushPlan = new PushPlan(false);
             getMavenLog().info("Pushing base branch '" + baseBranch + "' to remote repository");
-            gitPush(baseBranch, false, false);
+            pushPlan.push(baseBranch);
+            if (!keepFeatureBranch) {
+                getMavenLog().info("Removing remote feature branch '" + featureBranch + "'");
+                pushPlan.delete(featureBranch);
+            }
+            gitPush(pushPlan);
         }
         // then delete if wanted
         if (!keepFeatureBranch) {
             getMavenLog().info("Removing local feature branch '" + featureBranch + "'");
             gitBranchDeleteForce(featureBranch);
-
-            if (pushRemote) {
-                getMavenLog().info("Removing remote feature branch '" + featureBranch + "'");
-                gitBranchDeleteRemote(featureBranch);
-            }
             String featureName = featureBranch.substring(gitFlowConfig.getFeatureBranchPrefix().length());
             gitRemoveAllBranchCentralConfigsForBranch(featureBranch, "feature '" + featureName + "' finished");
         }
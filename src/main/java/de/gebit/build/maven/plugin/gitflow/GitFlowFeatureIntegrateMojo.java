@@ -122,11 +122,17 @@ public class GitFlowFeatureIntegrateMojo extends AbstractGitFlowFeatureMojo {
         return GOAL;
     }
 
+    @Override
+    protected boolean isIsolatedWorktreeSupported() {
+        return true;
+    }
+
     @Override
     protected void executeGoal() throws CommandLineException, MojoExecutionException, MojoFailureException {
         getMavenLog().info("Starting feature integration process");
         checkCentralBranchConfig();
-        StepsUtil.processSteps(allProcessSteps, this::getBreakpoint, this::initParameters);
+        StepsUtil.processSteps(allProcessSteps, this::getBreakpoint, this::initParameters,
+                this::stepExecuted);
         getMavenLog().info("Feature integration process finished");
     }
 
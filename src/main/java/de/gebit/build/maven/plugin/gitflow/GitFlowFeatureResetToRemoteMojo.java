@@ -115,7 +115,7 @@ public class GitFlowFeatureResetToRemoteMojo extends AbstractGitFlowFeatureMojo
             }
         }
         String featureBranchRemoteName = gitLocalToRemoteRef(featureBranchLocalName);
-        gitFetchOnce();
+        gitFetchBranches(false, featureBranchLocalName);
         if (gitIsSameCommit(featureBranchRemoteName, featureBranchLocalName)) {
             getMavenLog().info(
                     "No changes on remote feature branch '" + featureBranchRemoteName + "' found. Nothing to reset.");
@@ -101,6 +101,12 @@ public class GitFlowHotfixFinishMojo extends AbstractGitFlowMojo {
         return GOAL;
     }
 
+    @Override
+    protected boolean isFetchTagsRequired() {
+        // version tags are needed to check and create release tags
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void executeGoal() throws CommandLineException, MojoExecutionException, MojoFailureException {
@@ -157,11 +163,9 @@ public class GitFlowHotfixFinishMojo extends AbstractGitFlowMojo {
         }
 
         // git checkout master
-        gitCheckout(gitFlowConfig.isNoProduction() ? gitFlowConfig.getDevelopmentBranch()
-                : gitFlowConfig.getProductionBranch());
-
         // git merge --no-ff hotfix/...
-        gitMergeNoff(hotfixBranchName);
+        gitCheckoutAndMergeHotfix(gitFlowConfig.isNoProduction() ? gitFlowConfig.getDevelopmentBranch()
+                : gitFlowConfig.getProductionBranch(), hotfixBranchName);
 
         if (!skipTag) {
             String tagVersion = getCurrentProjectVersion();
@@ -181,16 +185,13 @@ public class GitFlowHotfixFinishMojo extends AbstractGitFlowMojo {
         // if release branch exists merge hotfix changes into it
         if (StringUtils.isNotBlank(releaseBranch)) {
             // git checkout release
-            gitCheckout(releaseBranch);
             // git merge --no-ff hotfix/...
-            gitMergeNoff(hotfixBranchName);
+            gitCheckoutAndMergeHotfix(releaseBranch, hotfixBranchName);
         } else {
             if (!gitFlowConfig.isNoProduction()) {
                 // git checkout develop
-                gitCheckout(gitFlowConfig.getDevelopmentBranch());
-
                 // git merge --no-ff hotfix/...
-                gitMergeNoff(hotfixBranchName);
+                gitCheckoutAndMergeHotfix(gitFlowConfig.getDevelopmentBranch(), hotfixBranchName);
             }
 
             // get current project version from pom
@@ -227,11 +228,13 @@ public class GitFlowHotfixFinishMojo extends AbstractGitFlowMojo {
 
         // first push modified branches
         if (pushRemote) {
+            PushPlan pushPlan = new PushPlan(!skipTag);
             // if no release branch
             if (StringUtils.isBlank(releaseBranch) && !gitFlowConfig.isNoProduction()) {
-                gitPush(gitFlowConfig.getProductionBranch(), !skipTag, false);
+                pushPlan.push(gitFlowConfig.getProductionBranch());
             }
-            gitPush(gitFlowConfig.getDevelopmentBranch(), !skipTag, false);
+            pushPlan.push(gitFlowConfig.getDevelopmentBranch());
+            gitPush(pushPlan);
         }
 
         // then delete if wanted
@@ -240,6 +243,15 @@ public class GitFlowHotfixFinishMojo extends AbstractGitFlowMojo {
             gitBranchDelete(hotfixBranchName);
         }
     }
+
+    private void gitCheckoutAndMergeHotfix(String targetBranch, String hotfixBranchName)
+            throws MojoFailureException, CommandLineException {
+        boolean merged = gitMergeInMemory(targetBranch, hotfixBranchName, true);
+        gitCheckout(targetBranch);
+        if (!merged) {
+            gitMergeNoff(hotfixBranchName);
+        }
+    }
     
     @Override
     protected Boolean getIndividualInstallProjectConfig() {
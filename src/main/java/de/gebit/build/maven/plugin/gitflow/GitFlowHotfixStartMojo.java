@@ -61,6 +61,12 @@ public class GitFlowHotfixStartMojo extends AbstractGitFlowMojo {
         return GOAL;
     }
 
+    @Override
+    protected boolean isFetchTagsRequired() {
+        // version tags are needed to check and create release tags
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void executeGoal() throws CommandLineException, MojoExecutionException, MojoFailureException {
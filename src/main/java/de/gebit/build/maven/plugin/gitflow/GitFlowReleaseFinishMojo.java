@@ -223,6 +223,11 @@ public class GitFlowReleaseFinishMojo extends AbstractGitFlowReleaseMojo {
         return detachReleaseCommit;
     }
 
+    @Override
+    protected boolean isIsolatedWorktreeSupported() {
+        return true;
+    }
+
     @Override
     protected boolean isSameBranchName() {
         throw new IllegalStateException("release-finish does not create the release branch.");
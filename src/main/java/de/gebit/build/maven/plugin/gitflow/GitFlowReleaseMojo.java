@@ -261,6 +261,11 @@ public class GitFlowReleaseMojo extends AbstractGitFlowReleaseMojo {
         return detachReleaseCommit;
     }
 
+    @Override
+    protected boolean isIsolatedWorktreeSupported() {
+        return true;
+    }
+
     @Override
     protected boolean isSameBranchName() {
         return sameBranchName;
@@ -12,11 +12,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.Set;
+import java.util.TreeMap;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -41,6 +42,14 @@ public class GitFlowUpgradeMojo extends AbstractGitFlowMojo {
     @Parameter(property = "flow.featureNamePattern")
     protected String featureNamePattern;
 
+    private CommitGraph commitGraph;
+
+    private CommitGraph.TipReachability baseBranchReachability;
+
+    private Map<String, String> branchCommits;
+
+    private final List<BaseBranchCandidate> baseBranchCandidates = new ArrayList<>();
+
     @Override
     protected String getCurrentGoal() {
         return GOAL;
@@ -103,7 +112,7 @@ public class GitFlowUpgradeMojo extends AbstractGitFlowMojo {
             Properties properties) throws MojoFailureException, CommandLineException {
         getLog().info("Configuring feature branch '" + featureBranch + "'...");
         String featureBranchRef = featureBranch;
-        if (!gitBranchExists(featureBranch)) {
+        if (!branchExistsLocally(featureBranch)) {
             featureBranchRef = gitFlowConfig.getOrigin() + "/" + featureBranch;
         }
         Properties tmpChanges = new Properties();
@@ -174,10 +183,10 @@ public class GitFlowUpgradeMojo extends AbstractGitFlowMojo {
         }
         if (!properties.containsKey(BranchConfigKeys.VERSION_CHANGE_COMMIT)) {
             String baseBranchRef = baseBranch;
-            if (!gitBranchExists(baseBranch)) {
+            if (!branchExistsLocally(baseBranch)) {
                 baseBranchRef = gitFlowConfig.getOrigin() + "/" + baseBranch;
             }
-            String branchPoint = gitBranchPoint(featureBranchRef, baseBranchRef);
+            String branchPoint = getBranchPoint(featureBranchRef, baseBranchRef);
             String firstCommitOnBranch = gitFirstCommitOnBranch(featureBranchRef, branchPoint);
             String firstCommitMessage = gitCommitMessage(firstCommitOnBranch);
             if (firstCommitMessage.contains(featureStartMessage)) {
@@ -203,7 +212,7 @@ public class GitFlowUpgradeMojo extends AbstractGitFlowMojo {
             Properties properties) throws MojoFailureException, CommandLineException {
         getLog().info("Configuring epic branch '" + epicBranch + "'...");
         String epicBranchRef = epicBranch;
-        if (!gitBranchExists(epicBranch)) {
+        if (!branchExistsLocally(epicBranch)) {
             epicBranchRef = gitFlowConfig.getOrigin() + "/" + epicBranch;
         }
         Properties tmpChanges = new Properties();
@@ -272,10 +281,10 @@ public class GitFlowUpgradeMojo extends AbstractGitFlowMojo {
         }
         if (!properties.containsKey(BranchConfigKeys.VERSION_CHANGE_COMMIT)) {
             String baseBranchRef = baseBranch;
-            if (!gitBranchExists(baseBranch)) {
+            if (!branchExistsLocally(baseBranch)) {
                 baseBranchRef = gitFlowConfig.getOrigin() + "/" + baseBranch;
             }
-            String branchPoint = gitBranchPoint(epicBranchRef, baseBranchRef);
+            String branchPoint = getBranchPoint(epicBranchRef, baseBranchRef);
             String firstCommitOnBranch = gitFirstCommitOnBranch(epicBranchRef, branchPoint);
             String firstCommitMessage = gitCommitMessage(firstCommitOnBranch);
             if (firstCommitMessage.contains(epicStartMessage)) {
@@ -299,84 +308,133 @@ public class GitFlowUpgradeMojo extends AbstractGitFlowMojo {
 
     private List<String> gitEpicBranchBaseBranches(String epicBranch)
             throws MojoFailureException, CommandLineException {
-        Map<String, List<String>> branchPointCandidates = new HashMap<>();
-        addEpicBranchPointCandidates(epicBranch, branchPointCandidates);
-        return gitBranchBaseBranches(epicBranch, branchPointCandidates);
+        return gitBranchBaseBranches(epicBranch, false);
     }
 
     private List<String> gitFeatureBranchBaseBranches(String featureBranch)
             throws MojoFailureException, CommandLineException {
-        Map<String, List<String>> branchPointCandidates = new HashMap<>();
-        addFeatureBranchPointCandidates(featureBranch, branchPointCandidates);
-        return gitBranchBaseBranches(featureBranch, branchPointCandidates);
+        return gitBranchBaseBranches(featureBranch, true);
     }
 
-    private List<String> gitBranchBaseBranches(String branch, Map<String, List<String>> branchPointCandidates)
+    private List<String> gitBranchBaseBranches(String branch, boolean includeEpicBranches)
             throws MojoFailureException, CommandLineException {
-        Set<String> branchPoints = branchPointCandidates.keySet();
-        String nearestBranchPoint = gitNearestAncestorCommit(branch, branchPoints);
+        initBaseBranchCandidates();
+        String commit = branchCommits.get(getFullBranchRef(branch));
+        if (commit == null) {
+            return Collections.emptyList();
+        }
+        String[] branchPoints = baseBranchReachability.getBranchPoints(commit);
+        Map<String, List<String>> branchPointCandidates = new LinkedHashMap<>();
+        for (int i = 0; i < baseBranchCandidates.size(); i++) {
+            BaseBranchCandidate candidate = baseBranchCandidates.get(i);
+            if (branchPoints[i] == null || (candidate.epic && !includeEpicBranches)) {
+                continue;
+            }
+            List<String> baseBranches = branchPointCandidates.get(branchPoints[i]);
+            if (baseBranches == null) {
+                baseBranches = new ArrayList<>();
+                branchPointCandidates.put(branchPoints[i], baseBranches);
+            }
+            if (!baseBranches.contains(candidate.name)) {
+                baseBranches.add(candidate.name);
+            }
+        }
+        String nearestBranchPoint = commitGraph.getNearestAncestor(commit, branchPointCandidates.keySet());
         if (nearestBranchPoint != null) {
             return branchPointCandidates.get(nearestBranchPoint);
         }
-        return Collections.EMPTY_LIST;
+        return Collections.emptyList();
     }
 
-    protected void addFeatureBranchPointCandidates(String featureBranch,
-            Map<String, List<String>> branchPointCandidates) throws CommandLineException, MojoFailureException {
-        addEpicBranchPointCandidates(featureBranch, branchPointCandidates);
-        List<String> remoteEpicBranches = gitRemoteEpicBranches();
-        if (remoteEpicBranches.size() > 0) {
-            for (String epicBranch : remoteEpicBranches) {
-                addBranchPointCandidate(branchPointCandidates, featureBranch, epicBranch, true);
-            }
-        }
-        List<String> localEpicBranches = gitLocalEpicBranches();
-        if (localEpicBranches.size() > 0) {
-            for (String epicBranch : localEpicBranches) {
-                if (!branchPointCandidates.containsKey(epicBranch)) {
-                    addBranchPointCandidate(branchPointCandidates, featureBranch, epicBranch, false);
+    /**
+     * Get the branch point of the branch and its base branch using the loaded
+     * commit graph if the base branch is one of the base branch candidates.
+     */
+    private String getBranchPoint(String branchRef, String baseBranchRef)
+            throws MojoFailureException, CommandLineException {
+        initBaseBranchCandidates();
+        String commit = branchCommits.get(getFullBranchRef(branchRef));
+        String baseCommit = branchCommits.get(getFullBranchRef(baseBranchRef));
+        if (commit != null && baseCommit != null) {
+            for (int i = 0; i < baseBranchCandidates.size(); i++) {
+                if (baseBranchCandidates.get(i).commit.equals(baseCommit)) {
+                    return baseBranchReachability.getBranchPoints(commit)[i];
                 }
             }
         }
+        return gitBranchPoint(branchRef, baseBranchRef);
+    }
+
+    private boolean branchExistsLocally(String branch) throws MojoFailureException, CommandLineException {
+        initBaseBranchCandidates();
+        return branchCommits.containsKey("refs/heads/" + branch);
+    }
+
+    private String getFullBranchRef(String branchRef) {
+        String remotePrefix = gitFlowConfig.getOrigin() + "/";
+        if (branchRef.startsWith(remotePrefix) && !branchCommits.containsKey("refs/heads/" + branchRef)) {
+            return "refs/remotes/" + branchRef;
+        }
+        return "refs/heads/" + branchRef;
     }
 
-    private void addEpicBranchPointCandidates(String branch, Map<String, List<String>> branchPointCandidates)
-            throws CommandLineException, MojoFailureException {
+    /**
+     * Load all branches and the commit graph once and compute the reachability
+     * of all commits from the development, maintenance and epic branches that
+     * are candidates for base branches. The branch points for all feature and
+     * epic branches are computed then in memory.
+     */
+    private void initBaseBranchCandidates() throws MojoFailureException, CommandLineException {
+        if (commitGraph != null) {
+            return;
+        }
+        branchCommits = new TreeMap<>(gitBranchCommits());
+        String localPrefix = "refs/heads/";
+        String remotePrefix = "refs/remotes/" + gitFlowConfig.getOrigin() + "/";
         String developmentBranch = gitFlowConfig.getDevelopmentBranch();
-        if (gitRemoteBranchExists(developmentBranch)) {
-            addBranchPointCandidate(branchPointCandidates, branch, developmentBranch, true);
-        } else if (gitBranchExists(developmentBranch)) {
-            addBranchPointCandidate(branchPointCandidates, branch, developmentBranch, false);
+        if (branchCommits.containsKey(remotePrefix + developmentBranch)) {
+            addBaseBranchCandidate(developmentBranch, remotePrefix + developmentBranch, false);
+        } else if (branchCommits.containsKey(localPrefix + developmentBranch)) {
+            addBaseBranchCandidate(developmentBranch, localPrefix + developmentBranch, false);
         }
-        List<String> remoteMaintenanceBranches = gitRemoteMaintenanceBranches();
-        if (remoteMaintenanceBranches.size() > 0) {
-            for (String maintenanceBranch : remoteMaintenanceBranches) {
-                addBranchPointCandidate(branchPointCandidates, branch, maintenanceBranch, true);
-            }
+        addBaseBranchCandidates(remotePrefix, gitFlowConfig.getMaintenanceBranchPrefix(), false);
+        addBaseBranchCandidates(localPrefix, gitFlowConfig.getMaintenanceBranchPrefix(), false);
+        addBaseBranchCandidates(remotePrefix, gitFlowConfig.getEpicBranchPrefix(), true);
+        addBaseBranchCandidates(localPrefix, gitFlowConfig.getEpicBranchPrefix(), true);
+        commitGraph = gitLoadCommitGraph();
+        List<String> tips = new ArrayList<>();
+        for (BaseBranchCandidate candidate : baseBranchCandidates) {
+            tips.add(candidate.commit);
         }
-        List<String> localMaintenanceBranches = gitLocalMaintenanceBranches();
-        if (localMaintenanceBranches.size() > 0) {
-            for (String maintenanceBranch : localMaintenanceBranches) {
-                if (!branchPointCandidates.containsKey(maintenanceBranch)) {
-                    addBranchPointCandidate(branchPointCandidates, branch, maintenanceBranch, false);
-                }
+        baseBranchReachability = commitGraph.computeReachability(tips);
+        getLog().info("Commit graph with " + commitGraph.size() + " commits loaded for " + tips.size()
+                + " base branch candidates.");
+    }
+
+    private void addBaseBranchCandidates(String refPrefix, String branchPrefix, boolean epic) {
+        for (Entry<String, String> entry : branchCommits.entrySet()) {
+            if (entry.getKey().startsWith(refPrefix + branchPrefix)) {
+                addBaseBranchCandidate(entry.getKey().substring(refPrefix.length()), entry.getKey(), epic);
             }
         }
     }
 
-    private void addBranchPointCandidate(Map<String, List<String>> branchPointCandidates, String featureBranch,
-            String baseBranch, boolean remote) throws MojoFailureException, CommandLineException {
-        String branchPoint = gitBranchPoint((remote ? gitFlowConfig.getOrigin() + "/" : "") + baseBranch,
-                featureBranch);
-        if (branchPoint != null) {
-            List<String> baseBranches = branchPointCandidates.get(branchPoint);
-            if (baseBranches == null) {
-                baseBranches = new ArrayList<>();
-                branchPointCandidates.put(branchPoint, baseBranches);
-            }
-            if (!baseBranches.contains(baseBranch)) {
-                baseBranches.add(baseBranch);
-            }
+    private void addBaseBranchCandidate(String name, String ref, boolean epic) {
+        baseBranchCandidates.add(new BaseBranchCandidate(name, branchCommits.get(ref), epic));
+    }
+
+    private static class BaseBranchCandidate {
+
+        private final String name;
+
+        private final String commit;
+
+        private final boolean epic;
+
+        private BaseBranchCandidate(String aName, String aCommit, boolean anEpic) {
+            name = aName;
+            commit = aCommit;
+            epic = anEpic;
         }
     }
 
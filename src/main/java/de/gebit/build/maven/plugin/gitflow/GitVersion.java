@@ -0,0 +1,112 @@
+//
+// GitVersion.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Version of the installed git executable.
+ * <p>
+ * Policy for git features: the plugin doesn't raise the minimum git version
+ * it works with. Options of newer git versions (listed as constants of this
+ * class) are used only if the installed git version supports them. Otherwise
+ * the plugin executes the previous commands instead. The version is read once
+ * with <code>git version</code>. Support of an option is never guessed from a
+ * failing command, because a failure of an unsupported option can't be
+ * distinguished reliably from other errors.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GitVersion {
+
+    /** <code>git worktree remove</code> for the isolated worktree. */
+    public static final GitVersion WORKTREE_REMOVE = new GitVersion(2, 17, 0);
+
+    /** <code>git commit-graph write --split</code>. */
+    public static final GitVersion COMMIT_GRAPH_SPLIT = new GitVersion(2, 24, 0);
+
+    /** <code>git rm --pathspec-from-file</code>. */
+    public static final GitVersion PATHSPEC_FROM_FILE = new GitVersion(2, 26, 0);
+
+    /** <code>git merge-tree --write-tree</code> for in-memory merges. */
+    public static final GitVersion MERGE_TREE_WRITE_TREE = new GitVersion(2, 38, 0);
+
+    /** <code>git rebase --update-refs</code> for stacked branches. */
+    public static final GitVersion REBASE_UPDATE_REFS = new GitVersion(2, 38, 0);
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.(\\d+)(?:\\.(\\d+))?");
+
+    private final int major;
+
+    private final int minor;
+
+    private final int patch;
+
+    /**
+     * Creates the version.
+     *
+     * @param aMajor
+     *            the major version
+     * @param aMinor
+     *            the minor version
+     * @param aPatch
+     *            the patch version
+     */
+    public GitVersion(int aMajor, int aMinor, int aPatch) {
+        major = aMajor;
+        minor = aMinor;
+        patch = aPatch;
+    }
+
+    /**
+     * Parse the output of <code>git version</code>, e.g.
+     * <code>git version 2.39.2</code> or
+     * <code>git version 2.41.0.windows.1</code>.
+     *
+     * @param versionOutput
+     *            the output of <code>git version</code> (only the first line
+     *            is used)
+     * @return the version or <code>null</code> if the output doesn't contain a
+     *         version
+     */
+    public static GitVersion parse(String versionOutput) {
+        if (versionOutput == null) {
+            return null;
+        }
+        Matcher matcher = VERSION_PATTERN.matcher(versionOutput.split("\r?\n", 2)[0]);
+        if (!matcher.find()) {
+            return null;
+        }
+        return new GitVersion(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0);
+    }
+
+    /**
+     * Check if this version is the same or newer than the passed version.
+     *
+     * @param required
+     *            the version that introduced a git feature
+     * @return <code>true</code> if the feature is supported
+     */
+    public boolean isAtLeast(GitVersion required) {
+        if (major != required.major) {
+            return major > required.major;
+        }
+        if (minor != required.minor) {
+            return minor > required.minor;
+        }
+        return patch >= required.patch;
+    }
+
+    @Override
+    public String toString() {
+        return major + "." + minor + "." + patch;
+    }
+}
@@ -0,0 +1,295 @@
+//
+// GoalMetrics.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Collects metrics of a single goal execution (goal and step durations,
+ * external command executions, transferred bytes, central branch config
+ * access and cache hit rates) and formats them in Prometheus text exposition
+ * format.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GoalMetrics {
+
+    private static final Pattern TRANSFER_PROGRESS_PATTERN = Pattern
+            .compile("(Receiving|Writing) objects: +\\d+% \\(\\d+/\\d+\\)(, ([\\d.]+) (bytes|KiB|MiB|GiB))?");
+
+    private static final Pattern PROGRESS_LINE_PATTERN = Pattern
+            .compile("^(remote: )?[A-Z][A-Za-z ]+: +\\d+% \\(\\d+/\\d+\\).*");
+
+    private final String goal;
+
+    private final long startTime;
+
+    private final Map<String, long[]> commands = new TreeMap<>();
+
+    private final List<StepMetric> steps = new ArrayList<>();
+
+    private final Map<String, long[]> centralBranchConfig = new TreeMap<>();
+
+    private final Map<String, long[]> caches = new TreeMap<>();
+
+    private long bytesFetched = 0;
+
+    private long bytesPushed = 0;
+
+    /**
+     * Creates metrics for a goal execution started now.
+     *
+     * @param aGoal
+     *            the name of the goal
+     */
+    public GoalMetrics(String aGoal) {
+        goal = aGoal;
+        startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the start time of the goal in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Register execution of an external command.
+     *
+     * @param executable
+     *            the executable type (e.g. <code>git</code> or <code>mvn</code>)
+     * @param durationMillis
+     *            the execution time in milliseconds
+     */
+    public synchronized void commandExecuted(String executable, long durationMillis) {
+        long[] values = commands.computeIfAbsent(executable, k -> new long[2]);
+        values[0]++;
+        values[1] += durationMillis;
+    }
+
+    /**
+     * Register execution of a process step.
+     *
+     * @param stepIndex
+     *            the index of the step in the list of all process steps
+     * @param breakpoint
+     *            the name of the breakpoint associated with the step or
+     *            <code>null</code>
+     * @param durationMillis
+     *            the execution time in milliseconds
+     */
+    public synchronized void stepExecuted(int stepIndex, String breakpoint, long durationMillis) {
+        steps.add(new StepMetric(stepIndex, breakpoint, durationMillis));
+    }
+
+    /**
+     * Register an access to the central branch config.
+     *
+     * @param operation
+     *            the operation (<code>load</code> or <code>store</code>)
+     * @param durationMillis
+     *            the execution time in milliseconds
+     */
+    public synchronized void centralBranchConfigAccessed(String operation, long durationMillis) {
+        long[] values = centralBranchConfig.computeIfAbsent(operation, k -> new long[2]);
+        values[0]++;
+        values[1] += durationMillis;
+    }
+
+    /**
+     * Register a request to a cache.
+     *
+     * @param cache
+     *            the name of the cache
+     * @param hit
+     *            <code>true</code> if the cached value could be used
+     */
+    public synchronized void cacheRequested(String cache, boolean hit) {
+        long[] values = caches.computeIfAbsent(cache, k -> new long[2]);
+        values[hit ? 0 : 1]++;
+    }
+
+    /**
+     * Consume a line of the error output of git fetch/push. Transferred bytes
+     * are extracted from the progress output of git.
+     *
+     * @param line
+     *            the line of the error output
+     * @return <code>true</code> if the line is a progress line and shouldn't be
+     *         handled as error output
+     */
+    public synchronized boolean consumeTransferProgress(String line) {
+        if (!PROGRESS_LINE_PATTERN.matcher(line).matches()) {
+            return false;
+        }
+        // only the final progress line of a phase contains the total size
+        Matcher matcher = TRANSFER_PROGRESS_PATTERN.matcher(line);
+        if (line.endsWith(", done.") && matcher.find() && matcher.group(3) != null) {
+            long bytes = toBytes(matcher.group(3), matcher.group(4));
+            if ("Receiving".equals(matcher.group(1))) {
+                bytesFetched += bytes;
+            } else {
+                bytesPushed += bytes;
+            }
+        }
+        return true;
+    }
+
+    private long toBytes(String value, String unit) {
+        long factor = 1;
+        if ("KiB".equals(unit)) {
+            factor = 1024L;
+        } else if ("MiB".equals(unit)) {
+            factor = 1024L * 1024L;
+        } else if ("GiB".equals(unit)) {
+            factor = 1024L * 1024L * 1024L;
+        }
+        return Math.round(Double.parseDouble(value) * factor);
+    }
+
+    /**
+     * Format the collected metrics in Prometheus text exposition format.
+     *
+     * @param success
+     *            whether the goal was executed successfully
+     * @param endTime
+     *            the end time of the goal in milliseconds
+     * @param commonLabels
+     *            labels to be added to each metric (additionally to the goal)
+     * @return the metrics text
+     */
+    public synchronized String format(boolean success, long endTime, Map<String, String> commonLabels) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put("goal", goal);
+        labels.putAll(commonLabels);
+        StringBuilder sb = new StringBuilder();
+
+        appendHeader(sb, "gitflow_goal_duration_seconds", "gauge", "Duration of the last goal execution.");
+        appendSample(sb, "gitflow_goal_duration_seconds", labels, "success", Boolean.toString(success),
+                seconds(endTime - startTime));
+        appendHeader(sb, "gitflow_goal_last_run_timestamp_seconds", "gauge",
+                "End time of the last goal execution.");
+        appendSample(sb, "gitflow_goal_last_run_timestamp_seconds", labels, "success", Boolean.toString(success),
+                seconds(endTime));
+
+        if (!steps.isEmpty()) {
+            appendHeader(sb, "gitflow_step_duration_seconds", "gauge", "Duration of process steps.");
+            for (StepMetric step : steps) {
+                Map<String, String> stepLabels = new LinkedHashMap<>(labels);
+                stepLabels.put("step", Integer.toString(step.index));
+                appendSample(sb, "gitflow_step_duration_seconds", stepLabels, "breakpoint",
+                        step.breakpoint != null ? step.breakpoint : "", seconds(step.durationMillis));
+            }
+        }
+
+        appendHeader(sb, "gitflow_commands_total", "counter", "Number of executed external commands.");
+        for (Entry<String, long[]> entry : commands.entrySet()) {
+            appendSample(sb, "gitflow_commands_total", labels, "executable", entry.getKey(),
+                    Long.toString(entry.getValue()[0]));
+        }
+        appendHeader(sb, "gitflow_command_duration_seconds_total", "counter",
+                "Total duration of executed external commands.");
+        for (Entry<String, long[]> entry : commands.entrySet()) {
+            appendSample(sb, "gitflow_command_duration_seconds_total", labels, "executable", entry.getKey(),
+                    seconds(entry.getValue()[1]));
+        }
+
+        appendHeader(sb, "gitflow_transferred_bytes_total", "counter",
+                "Bytes transferred by git fetch/push as reported by git.");
+        appendSample(sb, "gitflow_transferred_bytes_total", labels, "direction", "fetch", Long.toString(bytesFetched));
+        appendSample(sb, "gitflow_transferred_bytes_total", labels, "direction", "push", Long.toString(bytesPushed));
+
+        if (!centralBranchConfig.isEmpty()) {
+            appendHeader(sb, "gitflow_central_config_operations_total", "counter",
+                    "Number of central branch config loads/stores.");
+            for (Entry<String, long[]> entry : centralBranchConfig.entrySet()) {
+                appendSample(sb, "gitflow_central_config_operations_total", labels, "operation", entry.getKey(),
+                        Long.toString(entry.getValue()[0]));
+            }
+            appendHeader(sb, "gitflow_central_config_duration_seconds_total", "counter",
+                    "Total duration of central branch config loads/stores.");
+            for (Entry<String, long[]> entry : centralBranchConfig.entrySet()) {
+                appendSample(sb, "gitflow_central_config_duration_seconds_total", labels, "operation", entry.getKey(),
+                        seconds(entry.getValue()[1]));
+            }
+        }
+
+        if (!caches.isEmpty()) {
+            appendHeader(sb, "gitflow_cache_requests_total", "counter", "Number of cache requests.");
+            for (Entry<String, long[]> entry : caches.entrySet()) {
+                Map<String, String> cacheLabels = new LinkedHashMap<>(labels);
+                cacheLabels.put("cache", entry.getKey());
+                appendSample(sb, "gitflow_cache_requests_total", cacheLabels, "result", "hit",
+                        Long.toString(entry.getValue()[0]));
+                appendSample(sb, "gitflow_cache_requests_total", cacheLabels, "result", "miss",
+                        Long.toString(entry.getValue()[1]));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void appendHeader(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void appendSample(StringBuilder sb, String name, Map<String, String> labels, String extraLabel,
+            String extraValue, String value) {
+        sb.append(name).append('{');
+        for (Entry<String, String> label : labels.entrySet()) {
+            appendLabel(sb, label.getKey(), label.getValue());
+            sb.append(',');
+        }
+        appendLabel(sb, extraLabel, extraValue);
+        sb.append("} ").append(value).append('\n');
+    }
+
+    private void appendLabel(StringBuilder sb, String name, String value) {
+        sb.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static class StepMetric {
+
+        private final int index;
+
+        private final String breakpoint;
+
+        private final long durationMillis;
+
+        private StepMetric(int anIndex, String aBreakpoint, long aDurationMillis) {
+            index = anIndex;
+            breakpoint = aBreakpoint;
+            durationMillis = aDurationMillis;
+        }
+    }
+}
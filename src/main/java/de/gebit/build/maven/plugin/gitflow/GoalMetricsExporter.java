@@ -0,0 +1,100 @@
+//
+// GoalMetricsExporter.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Exports formatted goal metrics to a file (e.g. for the node exporter
+ * textfile collector) or to a push gateway.
+ *
+ * @author Volodymyr Medvid
+ * @see GoalMetrics#format(boolean, long, java.util.Map)
+ */
+public class GoalMetricsExporter {
+
+    private static final int PUSH_TIMEOUT_MILLIS = 5000;
+
+    private GoalMetricsExporter() {
+        // utility class
+    }
+
+    /**
+     * Write the metrics to the passed file. The metrics are written to a
+     * temporary file first and moved to the target file so that a collector
+     * never reads a partial file.
+     *
+     * @param file
+     *            the target file (created with its parent directories if it
+     *            doesn't exist)
+     * @param metrics
+     *            the formatted metrics
+     * @throws IOException
+     *             if the file can't be written
+     */
+    public static void writeFile(File file, String metrics) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        Path tempFile = Files.createTempFile(parent.toPath(), file.getName(), ".tmp");
+        try {
+            Files.write(tempFile, metrics.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Post the metrics to the passed URL (e.g. a push gateway URL like
+     * <code>http://localhost:9091/metrics/job/gitflow</code>).
+     *
+     * @param url
+     *            the target URL
+     * @param metrics
+     *            the formatted metrics
+     * @throws IOException
+     *             if the metrics can't be posted or the server doesn't
+     *             respond with a success code
+     */
+    public static void post(String url, String metrics) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(PUSH_TIMEOUT_MILLIS);
+            connection.setReadTimeout(PUSH_TIMEOUT_MILLIS);
+            connection.setRequestProperty("Content-Type", "text/plain; version=0.0.4");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(metrics.getBytes(StandardCharsets.UTF_8));
+            }
+            int responseCode = connection.getResponseCode();
+            if (responseCode >= 300) {
+                throw new IOException("Server returned HTTP response code " + responseCode + ".");
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,329 @@
+//
+// IsolatedWorktree.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+/**
+ * Temporary git worktree in that a goal is executed without touching the
+ * working tree of the user. The worktree is created in
+ * <code>.git/gitflow-worktree</code> on the branch checked out by the user.
+ * Before the first git command that can change the repository is executed in
+ * the worktree, the HEAD of the user's working tree is detached at the commit
+ * the user's files belong to. So a commit, merge, reset or deletion of the
+ * branch in the worktree never moves the HEAD under the index and the files
+ * of the user, also not while the goal is paused. After the goal the HEAD is
+ * attached to the branch again if the branch still points to that commit.
+ * <p>
+ * A marker file in the administrative directory of the worktree identifies
+ * worktrees created by the plugin. Only such worktrees are continued and
+ * removed. The marker also stores the branch and commit of the user's working
+ * tree, so that a paused goal can be continued in the worktree by a later
+ * execution.
+ *
+ * @author Volodymyr Medvid
+ */
+public class IsolatedWorktree {
+
+    /** Directory of the isolated worktree within the git common directory. */
+    public static final String DIRECTORY_NAME = "gitflow-worktree";
+
+    /**
+     * Marker file in the administrative directory of worktrees created by the
+     * plugin.
+     */
+    static final String MARKER_FILE_NAME = "gitflow-isolated-worktree";
+
+    private static final String REFS_HEADS = "refs/heads/";
+
+    /**
+     * Executes git commands for the isolated worktree.
+     */
+    public interface GitExecutor {
+
+        /**
+         * Execute a git command.
+         *
+         * @param workingDirectory
+         *            the working directory of the command
+         * @param failOnError
+         *            whether an exception should be thrown if the command
+         *            fails
+         * @param args
+         *            the git arguments
+         * @return the trimmed standard output or <code>null</code> if the
+         *         command failed and <code>failOnError</code> is
+         *         <code>false</code>
+         * @throws MojoFailureException
+         *             if the command failed and <code>failOnError</code> is
+         *             <code>true</code>
+         * @throws CommandLineException
+         *             if the command couldn't be executed
+         */
+        String execute(File workingDirectory, boolean failOnError, String... args)
+                throws MojoFailureException, CommandLineException;
+    }
+
+    private final GitExecutor git;
+
+    private final File directory;
+
+    private final File userDirectory;
+
+    private final String userBranch;
+
+    private final String userCommit;
+
+    private boolean userBranchReleased = false;
+
+    private IsolatedWorktree(GitExecutor aGit, File aDirectory, File aUserDirectory, String aUserBranch,
+            String aUserCommit) {
+        git = aGit;
+        directory = aDirectory;
+        userDirectory = aUserDirectory;
+        userBranch = aUserBranch;
+        userCommit = aUserCommit;
+    }
+
+    /**
+     * Get the directory of the isolated worktree of a repository.
+     *
+     * @param commonDir
+     *            the git common directory of the repository
+     * @return the absolute directory of the isolated worktree
+     */
+    public static File getDirectory(File commonDir) {
+        return new File(commonDir, DIRECTORY_NAME).getAbsoluteFile();
+    }
+
+    /**
+     * Open the isolated worktree of a paused goal.
+     *
+     * @param aGit
+     *            the executor for git commands
+     * @param aCommonDir
+     *            the git common directory of the repository
+     * @param aUserDirectory
+     *            the working directory of the user
+     * @return the isolated worktree or <code>null</code> if no isolated
+     *         worktree exists
+     * @throws MojoFailureException
+     *             if the directory of the isolated worktree exists but was not
+     *             created by the plugin
+     * @throws CommandLineException
+     */
+    public static IsolatedWorktree open(GitExecutor aGit, File aCommonDir, File aUserDirectory)
+            throws MojoFailureException, CommandLineException {
+        File worktreeDir = getDirectory(aCommonDir);
+        if (!worktreeDir.exists()) {
+            return null;
+        }
+        File markerFile = getMarkerFile(aGit, worktreeDir);
+        if (markerFile == null || !markerFile.isFile()) {
+            throw createForeignDirectoryException(worktreeDir);
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(markerFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new MojoFailureException("Failed to read '" + markerFile + "'.", e);
+        }
+        return new IsolatedWorktree(aGit, worktreeDir, aUserDirectory, lines.size() > 0 ? lines.get(0) : "",
+                lines.size() > 1 ? lines.get(1) : "");
+    }
+
+    /**
+     * Create a new isolated worktree on the branch (or commit) checked out in
+     * the working tree of the user. The working tree of the user is not
+     * changed.
+     *
+     * @param aGit
+     *            the executor for git commands
+     * @param aCommonDir
+     *            the git common directory of the repository
+     * @param aUserDirectory
+     *            the working directory of the user
+     * @return the new isolated worktree
+     * @throws MojoFailureException
+     *             if the worktree couldn't be created
+     * @throws CommandLineException
+     */
+    public static IsolatedWorktree create(GitExecutor aGit, File aCommonDir, File aUserDirectory)
+            throws MojoFailureException, CommandLineException {
+        File worktreeDir = getDirectory(aCommonDir);
+        aGit.execute(aUserDirectory, true, "worktree", "prune");
+        if (worktreeDir.exists()) {
+            throw createForeignDirectoryException(worktreeDir);
+        }
+        String headRef = aGit.execute(aUserDirectory, false, "symbolic-ref", "-q", "HEAD");
+        String commit = aGit.execute(aUserDirectory, true, "rev-parse", "HEAD");
+        String branch = "";
+        if (headRef != null && headRef.startsWith(REFS_HEADS)) {
+            branch = headRef.substring(REFS_HEADS.length());
+            // the branch stays checked out in the working tree of the user
+            aGit.execute(aUserDirectory, true, "worktree", "add", "--force", worktreeDir.getPath(), branch);
+        } else {
+            aGit.execute(aUserDirectory, true, "worktree", "add", "--detach", worktreeDir.getPath(), commit);
+        }
+        File markerFile = getMarkerFile(aGit, worktreeDir);
+        try {
+            Files.write(markerFile.toPath(), (branch + "\n" + commit + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            aGit.execute(aUserDirectory, false, "worktree", "remove", "--force", worktreeDir.getPath());
+            throw new MojoFailureException("Failed to write '" + markerFile + "'.", e);
+        }
+        return new IsolatedWorktree(aGit, worktreeDir, aUserDirectory, branch, commit);
+    }
+
+    private static File getMarkerFile(GitExecutor aGit, File worktreeDir)
+            throws MojoFailureException, CommandLineException {
+        if (!new File(worktreeDir, ".git").isFile()) {
+            // not a linked worktree
+            return null;
+        }
+        String gitDir = aGit.execute(worktreeDir, false, "rev-parse", "--git-dir");
+        if (gitDir == null) {
+            return null;
+        }
+        File adminDir = new File(gitDir);
+        if (!adminDir.isAbsolute()) {
+            adminDir = new File(worktreeDir, gitDir);
+        }
+        return new File(adminDir, MARKER_FILE_NAME);
+    }
+
+    private static GitFlowFailureException createForeignDirectoryException(File worktreeDir) {
+        return new GitFlowFailureException(
+                "Directory '" + worktreeDir + "' exists but is not an isolated worktree created by gitflow.",
+                "Remove the directory or execute the goal without isolated worktree.");
+    }
+
+    /**
+     * @return the directory of the isolated worktree
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the branch checked out in the working tree of the user when the
+     *         isolated worktree was created or an empty string if the HEAD was
+     *         detached
+     */
+    public String getUserBranch() {
+        return userBranch;
+    }
+
+    /**
+     * @return the commit the files in the working tree of the user belong to
+     */
+    public String getUserCommit() {
+        return userCommit;
+    }
+
+    /**
+     * Get the current branch and commit of the isolated worktree.
+     *
+     * @return the state that changes if something is committed or checked out
+     *         in the isolated worktree
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    public String getState() throws MojoFailureException, CommandLineException {
+        String branch = git.execute(directory, false, "symbolic-ref", "--short", "-q", "HEAD");
+        String commit = git.execute(directory, true, "rev-parse", "HEAD");
+        return (branch != null ? branch : "") + " " + commit;
+    }
+
+    /**
+     * Detach the HEAD of the user's working tree before a git command that can
+     * change the repository is executed in the isolated worktree. The HEAD is
+     * detached only once.
+     *
+     * @return <code>true</code> if the HEAD of the user's working tree was
+     *         detached
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    public boolean releaseUserBranch() throws MojoFailureException, CommandLineException {
+        if (userBranchReleased || userBranch.isEmpty()) {
+            return false;
+        }
+        return detachUserHead();
+    }
+
+    /**
+     * @return <code>true</code> if the user was on a branch and the HEAD of
+     *         the user's working tree is detached at the commit of the user's
+     *         files
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    public boolean isUserHeadDetached() throws MojoFailureException, CommandLineException {
+        return !userBranch.isEmpty() && git.execute(userDirectory, false, "symbolic-ref", "-q", "HEAD") == null
+                && userCommit.equals(git.execute(userDirectory, false, "rev-parse", "-q", "--verify", "HEAD"));
+    }
+
+    /**
+     * Attach the HEAD of the user's working tree to the user's branch again
+     * after the isolated worktree was removed. This is done only if the HEAD
+     * is still detached at the commit of the user's files and the branch still
+     * points to this commit.
+     *
+     * @return <code>true</code> if the HEAD of the user's working tree was
+     *         attached to the branch
+     * @throws MojoFailureException
+     * @throws CommandLineException
+     */
+    public boolean restoreUserBranch() throws MojoFailureException, CommandLineException {
+        if (!isUserHeadDetached() || !userCommit
+                .equals(git.execute(userDirectory, false, "rev-parse", "-q", "--verify", REFS_HEADS + userBranch))) {
+            return false;
+        }
+        git.execute(userDirectory, true, "symbolic-ref", "-m", "gitflow: isolated worktree", "HEAD",
+                REFS_HEADS + userBranch);
+        return true;
+    }
+
+    private boolean detachUserHead() throws MojoFailureException, CommandLineException {
+        userBranchReleased = true;
+        String headRef = git.execute(userDirectory, false, "symbolic-ref", "-q", "HEAD");
+        if (!(REFS_HEADS + userBranch).equals(headRef)) {
+            // the user switched to another branch in the meantime
+            return false;
+        }
+        // only the HEAD is changed, the index and the files stay untouched
+        git.execute(userDirectory, true, "update-ref", "--no-deref", "-m", "gitflow: isolated worktree", "HEAD",
+                userCommit);
+        return true;
+    }
+
+    /**
+     * Remove the isolated worktree including all changes in it.
+     *
+     * @throws MojoFailureException
+     *             if the directory is not an isolated worktree created by the
+     *             plugin
+     * @throws CommandLineException
+     */
+    public void remove() throws MojoFailureException, CommandLineException {
+        File markerFile = getMarkerFile(git, directory);
+        if (markerFile == null || !markerFile.isFile()) {
+            throw createForeignDirectoryException(directory);
+        }
+        git.execute(userDirectory, true, "worktree", "remove", "--force", directory.getPath());
+    }
+}
@@ -0,0 +1,157 @@
+//
+// PushPlan.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the branch updates and deletions of a goal that have to be pushed
+ * to the remote repository, so that they can be sent with one atomic
+ * <code>git push</code>. The plan builds the arguments of the atomic push;
+ * executing it is up to the caller.
+ *
+ * @author Volodymyr Medvid
+ */
+public class PushPlan {
+
+    private final boolean followTags;
+
+    private final List<String> pushedBranches = new ArrayList<>();
+
+    private final List<String> deletedBranches = new ArrayList<>();
+
+    /**
+     * Creates an empty push plan.
+     *
+     * @param aFollowTags
+     *            whether annotated tags reachable from the pushed branches
+     *            should be pushed too (<code>--follow-tags</code>)
+     */
+    public PushPlan(boolean aFollowTags) {
+        followTags = aFollowTags;
+    }
+
+    /**
+     * Add a branch to be pushed.
+     *
+     * @param branchName
+     *            the name of the local branch
+     * @return this push plan
+     */
+    public PushPlan push(String branchName) {
+        if (!pushedBranches.contains(branchName)) {
+            pushedBranches.add(branchName);
+        }
+        return this;
+    }
+
+    /**
+     * Add a remote branch to be deleted.
+     *
+     * @param branchName
+     *            the name of the branch on the remote repository
+     * @return this push plan
+     */
+    public PushPlan delete(String branchName) {
+        if (!deletedBranches.contains(branchName)) {
+            deletedBranches.add(branchName);
+        }
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if <code>--follow-tags</code> should be used
+     */
+    public boolean isFollowTags() {
+        return followTags;
+    }
+
+    /**
+     * @return the branches to be pushed
+     */
+    public List<String> getPushedBranches() {
+        return Collections.unmodifiableList(pushedBranches);
+    }
+
+    /**
+     * @return the remote branches to be deleted
+     */
+    public List<String> getDeletedBranches() {
+        return Collections.unmodifiableList(deletedBranches);
+    }
+
+    /**
+     * @return <code>true</code> if there is nothing to be pushed
+     */
+    public boolean isEmpty() {
+        return pushedBranches.isEmpty() && deletedBranches.isEmpty();
+    }
+
+    /**
+     * Check if the plan has to be pushed with one atomic push or if a single
+     * reference update is enough.
+     *
+     * @param existingDeletedBranches
+     *            the branches of the plan to be deleted that exist on the remote
+     *            repository
+     * @return <code>true</code> if more than one reference has to be updated
+     */
+    public boolean isAtomicPushNeeded(Collection<String> existingDeletedBranches) {
+        return pushedBranches.size() + existingDeletedBranches.size() > 1;
+    }
+
+    /**
+     * Build the arguments of the <code>git push --atomic</code> command that
+     * updates all references of the plan.
+     *
+     * @param origin
+     *            the name of the remote repository
+     * @param existingDeletedBranches
+     *            the branches of the plan to be deleted that exist on the remote
+     *            repository
+     * @param progress
+     *            whether progress output should be forced (needed to measure
+     *            the pushed bytes)
+     * @return the git arguments starting with <code>push</code>
+     */
+    public List<String> getAtomicPushArguments(String origin, Collection<String> existingDeletedBranches,
+            boolean progress) {
+        List<String> args = new ArrayList<>();
+        args.add("push");
+        args.add("--quiet");
+        if (progress) {
+            args.add("--progress");
+        }
+        args.add("--atomic");
+        if (followTags) {
+            args.add("--follow-tags");
+        }
+        args.add(origin);
+        args.addAll(pushedBranches);
+        for (String branchName : existingDeletedBranches) {
+            args.add(":refs/heads/" + branchName);
+        }
+        return args;
+    }
+
+    /**
+     * Check if an atomic push failed because the remote repository doesn't
+     * support atomic pushes.
+     *
+     * @param error
+     *            the error output of the failed push
+     * @return <code>true</code> if the references should be pushed separately
+     */
+    public static boolean isAtomicPushUnsupported(String error) {
+        return error != null && error.contains("does not support --atomic");
+    }
+}
@@ -0,0 +1,314 @@
+//
+// RecordedCommand.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * External command execution stored in a command recording file (see
+ * {@link CommandRecorder} and {@link CommandReplayer}).
+ * <p>
+ * A command is stored as a <code>&gt;cmd</code> line followed by
+ * <code>&gt;env</code>, <code>&gt;out</code> and <code>&gt;err</code> lines.
+ * All fields are separated by tab. Tabs, line breaks and backslashes in field
+ * values are escaped.
+ *
+ * @author Volodymyr Medvid
+ */
+public class RecordedCommand {
+
+    static final String HEADER_PREFIX = "#gitflow-commands";
+
+    static final String CMD_PREFIX = ">cmd";
+
+    static final String ENV_PREFIX = ">env";
+
+    static final String OUT_PREFIX = ">out";
+
+    static final String ERR_PREFIX = ">err";
+
+    static final char SEPARATOR = '\t';
+
+    private final long startTime;
+
+    private final long duration;
+
+    private final int exitCode;
+
+    private final String workingDirectory;
+
+    private final String executable;
+
+    private final int launcherArgsCount;
+
+    private final List<String> args;
+
+    private final Map<String, String> environment;
+
+    private final List<String> outLines;
+
+    private final List<String> errLines;
+
+    /**
+     * Creates an instance of recorded command.
+     *
+     * @param aStartTime
+     *            the start time of the command in milliseconds
+     * @param aDuration
+     *            the execution time of the command in milliseconds
+     * @param anExitCode
+     *            the exit code of the command
+     * @param aWorkingDirectory
+     *            the working directory or <code>null</code>
+     * @param anExecutable
+     *            the executable
+     * @param aLauncherArgsCount
+     *            the number of leading arguments that are specific for the
+     *            launcher (e.g. JVM arguments of maven launcher) and should be
+     *            ignored on replay
+     * @param anArgs
+     *            the command arguments including launcher arguments
+     * @param anEnvironment
+     *            the environment variables explicitly set for the command
+     * @param anOutLines
+     *            the lines written to the standard output
+     * @param anErrLines
+     *            the lines written to the error output
+     */
+    public RecordedCommand(long aStartTime, long aDuration, int anExitCode, String aWorkingDirectory,
+            String anExecutable, int aLauncherArgsCount, List<String> anArgs, Map<String, String> anEnvironment,
+            List<String> anOutLines, List<String> anErrLines) {
+        startTime = aStartTime;
+        duration = aDuration;
+        exitCode = anExitCode;
+        workingDirectory = aWorkingDirectory;
+        executable = anExecutable;
+        launcherArgsCount = aLauncherArgsCount;
+        args = Collections.unmodifiableList(new ArrayList<>(anArgs));
+        environment = Collections.unmodifiableMap(new LinkedHashMap<>(anEnvironment));
+        outLines = Collections.unmodifiableList(new ArrayList<>(anOutLines));
+        errLines = Collections.unmodifiableList(new ArrayList<>(anErrLines));
+    }
+
+    /**
+     * @return the start time of the command in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the execution time of the command in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the exit code of the command
+     */
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * @return the working directory or <code>null</code>
+     */
+    public String getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    /**
+     * @return the executable
+     */
+    public String getExecutable() {
+        return executable;
+    }
+
+    /**
+     * @return all command arguments including launcher arguments
+     */
+    public List<String> getArgs() {
+        return args;
+    }
+
+    /**
+     * @return the command arguments without launcher arguments
+     */
+    public List<String> getCommandArgs() {
+        return args.subList(Math.min(launcherArgsCount, args.size()), args.size());
+    }
+
+    /**
+     * @return the number of leading launcher arguments
+     */
+    public int getLauncherArgsCount() {
+        return launcherArgsCount;
+    }
+
+    /**
+     * @return the environment variables explicitly set for the command
+     */
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * @return the lines written to the standard output
+     */
+    public List<String> getOutLines() {
+        return outLines;
+    }
+
+    /**
+     * @return the lines written to the error output
+     */
+    public List<String> getErrLines() {
+        return errLines;
+    }
+
+    /**
+     * Get the name of the executable without path (e.g. <code>git</code>).
+     *
+     * @return the executable name
+     */
+    public String getExecutableName() {
+        return getExecutableName(executable);
+    }
+
+    /**
+     * Get the name of the passed executable without path.
+     *
+     * @param anExecutable
+     *            the executable
+     * @return the executable name
+     */
+    static String getExecutableName(String anExecutable) {
+        int pos = Math.max(anExecutable.lastIndexOf('/'), anExecutable.lastIndexOf('\\'));
+        if (pos >= 0 && pos < anExecutable.length() - 1) {
+            return anExecutable.substring(pos + 1);
+        }
+        return anExecutable;
+    }
+
+    /**
+     * Check whether the recorded command matches the passed command.
+     *
+     * @param anExecutableName
+     *            the executable name without path
+     * @param aCommandArgs
+     *            the command arguments without launcher arguments
+     * @return <code>true</code> if recorded command matches
+     */
+    public boolean matches(String anExecutableName, List<String> aCommandArgs) {
+        return getExecutableName().equalsIgnoreCase(anExecutableName) && getCommandArgs().equals(aCommandArgs);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(getExecutableName());
+        for (String arg : getCommandArgs()) {
+            sb.append(' ').append(arg);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escape tabs, line breaks and backslashes in the passed value.
+     *
+     * @param value
+     *            the value to be escaped
+     * @return the escaped value
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Unescape the value escaped with {@link #escape(String)}.
+     *
+     * @param value
+     *            the escaped value
+     * @return the unescaped value
+     */
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                default:
+                    sb.append(next);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Split the line into unescaped fields.
+     *
+     * @param line
+     *            the line to be splitted
+     * @return the list of unescaped fields
+     */
+    static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        int pos;
+        while ((pos = line.indexOf(SEPARATOR, start)) >= 0) {
+            fields.add(unescape(line.substring(start, pos)));
+            start = pos + 1;
+        }
+        fields.add(unescape(line.substring(start)));
+        return fields;
+    }
+}
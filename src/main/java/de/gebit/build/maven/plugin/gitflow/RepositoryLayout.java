@@ -0,0 +1,104 @@
+//
+// RepositoryLayout.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.File;
+
+/**
+ * Location of the git directories of the working tree the plugin is executed
+ * in. For a linked worktree (<code>git worktree add</code>) the git directory
+ * is the worktree specific directory and the common directory is the git
+ * directory of the main repository. The layout is resolved once with
+ * <code>git rev-parse</code>.
+ *
+ * @author Volodymyr Medvid
+ */
+public class RepositoryLayout {
+
+    /**
+     * Arguments to be passed to <code>git rev-parse</code> in order to get the
+     * output for {@link #parse(String, File)}.
+     */
+    public static final String[] REV_PARSE_ARGS = { "rev-parse", "--absolute-git-dir", "--git-common-dir",
+            "--show-toplevel", "--show-prefix" };
+
+    private final File gitDir;
+
+    private final File commonDir;
+
+    private final File topLevelDir;
+
+    private final String prefix;
+
+    private RepositoryLayout(File aGitDir, File aCommonDir, File aTopLevelDir, String aPrefix) {
+        gitDir = aGitDir;
+        commonDir = aCommonDir;
+        topLevelDir = aTopLevelDir;
+        prefix = aPrefix;
+    }
+
+    /**
+     * Parse the output of <code>git rev-parse</code> executed with
+     * {@link #REV_PARSE_ARGS}.
+     *
+     * @param revParseOutput
+     *            the output of rev-parse, one path per line
+     * @param aWorkingDir
+     *            the directory rev-parse was executed in, used to resolve
+     *            relative paths
+     * @return the repository layout
+     */
+    public static RepositoryLayout parse(String revParseOutput, File aWorkingDir) {
+        String[] lines = revParseOutput.split("\r?\n");
+        File gitDir = resolve(lines[0], aWorkingDir);
+        File commonDir = (lines.length > 1) ? resolve(lines[1], aWorkingDir) : gitDir;
+        File topLevelDir = (lines.length > 2) ? resolve(lines[2], aWorkingDir) : aWorkingDir;
+        // the prefix is empty in the top level directory
+        String prefix = (lines.length > 3) ? lines[3].trim() : "";
+        return new RepositoryLayout(gitDir, commonDir, topLevelDir, prefix);
+    }
+
+    private static File resolve(String path, File workingDir) {
+        File file = new File(path.trim());
+        if (!file.isAbsolute()) {
+            file = new File(workingDir, file.getPath());
+        }
+        return file;
+    }
+
+    /**
+     * @return the git directory of the current working tree
+     */
+    public File getGitDir() {
+        return gitDir;
+    }
+
+    /**
+     * @return the git directory shared by all worktrees (objects, refs,
+     *         config)
+     */
+    public File getCommonDir() {
+        return commonDir;
+    }
+
+    /**
+     * @return the top level directory of the current working tree
+     */
+    public File getTopLevelDir() {
+        return topLevelDir;
+    }
+
+    /**
+     * @return the path of the working directory relative to the top level
+     *         directory (with trailing slash) or an empty string
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+}
@@ -0,0 +1,134 @@
+//
+// RepositoryState.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the operations in process in a working tree: rebase,
+ * interactive rebase and merge read from the git directory and the
+ * breakpoints of paused goals stored in the branch local config. Used to
+ * detect paused goals without executing git commands. The snapshot is valid
+ * until the next command that can change the state.
+ *
+ * @author Volodymyr Medvid
+ */
+public class RepositoryState {
+
+    /**
+     * Arguments to be passed to <code>git config</code> in order to get the
+     * breakpoints for {@link #read(RepositoryLayout, String)}.
+     */
+    public static final String[] BREAKPOINTS_CONFIG_ARGS = { "config", "--get-regexp",
+            "^branch\\..*\\.breakpoint$" };
+
+    private static final String[] REBASE_DIRS = { "rebase-apply", "rebase-merge" };
+
+    private final String rebaseHeadName;
+
+    private final boolean interactiveRebase;
+
+    private final String mergeHead;
+
+    private final Map<String, String> breakpoints;
+
+    private RepositoryState(String aRebaseHeadName, boolean anInteractiveRebase, String aMergeHead,
+            Map<String, String> aBreakpoints) {
+        rebaseHeadName = aRebaseHeadName;
+        interactiveRebase = anInteractiveRebase;
+        mergeHead = aMergeHead;
+        breakpoints = Collections.unmodifiableMap(aBreakpoints);
+    }
+
+    /**
+     * Read the state of the working tree.
+     *
+     * @param aLayout
+     *            the layout of the repository
+     * @param breakpointsConfigOutput
+     *            the output of <code>git config</code> executed with
+     *            {@link #BREAKPOINTS_CONFIG_ARGS}
+     * @return the state of the working tree
+     * @throws IOException
+     *             if a state file can't be read
+     */
+    public static RepositoryState read(RepositoryLayout aLayout, String breakpointsConfigOutput)
+            throws IOException {
+        File gitDir = aLayout.getGitDir();
+        String rebaseHeadName = null;
+        boolean interactiveRebase = false;
+        for (String rebaseDir : REBASE_DIRS) {
+            File dir = new File(gitDir, rebaseDir);
+            if (dir.isDirectory()) {
+                if (rebaseHeadName == null) {
+                    rebaseHeadName = readIfExists(new File(dir, "head-name"));
+                }
+                interactiveRebase |= new File(dir, "interactive").exists();
+            }
+        }
+        String mergeHead = readIfExists(new File(gitDir, "MERGE_HEAD"));
+        Map<String, String> breakpoints = new HashMap<>();
+        for (String line : breakpointsConfigOutput.split("\r?\n")) {
+            int separator = line.indexOf(' ');
+            String key = (separator != -1) ? line.substring(0, separator) : line;
+            if (key.startsWith("branch.") && key.endsWith(".breakpoint")) {
+                String branchName = key.substring("branch.".length(), key.length() - ".breakpoint".length());
+                breakpoints.put(branchName, (separator != -1) ? line.substring(separator + 1).trim() : "");
+            }
+        }
+        return new RepositoryState(rebaseHeadName, interactiveRebase, mergeHead, breakpoints);
+    }
+
+    private static String readIfExists(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * @return the full name of the rebasing branch (e.g.
+     *         <code>refs/heads/feature/XYZ</code>) or <code>null</code> if no
+     *         rebase is in process
+     */
+    public String getRebaseHeadName() {
+        return rebaseHeadName;
+    }
+
+    /**
+     * @return <code>true</code> if an interactive rebase is in process
+     */
+    public boolean isInteractiveRebase() {
+        return interactiveRebase;
+    }
+
+    /**
+     * @return the content of <code>MERGE_HEAD</code> or <code>null</code> if
+     *         no merge is in process
+     */
+    public String getMergeHead() {
+        return mergeHead;
+    }
+
+    /**
+     * @param branchName
+     *            the name of the branch
+     * @return the breakpoint of a paused goal stored for the branch or
+     *         <code>null</code>
+     */
+    public String getBreakpoint(String branchName) {
+        return breakpoints.get(branchName);
+    }
+}
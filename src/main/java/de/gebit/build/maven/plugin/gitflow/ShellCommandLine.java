@@ -9,6 +9,9 @@
 package de.gebit.build.maven.plugin.gitflow;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.shell.CmdShell;
@@ -39,6 +42,22 @@ public class ShellCommandLine extends Commandline {
         return getShellCommandline();
     }
 
+    /**
+     * Get environment variables that were explicitly added to the command line
+     * and differ from the system environment.
+     *
+     * @return map with added environment variables
+     */
+    public Map<String, String> getAddedEnvironmentVariables() {
+        Map<String, String> added = new LinkedHashMap<>();
+        for (Entry<String, String> entry : envVars.entrySet()) {
+            if (entry.getValue() != null && !entry.getValue().equals(System.getenv(entry.getKey()))) {
+                added.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return added;
+    }
+
     private class MyCmdShell extends CmdShell {
 
         private char[] quotingTriggerChars;
@@ -0,0 +1,71 @@
+//
+// WorktreeList.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The branches checked out in the worktrees of a repository as listed by
+ * <code>git worktree list --porcelain</code>. A branch checked out in a
+ * worktree (including the current one) must not be moved with
+ * <code>git update-ref</code>, because the files of the worktree would not
+ * match its HEAD anymore.
+ *
+ * @author Volodymyr Medvid
+ */
+public class WorktreeList {
+
+    private static final String WORKTREE_PREFIX = "worktree ";
+
+    private static final String BRANCH_PREFIX = "branch refs/heads/";
+
+    private final Map<String, String> worktreesByBranch = new LinkedHashMap<>();
+
+    /**
+     * Creates the list from the output of
+     * <code>git worktree list --porcelain</code>.
+     *
+     * @param aListing
+     *            the output of the git command
+     */
+    public WorktreeList(String aListing) {
+        String worktree = null;
+        for (String line : aListing.split("\r?\n")) {
+            if (line.startsWith(WORKTREE_PREFIX)) {
+                worktree = line.substring(WORKTREE_PREFIX.length());
+            } else if (line.startsWith(BRANCH_PREFIX) && worktree != null) {
+                worktreesByBranch.put(line.substring(BRANCH_PREFIX.length()), worktree);
+            }
+        }
+    }
+
+    /**
+     * Check if the branch is checked out in any worktree.
+     *
+     * @param branchName
+     *            the name of the local branch
+     * @return <code>true</code> if the branch is the HEAD of a worktree
+     */
+    public boolean isCheckedOut(String branchName) {
+        return worktreesByBranch.containsKey(branchName);
+    }
+
+    /**
+     * Get the worktree the branch is checked out in.
+     *
+     * @param branchName
+     *            the name of the local branch
+     * @return the path of the worktree or <code>null</code> if the branch is
+     *         not checked out
+     */
+    public String getWorktree(String branchName) {
+        return worktreesByBranch.get(branchName);
+    }
+}
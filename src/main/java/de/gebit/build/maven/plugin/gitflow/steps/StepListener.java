@@ -0,0 +1,30 @@
+//
+// StepListener.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow.steps;
+
+/**
+ * Listener that is notified after each executed process step.
+ *
+ * @author Volodymyr Medvid
+ */
+@FunctionalInterface
+public interface StepListener<B extends Breakpoint> {
+
+    /**
+     * Called after the process step was executed successfully.
+     *
+     * @param stepIndex
+     *            the index of the step in the list of all process steps
+     * @param breakpoint
+     *            the breakpoint associated with the step or <code>null</code>
+     * @param durationMillis
+     *            the execution time of the step in milliseconds
+     */
+    void stepExecuted(int stepIndex, B breakpoint, long durationMillis);
+}
@@ -50,11 +50,23 @@ public class StepsUtil {
     public static <B extends Breakpoint, P extends StepParameters<B>> void processSteps(List<Step<B, P>> allProcessSteps,
             BreakpointSupplier<B> breakpointSupplier, StepParametersInitializer<B, P> stepParametersInitializer)
             throws MojoFailureException, CommandLineException {
+        processSteps(allProcessSteps, breakpointSupplier, stepParametersInitializer, null);
+    }
+
+    public static <B extends Breakpoint, P extends StepParameters<B>> void processSteps(List<Step<B, P>> allProcessSteps,
+            BreakpointSupplier<B> breakpointSupplier, StepParametersInitializer<B, P> stepParametersInitializer,
+            StepListener<B> stepListener) throws MojoFailureException, CommandLineException {
         B breakpoint = breakpointSupplier.getBreakpoint();
         List<Step<B, P>> steps = getStepsToExecute(breakpoint, allProcessSteps);
         P stepParameters = stepParametersInitializer.init(breakpoint);
+        int stepIndex = allProcessSteps.size() - steps.size();
         for (Step<B, P> step : steps) {
+            long startTime = System.currentTimeMillis();
             stepParameters = step.execute(stepParameters);
+            if (stepListener != null) {
+                stepListener.stepExecuted(stepIndex, step.getBreakpoint(), System.currentTimeMillis() - startTime);
+            }
+            stepIndex++;
         }
     }
 }
@@ -1095,7 +1095,7 @@ public abstract class AbstractGitFlowMojoTestCase {
     }
 
     @SuppressWarnings("unchecked")
-    private List<String> loadExecutedMavenCommands() throws IOException {
+    protected List<String> loadExecutedMavenCommands() throws IOException {
         File mvnCommandsFile = new File(testBasedir, ExtMavenCli.MVN_CMDS_LOG_FILENAME);
         if (!mvnCommandsFile.exists()) {
             return Collections.EMPTY_LIST;
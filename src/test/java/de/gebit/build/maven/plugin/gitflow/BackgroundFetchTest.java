@@ -0,0 +1,125 @@
+//
+// BackgroundFetchTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.codehaus.plexus.util.Os;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.gebit.build.maven.plugin.gitflow.CommandWatchdog.CommandTimeoutException;
+
+/**
+ * Test for the fetch executed in background while the goal works on the local
+ * repository.
+ *
+ * @author Volodymyr Medvid
+ */
+public class BackgroundFetchTest {
+
+    private static final String ORIGIN = "origin";
+
+    private GitCommandLineRepository remote;
+
+    private GitCommandLineRepository otherClone;
+
+    private GitCommandLineRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        // the slow upload-pack commands use the unix shell
+        Assume.assumeFalse(Os.isFamily(Os.FAMILY_WINDOWS));
+        remote = GitCommandLineRepository.createBare();
+        otherClone = remote.cloneRepository();
+        otherClone.commitFile("root");
+        otherClone.git("push", "-q", ORIGIN, "master");
+        repository = remote.cloneRepository();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (GitCommandLineRepository repo : new GitCommandLineRepository[] { repository, otherClone, remote }) {
+            if (repo != null) {
+                repo.close();
+            }
+        }
+    }
+
+    private Commandline fetchCmd(String uploadPack, String remoteName) {
+        Commandline cmd = new Commandline();
+        cmd.setExecutable("git");
+        cmd.setWorkingDirectory(repository.getDirectory());
+        cmd.addArguments(new String[] { "fetch", "--quiet", "--upload-pack=" + uploadPack, remoteName });
+        return cmd;
+    }
+
+    @Test
+    public void testFetchConcurrentlyWithLocalWork() throws Exception {
+        // set up
+        String remoteMaster = otherClone.commitFile("remote change");
+        otherClone.git("checkout", "-q", "-b", "feature/A");
+        String remoteFeature = otherClone.commitFile("remote feature");
+        otherClone.git("push", "-q", ORIGIN, "master", "feature/A");
+        // test
+        BackgroundFetch fetch = new BackgroundFetch(fetchCmd("sleep 2; git-upload-pack", ORIGIN), 60);
+        assertFalse(fetch.isDone());
+        // local work of the goal: commits, branches and config changes
+        repository.git("checkout", "-q", "-b", "feature/B");
+        String localCommit = repository.commitFile("local change");
+        repository.git("branch", "feature/C");
+        repository.git("config", "branch.feature/B.description", "local work");
+        assertFalse("local work wasn't concurrent with the fetch", fetch.isDone());
+        BackgroundFetch.Result result = fetch.await();
+        // verify
+        assertEquals(0, result.getExitCode());
+        assertTrue(result.getDurationMillis() >= 2000);
+        assertEquals(remoteMaster, repository.git("rev-parse", "origin/master"));
+        assertEquals(remoteFeature, repository.git("rev-parse", "origin/feature/A"));
+        assertEquals(localCommit, repository.git("rev-parse", "feature/B"));
+        assertEquals(localCommit, repository.git("rev-parse", "feature/C"));
+        assertEquals("local work", repository.git("config", "branch.feature/B.description"));
+        assertEquals("", repository.git("status", "--porcelain"));
+    }
+
+    @Test
+    public void testFetchFailure() throws Exception {
+        // set up
+        repository.git("remote", "add", "missing", repository.getDirectory().getAbsolutePath() + "-missing");
+        // test
+        BackgroundFetch.Result result = new BackgroundFetch(fetchCmd("git-upload-pack", "missing"), 60).await();
+        // verify
+        assertNotEquals(0, result.getExitCode());
+        assertFalse(result.getErrLines().isEmpty());
+    }
+
+    @Test
+    public void testFetchTimeout() throws Exception {
+        // set up
+        BackgroundFetch fetch = new BackgroundFetch(fetchCmd("sleep 30; git-upload-pack", ORIGIN), 1);
+        // test
+        try {
+            fetch.await();
+            fail("CommandTimeoutException expected");
+        } catch (CommandTimeoutException e) {
+            // verify
+            assertEquals(1, e.getTimeoutSeconds());
+        }
+        assertTrue(fetch.isDone());
+        assertTrue("fetch was not terminated after timeout",
+                System.currentTimeMillis() - fetch.getStartTime() < 10000);
+    }
+}
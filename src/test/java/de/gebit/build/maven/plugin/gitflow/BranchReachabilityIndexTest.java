@@ -0,0 +1,182 @@
+//
+// BranchReachabilityIndexTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the index that answers "which branches contain commit X".
+ *
+ * @author Volodymyr Medvid
+ */
+public class BranchReachabilityIndexTest {
+
+    private static final String ORIGIN = "origin";
+
+    private GitCommandLineRepository remote;
+
+    private GitCommandLineRepository otherRemote;
+
+    private GitCommandLineRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        remote = GitCommandLineRepository.create();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (GitCommandLineRepository repo : Arrays.asList(repository, otherRemote, remote)) {
+            if (repo != null) {
+                repo.close();
+            }
+        }
+    }
+
+    private String refListing() throws Exception {
+        return repository.git("for-each-ref", "--format=" + BranchReachabilityIndex.REF_FORMAT, "refs/heads/",
+                "refs/remotes/");
+    }
+
+    private BranchReachabilityIndex createIndex() throws Exception {
+        return new BranchReachabilityIndex(refListing(), ORIGIN, CommitGraph
+                .parse(repository.git("rev-list", "--topo-order", "--parents", "--branches", "--remotes")));
+    }
+
+    /**
+     * Branches containing the commit as reported by
+     * <code>git branch -a --contains</code> with the origin prefix removed.
+     */
+    private Set<String> gitBranchesContaining(String commit) throws Exception {
+        Set<String> result = new LinkedHashSet<>();
+        String output = repository.git("branch", "-a", "--contains", commit);
+        if (output.isEmpty()) {
+            return result;
+        }
+        for (String line : output.split("\r?\n")) {
+            String name = line.trim();
+            if (name.startsWith("*")) {
+                name = name.substring(1).trim();
+            }
+            if (name.startsWith("remotes/" + ORIGIN + "/")) {
+                name = name.substring(("remotes/" + ORIGIN + "/").length());
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
+    @Test
+    public void testGetBranchesContainingSameAsGitBranchContains() throws Exception {
+        // set up
+        List<String> commits = new ArrayList<>();
+        commits.add(remote.commitFile("root"));
+        remote.git("checkout", "-q", "-b", "feature/A");
+        commits.add(remote.commitFile("feature A"));
+        remote.git("checkout", "-q", "master");
+        commits.add(remote.commitFile("master 1"));
+        repository = remote.cloneRepository();
+        repository.git("checkout", "-q", "-b", "local", "origin/feature/A");
+        commits.add(repository.commitFile("local"));
+        repository.git("branch", "-q", "feature/A", "origin/feature/A");
+        otherRemote = remote.cloneRepository();
+        otherRemote.git("checkout", "-q", "-b", "other", "master");
+        commits.add(otherRemote.commitFile("other"));
+        repository.git("remote", "add", "other", otherRemote.getDirectory().getAbsolutePath());
+        repository.git("fetch", "-q", "other");
+        repository.git("remote", "set-head", "other", "master");
+        repository.git("checkout", "-q", "master");
+        // test
+        BranchReachabilityIndex index = createIndex();
+        Map<String, Set<String>> result = index.getBranchesContaining(commits);
+        // verify
+        assertEquals(commits.size(), result.size());
+        for (String commit : commits) {
+            assertEquals(new ArrayList<>(gitBranchesContaining(commit)), new ArrayList<>(result.get(commit)));
+        }
+        Set<String> rootBranches = result.get(commits.get(0));
+        assertTrue(rootBranches.contains("HEAD -> origin/master"));
+        assertTrue(rootBranches.contains("remotes/other/other"));
+        assertTrue(rootBranches.contains("remotes/other/HEAD -> other/master"));
+        assertFalse(rootBranches.contains("remotes/origin/master"));
+    }
+
+    @Test
+    public void testGetBranchesContainingWithHistoryDownToMergeBase() throws Exception {
+        // set up
+        String root = remote.commitFile("root");
+        String mergeBase = remote.commitFile("master 1");
+        remote.git("checkout", "-q", "-b", "feature/A");
+        String feature = remote.commitFile("feature A");
+        remote.commitFile("feature A 2");
+        remote.git("checkout", "-q", "master");
+        String master = remote.commitFile("master 2");
+        repository = remote.cloneRepository();
+        assertEquals(mergeBase, repository.git("merge-base", "--octopus", feature, master));
+        CommitGraph graph = CommitGraph.parse(repository.git("rev-list", "--topo-order", "--parents", "--boundary",
+                "--branches", "--remotes", "^" + mergeBase));
+        // test
+        BranchReachabilityIndex index = new BranchReachabilityIndex(refListing(), ORIGIN, graph);
+        // verify
+        assertFalse("history beyond the merge base is not loaded", graph.contains(root));
+        for (String commit : Arrays.asList(feature, master, mergeBase)) {
+            assertEquals(new ArrayList<>(gitBranchesContaining(commit)),
+                    new ArrayList<>(index.getBranchesContaining(commit)));
+        }
+    }
+
+    @Test
+    public void testGetBranchesContainingUnknownCommit() throws Exception {
+        // set up
+        remote.commitFile("root");
+        repository = remote.cloneRepository();
+        // test
+        Set<String> branches = createIndex().getBranchesContaining("0000000000000000000000000000000000000000");
+        // verify
+        assertTrue(branches.isEmpty());
+    }
+
+    @Test
+    public void testIsSnapshotOf() throws Exception {
+        // set up
+        remote.commitFile("root");
+        repository = remote.cloneRepository();
+        BranchReachabilityIndex index = createIndex();
+        // test
+        assertTrue(index.isSnapshotOf(refListing()));
+        repository.commitFile("new commit");
+        // verify
+        assertFalse(index.isSnapshotOf(refListing()));
+    }
+
+    @Test
+    public void testGetBranchName() {
+        assertEquals("master", BranchReachabilityIndex.getBranchName("refs/heads/master", "", ORIGIN));
+        assertEquals("feature/A", BranchReachabilityIndex.getBranchName("refs/remotes/origin/feature/A", "", ORIGIN));
+        assertEquals("remotes/other/master",
+                BranchReachabilityIndex.getBranchName("refs/remotes/other/master", "", ORIGIN));
+        assertEquals("HEAD -> origin/master", BranchReachabilityIndex.getBranchName("refs/remotes/origin/HEAD",
+                "refs/remotes/origin/master", ORIGIN));
+        assertEquals("remotes/other/HEAD -> other/master",
+                BranchReachabilityIndex.getBranchName("refs/remotes/other/HEAD", "refs/remotes/other/master", ORIGIN));
+    }
+}
@@ -0,0 +1,38 @@
+//
+// BranchStateOracleTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test for the invalidation of the branch state oracle.
+ *
+ * @author Volodymyr Medvid
+ */
+public class BranchStateOracleTest {
+
+    @Test
+    public void testConfigWriteInvalidatesOracle() {
+        // set up
+        BranchStateOracle oracle = new BranchStateOracle("origin");
+        oracle.load("refs/heads/master\t0123456789012345678901234567890123456789\t\t");
+        assertTrue(oracle.isValid());
+        // test
+        oracle.invalidateIfMutating("config", "--get", "branch.master.remote");
+        // verify
+        assertTrue(oracle.isValid());
+        // test
+        oracle.invalidateIfMutating("config", "branch.master.remote", "origin");
+        // verify
+        assertFalse(oracle.isValid());
+    }
+}
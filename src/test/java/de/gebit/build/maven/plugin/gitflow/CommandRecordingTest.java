@@ -0,0 +1,103 @@
+//
+// CommandRecordingTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.gebit.build.maven.plugin.gitflow.jgit.RepositorySet;
+
+/**
+ * Test for recording and replaying of external commands.
+ *
+ * @author Volodymyr Medvid
+ */
+public class CommandRecordingTest extends AbstractGitFlowMojoTestCase {
+
+    private static final String GOAL = "feature-start";
+
+    private static final String FEATURE_NAME = TestProjects.BASIC.jiraProject + "-42";
+
+    private static final String FEATURE_BRANCH = "feature/" + FEATURE_NAME;
+
+    private RepositorySet repositorySet;
+
+    private File recordingFile;
+
+    @Before
+    public void setUp() throws Exception {
+        repositorySet = git.useGitRepositorySet(TestProjects.BASIC);
+        recordingFile = File.createTempFile("gitflow-commands", ".txt");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (repositorySet != null) {
+            repositorySet.close();
+        }
+        if (recordingFile != null) {
+            recordingFile.delete();
+        }
+    }
+
+    @Test
+    public void testExecuteWithRecordCommands() throws Exception {
+        // set up
+        when(promptControllerMock.prompt(ExecutorHelper.FEATURE_START_PROMPT_FEATURE_BRANCH_NAME))
+                .thenReturn(FEATURE_NAME);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.recordCommands", recordingFile.getAbsolutePath());
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        // verify
+        git.assertCurrentBranch(repositorySet, FEATURE_BRANCH);
+        List<RecordedCommand> commands = new CommandReplayer(recordingFile).getCommands();
+        assertFalse(commands.isEmpty());
+        RecordedCommand checkout = null;
+        for (RecordedCommand command : commands) {
+            List<String> args = command.getCommandArgs();
+            if ("git".equals(command.getExecutableName()) && args.size() > 2
+                    && args.subList(0, 3).equals(Arrays.asList("checkout", "-b", FEATURE_BRANCH))) {
+                checkout = command;
+            }
+        }
+        assertNotNull("feature branch creation was not recorded", checkout);
+        assertEquals(0, checkout.getExitCode());
+        assertEquals(repositorySet.getWorkingDirectory().getAbsoluteFile(),
+                new File(checkout.getWorkingDirectory()).getAbsoluteFile());
+    }
+
+    @Test
+    public void testExecuteWithReplayCommands() throws Exception {
+        // set up
+        when(promptControllerMock.prompt(ExecutorHelper.FEATURE_START_PROMPT_FEATURE_BRANCH_NAME))
+                .thenReturn(FEATURE_NAME);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.recordCommands", recordingFile.getAbsolutePath());
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        userProperties = new Properties();
+        userProperties.setProperty("flow.replayCommands", recordingFile.getAbsolutePath());
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        // verify
+        git.assertCurrentBranch(repositorySet, MASTER_BRANCH);
+    }
+}
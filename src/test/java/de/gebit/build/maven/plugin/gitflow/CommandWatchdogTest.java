@@ -0,0 +1,156 @@
+//
+// CommandWatchdogTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.codehaus.plexus.util.Os;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.gebit.build.maven.plugin.gitflow.CommandWatchdog.CommandTimeoutException;
+
+/**
+ * Test for the execution of external commands with timeout and heartbeat.
+ *
+ * @author Volodymyr Medvid
+ */
+public class CommandWatchdogTest {
+
+    private List<String> outLines;
+
+    private List<String> errLines;
+
+    @Before
+    public void setUp() {
+        // the test commands use the unix shell
+        Assume.assumeFalse(Os.isFamily(Os.FAMILY_WINDOWS));
+        outLines = new ArrayList<>();
+        errLines = new ArrayList<>();
+    }
+
+    private Commandline shell(String script) {
+        Commandline cmd = new Commandline();
+        cmd.setExecutable("/bin/sh");
+        cmd.createArg().setValue("-c");
+        cmd.createArg().setValue(script);
+        return cmd;
+    }
+
+    @Test
+    public void testExecuteCommandLine() throws Exception {
+        // test
+        int exitCode = CommandWatchdog.executeCommandLine(shell("echo out; echo err >&2; exit 3"), outLines::add,
+                errLines::add, 10, 0, null);
+        // verify
+        assertEquals(3, exitCode);
+        assertEquals(1, outLines.size());
+        assertEquals("out", outLines.get(0));
+        assertEquals(1, errLines.size());
+        assertEquals("err", errLines.get(0));
+    }
+
+    @Test
+    public void testExecuteCommandLineTimeout() throws Exception {
+        // set up
+        long startTime = System.currentTimeMillis();
+        // test
+        try {
+            CommandWatchdog.executeCommandLine(shell("echo started; sleep 30"), outLines::add, errLines::add, 1, 0,
+                    null);
+            fail("CommandTimeoutException expected");
+        } catch (CommandTimeoutException e) {
+            // verify
+            assertEquals(1, e.getTimeoutSeconds());
+        }
+        long duration = System.currentTimeMillis() - startTime;
+        assertTrue("command was not terminated after timeout: " + duration + " ms", duration < 10000);
+    }
+
+    @Test
+    public void testExecuteCommandLineHeartbeat() throws Exception {
+        // set up
+        List<Long> heartbeats = new ArrayList<>();
+        // test
+        int exitCode = CommandWatchdog.executeCommandLine(shell("sleep 3"), outLines::add, errLines::add, 0, 1,
+                heartbeats::add);
+        // verify
+        assertEquals(0, exitCode);
+        assertTrue("expected at least two heartbeats but got " + heartbeats, heartbeats.size() >= 2);
+        for (int i = 1; i < heartbeats.size(); i++) {
+            assertTrue("heartbeats not in order: " + heartbeats, heartbeats.get(i) > heartbeats.get(i - 1));
+        }
+    }
+
+    @Test
+    public void testExecuteCommandLineHeartbeatNotForFastCommand() throws Exception {
+        // set up
+        List<Long> heartbeats = new ArrayList<>();
+        // test
+        int exitCode = CommandWatchdog.executeCommandLine(shell("exit 0"), outLines::add, errLines::add, 10, 5,
+                heartbeats::add);
+        // verify
+        assertEquals(0, exitCode);
+        assertTrue(heartbeats.isEmpty());
+    }
+
+    @Test
+    public void testExecuteCommandLineStopRequested() throws Exception {
+        // set up
+        AtomicBoolean firstLineConsumed = new AtomicBoolean(false);
+        long startTime = System.currentTimeMillis();
+        // test
+        int exitCode = CommandWatchdog.executeCommandLine(shell("echo first; exec sleep 30"), line -> {
+            outLines.add(line);
+            firstLineConsumed.set(true);
+        }, errLines::add, 60, 0, null, firstLineConsumed::get);
+        // verify
+        long duration = System.currentTimeMillis() - startTime;
+        assertTrue("command was not terminated on stop request: " + duration + " ms", duration < 10000);
+        assertEquals("terminated command is successful", 0, exitCode);
+        assertEquals(1, outLines.size());
+        assertEquals("first", outLines.get(0));
+    }
+
+    @Test
+    public void testExecuteCommandLineStopRequestedAfterCommandFinished() throws Exception {
+        // set up
+        AtomicBoolean firstLineConsumed = new AtomicBoolean(false);
+        // test
+        int exitCode = CommandWatchdog.executeCommandLine(shell("echo first; exit 3"), line -> {
+            outLines.add(line);
+            firstLineConsumed.set(true);
+        }, errLines::add, 60, 0, null, firstLineConsumed::get);
+        // verify
+        assertEquals("command stopped on request is successful", 0, exitCode);
+        assertEquals(1, outLines.size());
+    }
+
+    @Test
+    public void testExecuteCommandLineStopNotRequested() throws Exception {
+        // set up
+        AtomicBoolean stopRequested = new AtomicBoolean(false);
+        // test
+        int exitCode = CommandWatchdog.executeCommandLine(shell("echo first; echo second; exit 3"), outLines::add,
+                errLines::add, 60, 0, null, stopRequested::get);
+        // verify
+        assertEquals(3, exitCode);
+        assertEquals(2, outLines.size());
+        assertFalse(stopRequested.get());
+    }
+}
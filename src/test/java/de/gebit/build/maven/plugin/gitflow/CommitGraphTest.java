@@ -0,0 +1,234 @@
+//
+// CommitGraphTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the in-memory commit graph loaded from the output of
+ * <code>git rev-list</code>.
+ *
+ * @author Volodymyr Medvid
+ */
+public class CommitGraphTest {
+
+    private static final int HISTORY_LENGTH = 500;
+
+    private GitCommandLineRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = GitCommandLineRepository.create();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    private CommitGraph loadGraph(String... revListArgs) throws Exception {
+        String[] args = new String[revListArgs.length + 3];
+        args[0] = "rev-list";
+        args[1] = "--topo-order";
+        args[2] = "--parents";
+        System.arraycopy(revListArgs, 0, args, 3, revListArgs.length);
+        return CommitGraph.parse(repository.git(args));
+    }
+
+    private boolean gitIsAncestor(String ancestor, String commit) throws Exception {
+        return repository.gitExitCode("merge-base", "--is-ancestor", ancestor, commit) == 0;
+    }
+
+    @Test
+    public void testParseEmptyOutput() {
+        // test
+        CommitGraph graph = CommitGraph.parse("");
+        // verify
+        assertEquals(0, graph.size());
+        assertFalse(graph.contains("0123"));
+    }
+
+    @Test
+    public void testIsAncestor() throws Exception {
+        // set up
+        String root = repository.commit("root");
+        String first = repository.commit("first");
+        repository.git("checkout", "-q", "-b", "side", root);
+        String side = repository.commit("side");
+        repository.git("checkout", "-q", "master");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge side", "side");
+        String merge = repository.git("rev-parse", "HEAD");
+        // test
+        CommitGraph graph = loadGraph("--all");
+        // verify
+        assertEquals(4, graph.size());
+        for (String ancestor : Arrays.asList(root, first, side, merge)) {
+            for (String commit : Arrays.asList(root, first, side, merge)) {
+                assertEquals(ancestor + " -> " + commit, gitIsAncestor(ancestor, commit),
+                        graph.isAncestor(ancestor, commit));
+            }
+        }
+    }
+
+    @Test
+    public void testGetFirstParentDistance() throws Exception {
+        // set up
+        String root = repository.commit("root");
+        repository.commit("master 1");
+        repository.git("checkout", "-q", "-b", "feature");
+        repository.commit("feature 1");
+        repository.git("checkout", "-q", "master");
+        repository.commit("master 2");
+        repository.git("checkout", "-q", "feature");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge master", "master");
+        repository.commit("feature 2");
+        String feature = repository.git("rev-parse", "feature");
+        String master = repository.git("rev-parse", "master");
+        // test
+        CommitGraph graph = loadGraph("--all");
+        // verify
+        for (String ancestor : Arrays.asList(root, master)) {
+            int expected = Integer.parseInt(
+                    repository.git("rev-list", "--first-parent", "--count", ancestor + ".." + feature));
+            assertEquals(expected, graph.getFirstParentDistance(feature, ancestor));
+        }
+        assertEquals(-1, graph.getFirstParentDistance(feature, "0000000000000000000000000000000000000000"));
+        assertEquals(master, graph.getNearestAncestor(feature, Arrays.asList(root, master)));
+    }
+
+    @Test
+    public void testGetBranchPoints() throws Exception {
+        // set up
+        repository.commit("root");
+        repository.commit("master 1");
+        repository.git("checkout", "-q", "-b", "epic");
+        repository.commit("epic 1");
+        repository.git("checkout", "-q", "-b", "feature");
+        repository.commit("feature 1");
+        repository.git("checkout", "-q", "master");
+        repository.commit("master 2");
+        repository.git("checkout", "-q", "epic");
+        repository.commit("epic 2");
+        String master = repository.git("rev-parse", "master");
+        String epic = repository.git("rev-parse", "epic");
+        String feature = repository.git("rev-parse", "feature");
+        // test
+        CommitGraph graph = loadGraph("--all");
+        String[] branchPoints = graph.computeReachability(Arrays.asList(master, epic))
+                .getBranchPoints(feature);
+        // verify
+        assertEquals(repository.git("merge-base", feature, master), branchPoints[0]);
+        assertEquals(repository.git("merge-base", feature, epic), branchPoints[1]);
+    }
+
+    @Test
+    public void testIsEmptyMergeWithContentOnLongHistory() throws Exception {
+        // set up
+        String historyTip = repository.appendHistory("master", HISTORY_LENGTH);
+        repository.git("checkout", "-q", "-b", "epic");
+        repository.commitFile("epic 1");
+        repository.commitFile("epic 2");
+        repository.git("checkout", "-q", "master");
+        repository.commitFile("base 1");
+        repository.commitFile("base 2");
+        repository.git("checkout", "-q", "epic");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge base", "master");
+        String merge = repository.git("rev-parse", "HEAD");
+        String branchPoint = repository.git("merge-base", "epic", "master");
+        // test
+        CommitGraph graph = loadGraph("--boundary", branchPoint + "..epic");
+        // verify
+        assertTrue("history before the branch point was loaded: " + graph.size() + " commits",
+                graph.size() < 10);
+        assertFalse(graph.contains(repository.git("rev-list", "--max-parents=0", "HEAD")));
+        assertTrue(graph.contains(historyTip));
+        assertEquals(Boolean.FALSE, graph.isEmptyMerge(merge, branchPoint));
+    }
+
+    @Test
+    public void testIsEmptyMergeWithoutContent() throws Exception {
+        // set up
+        repository.appendHistory("master", HISTORY_LENGTH);
+        repository.git("checkout", "-q", "-b", "epic");
+        repository.commitFile("epic 1");
+        repository.git("checkout", "-q", "-b", "feature");
+        repository.commitFile("feature 1");
+        repository.git("checkout", "-q", "epic");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge feature", "feature");
+        String merge = repository.git("rev-parse", "HEAD");
+        String branchPoint = repository.git("merge-base", "epic", "master");
+        // test
+        CommitGraph graph = loadGraph("--boundary", branchPoint + "..epic");
+        // verify
+        assertTrue(graph.size() < 10);
+        assertEquals(Boolean.TRUE, graph.isEmptyMerge(merge, branchPoint));
+    }
+
+    @Test
+    public void testIsEmptyMergeUndecidableWithinBoundary() throws Exception {
+        // set up
+        repository.appendHistory("master", HISTORY_LENGTH);
+        repository.git("checkout", "-q", "-b", "epic");
+        repository.commitFile("epic 1");
+        repository.git("checkout", "-q", "master");
+        repository.commitFile("base 1");
+        repository.commitFile("base 2");
+        String oldBase = repository.git("rev-parse", "HEAD");
+        repository.git("checkout", "-q", "epic");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge base", "master");
+        String oldMerge = repository.git("rev-parse", "HEAD");
+        repository.git("checkout", "-q", "master");
+        repository.commitFile("base 3");
+        repository.git("checkout", "-q", "epic");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge base again", "master");
+        String branchPoint = repository.git("merge-base", "epic", "master");
+        // test
+        CommitGraph graph = loadGraph("--boundary", branchPoint + "..epic");
+        // verify
+        assertTrue(graph.contains(oldBase));
+        // the parents of the old merge are connected only through the history
+        // before the boundary
+        assertNull(graph.isEmptyMerge(oldMerge, branchPoint));
+        assertNull(graph.isEmptyMerge("0000000000000000000000000000000000000000", branchPoint));
+    }
+
+    @Test
+    public void testIsEmptyMergeOnFullHistory() throws Exception {
+        // set up
+        repository.commit("root");
+        repository.git("checkout", "-q", "-b", "feature");
+        repository.commitFile("feature 1");
+        repository.git("checkout", "-q", "master");
+        repository.commitFile("master 1");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge feature", "feature");
+        String nonEmptyMerge = repository.git("rev-parse", "HEAD");
+        repository.git("checkout", "-q", "-b", "other");
+        repository.commitFile("other 1");
+        repository.git("checkout", "-q", "master");
+        repository.git("merge", "-q", "--no-ff", "-m", "merge other", "other");
+        String emptyMerge = repository.git("rev-parse", "HEAD");
+        // test
+        CommitGraph graph = loadGraph("HEAD");
+        // verify
+        assertEquals(Boolean.FALSE, graph.isEmptyMerge(nonEmptyMerge));
+        assertEquals(Boolean.TRUE, graph.isEmptyMerge(emptyMerge));
+        assertNull(graph.isEmptyMerge(repository.git("rev-parse", "other")));
+    }
+}
@@ -0,0 +1,75 @@
+//
+// CommitMessageCleanupTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the cleanup of commit messages created with
+ * <code>git commit-tree</code>.
+ *
+ * @author Volodymyr Medvid
+ */
+public class CommitMessageCleanupTest {
+
+    private static final String[] MESSAGES = { "single line", "single line  \t", "subject\n\nbody",
+            "\n\n  \nsubject  \n\n\n\nbody line 1 \nbody line 2\t\n\n\n", "subject\r\n\r\nbody\r\n",
+            "  indented subject\n    indented body", "subject\n \n\t\n#not a comment\n", "   \n\t\n" };
+
+    private GitCommandLineRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = GitCommandLineRepository.create();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    public void testWhitespace() {
+        assertEquals("subject\n\nbody line 1\nbody line 2\n",
+                CommitMessageCleanup.whitespace("\n\nsubject  \n\n\n\nbody line 1 \nbody line 2\t\n\n"));
+        assertEquals("single line\n", CommitMessageCleanup.whitespace("single line"));
+        assertEquals("", CommitMessageCleanup.whitespace(" \n\n"));
+    }
+
+    @Test
+    public void testWhitespaceSameAsGitStripspace() throws Exception {
+        for (String message : MESSAGES) {
+            // the test repository trims the output of git
+            assertEquals("message: '" + message + "'", repository.gitWithInput(message, "stripspace"),
+                    CommitMessageCleanup.whitespace(message).trim());
+        }
+    }
+
+    @Test
+    public void testWhitespaceSameAsGitCommit() throws Exception {
+        for (String message : MESSAGES) {
+            String cleanMessage = CommitMessageCleanup.whitespace(message);
+            if (cleanMessage.isEmpty()) {
+                continue;
+            }
+            // set up
+            repository.gitWithInput(message, "commit", "-q", "--allow-empty", "-F", "-");
+            String tree = repository.git("rev-parse", "HEAD^{tree}");
+            // test
+            String commitTreeCommit = repository.gitWithInput(cleanMessage, "commit-tree", tree);
+            // verify
+            assertEquals("message: '" + message + "'", repository.git("cat-file", "commit", "HEAD").split("\n\n", 2)[1],
+                    repository.git("cat-file", "commit", commitTreeCommit).split("\n\n", 2)[1]);
+        }
+    }
+}
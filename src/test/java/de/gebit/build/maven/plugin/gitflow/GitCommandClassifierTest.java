@@ -0,0 +1,57 @@
+//
+// GitCommandClassifierTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test for the classification of git commands.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GitCommandClassifierTest {
+
+    @Test
+    public void testReadOnlyCommands() {
+        assertTrue(GitCommandClassifier.isReadOnly("rev-parse", "HEAD"));
+        assertTrue(GitCommandClassifier.isReadOnly("-c", "core.commitGraph=false", "log", "--oneline"));
+        assertTrue(GitCommandClassifier.isReadOnly("remote", "get-url", "origin"));
+        assertFalse(GitCommandClassifier.isReadOnly("remote", "set-url", "origin", "url"));
+        assertFalse(GitCommandClassifier.isReadOnly("update-ref", "refs/heads/master", "HEAD"));
+    }
+
+    @Test
+    public void testConfigReads() {
+        assertTrue(GitCommandClassifier.isReadOnly("config", "--get", "core.sshCommand"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "--get-all", "remote.origin.fetch"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "--get-regexp", "branch\\..*\\.breakpoint"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "--list"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "-l", "--local"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "--file", "other.cfg", "--get", "a.b"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "get", "core.fsmonitor"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "core.fsmonitor"));
+        assertTrue(GitCommandClassifier.isReadOnly("config", "--bool", "rebase.autoSquash"));
+    }
+
+    @Test
+    public void testConfigWrites() {
+        assertFalse(GitCommandClassifier.isReadOnly("config", "branch.feature/x.remote", "origin"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "--local", "branchConfig.a.b", "value"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "--unset", "branch.feature/x.merge"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "--unset-all", "remote.origin.fetch"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "--add", "remote.origin.fetch", "+refs/*"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "--remove-section", "branch.feature/x"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "--file", "other.cfg", "a.b", "c"));
+        assertFalse(GitCommandClassifier.isReadOnly("config", "set", "a.b", "c"));
+        assertFalse(GitCommandClassifier.isReadOnly("config"));
+    }
+}
@@ -0,0 +1,282 @@
+//
+// GitCommandLineRepository.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Temporary git repository manipulated with the git command line. Used by
+ * tests of classes that work on the output of git commands.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GitCommandLineRepository implements Closeable {
+
+    private final File directory;
+
+    private int fileCounter = 0;
+
+    private GitCommandLineRepository(File aDirectory) {
+        directory = aDirectory;
+    }
+
+    /**
+     * Create a new repository with branch <code>master</code> in a temporary
+     * directory.
+     *
+     * @return the repository
+     * @throws IOException
+     *             if the repository can't be created
+     */
+    public static GitCommandLineRepository create() throws IOException {
+        GitCommandLineRepository repository = new GitCommandLineRepository(
+                Files.createTempDirectory("gitflow-git").toFile());
+        repository.git("init", "-q");
+        repository.git("symbolic-ref", "HEAD", "refs/heads/master");
+        repository.git("config", "user.name", "Test");
+        repository.git("config", "user.email", "test@example.com");
+        repository.git("config", "commit.gpgSign", "false");
+        return repository;
+    }
+
+    /**
+     * Create a new bare repository in a temporary directory, e.g. to be used as
+     * remote repository of clones.
+     *
+     * @return the bare repository
+     * @throws IOException
+     *             if the repository can't be created
+     */
+    public static GitCommandLineRepository createBare() throws IOException {
+        GitCommandLineRepository repository = new GitCommandLineRepository(
+                Files.createTempDirectory("gitflow-git-bare").toFile());
+        repository.git("init", "-q", "--bare");
+        repository.git("symbolic-ref", "HEAD", "refs/heads/master");
+        return repository;
+    }
+
+    /**
+     * Use an existing working tree, e.g. a worktree created by the tested
+     * code. Don't close it if the directory is not owned by the test.
+     *
+     * @param aDirectory
+     *            the working directory
+     * @return the repository
+     */
+    public static GitCommandLineRepository open(File aDirectory) {
+        return new GitCommandLineRepository(aDirectory);
+    }
+
+    /**
+     * Clone the repository into a new temporary directory.
+     *
+     * @return the cloned repository
+     * @throws IOException
+     *             if the repository can't be cloned
+     */
+    public GitCommandLineRepository cloneRepository() throws IOException {
+        File cloneDir = Files.createTempDirectory("gitflow-git-clone").toFile();
+        git("clone", "-q", directory.getAbsolutePath(), cloneDir.getAbsolutePath());
+        GitCommandLineRepository clone = new GitCommandLineRepository(cloneDir);
+        clone.git("config", "user.name", "Test");
+        clone.git("config", "user.email", "test@example.com");
+        clone.git("config", "commit.gpgSign", "false");
+        return clone;
+    }
+
+    /**
+     * @return the working directory of the repository
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Execute a git command that is expected to succeed.
+     *
+     * @param args
+     *            the git arguments
+     * @return the trimmed standard output
+     * @throws IOException
+     *             if the command fails
+     */
+    public String git(String... args) throws IOException {
+        return gitWithInput(null, args);
+    }
+
+    /**
+     * Execute a git command with the passed standard input that is expected to
+     * succeed.
+     *
+     * @param input
+     *            the standard input or <code>null</code>
+     * @param args
+     *            the git arguments
+     * @return the trimmed standard output
+     * @throws IOException
+     *             if the command fails
+     */
+    public String gitWithInput(String input, String... args) throws IOException {
+        Result result = execute(input, args);
+        if (result.exitCode != 0) {
+            throw new IOException("git " + Arrays.toString(args) + " failed with exit code " + result.exitCode
+                    + ":\n" + result.err);
+        }
+        return result.out.trim();
+    }
+
+    /**
+     * Execute a git command.
+     *
+     * @param args
+     *            the git arguments
+     * @return the exit code of the command
+     * @throws IOException
+     *             if the command can't be executed
+     */
+    public int gitExitCode(String... args) throws IOException {
+        return execute(null, args).exitCode;
+    }
+
+    private Result execute(String input, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        ProcessBuilder builder = new ProcessBuilder(command).directory(directory);
+        Process process = builder.start();
+        try (OutputStream in = process.getOutputStream()) {
+            if (input != null) {
+                in.write(input.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        Thread errReader = new Thread(() -> copy(process.getErrorStream(), err));
+        errReader.start();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copy(process.getInputStream(), out);
+        try {
+            errReader.join();
+            int exitCode = process.waitFor();
+            return new Result(exitCode, new String(out.toByteArray(), StandardCharsets.UTF_8),
+                    new String(err.toByteArray(), StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while executing git " + Arrays.toString(args), e);
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out) {
+        byte[] buffer = new byte[8192];
+        try {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+        } catch (IOException e) {
+            // process terminated
+        }
+    }
+
+    /**
+     * Create an empty commit on the current branch.
+     *
+     * @param message
+     *            the commit message
+     * @return the id of the new commit
+     * @throws IOException
+     *             if the commit fails
+     */
+    public String commit(String message) throws IOException {
+        git("commit", "-q", "--allow-empty", "-m", message);
+        return git("rev-parse", "HEAD");
+    }
+
+    /**
+     * Create a commit with a new file on the current branch.
+     *
+     * @param message
+     *            the commit message
+     * @return the id of the new commit
+     * @throws IOException
+     *             if the commit fails
+     */
+    public String commitFile(String message) throws IOException {
+        String fileName = "file" + (++fileCounter) + "-" + System.nanoTime() + ".txt";
+        FileUtils.write(new File(directory, fileName), message, StandardCharsets.UTF_8);
+        git("add", fileName);
+        git("commit", "-q", "-m", message);
+        return git("rev-parse", "HEAD");
+    }
+
+    /**
+     * Append a long linear history of empty commits to a branch with one
+     * <code>git fast-import</code>.
+     *
+     * @param branch
+     *            the branch to be extended (created if it doesn't exist)
+     * @param count
+     *            the number of commits
+     * @return the id of the last commit
+     * @throws IOException
+     *             if the commits can't be created
+     */
+    public String appendHistory(String branch, int count) throws IOException {
+        String ref = "refs/heads/" + branch;
+        boolean exists = gitExitCode("rev-parse", "-q", "--verify", ref) == 0;
+        StringBuilder stream = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            String message = "history commit " + i;
+            stream.append("commit ").append(ref).append('\n');
+            stream.append("committer Test <test@example.com> ").append(1500000000L + i).append(" +0000\n");
+            stream.append("data ").append(message.getBytes(StandardCharsets.UTF_8).length).append('\n');
+            stream.append(message).append('\n');
+            if (i == 1 && exists) {
+                stream.append("from ").append(git("rev-parse", ref)).append('\n');
+            }
+            stream.append('\n');
+        }
+        gitWithInput(stream.toString(), "fast-import", "--quiet", "--force");
+        if (ref.equals(git("symbolic-ref", "-q", "HEAD"))) {
+            git("reset", "-q", "--hard");
+        }
+        return git("rev-parse", ref);
+    }
+
+    @Override
+    public void close() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private static class Result {
+
+        private final int exitCode;
+
+        private final String out;
+
+        private final String err;
+
+        private Result(int anExitCode, String anOut, String anErr) {
+            exitCode = anExitCode;
+            out = anOut;
+            err = anErr;
+        }
+    }
+}
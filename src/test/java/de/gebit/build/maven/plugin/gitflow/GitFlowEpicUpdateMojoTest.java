@@ -17,11 +17,15 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.model.Model;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
@@ -2687,4 +2691,136 @@ public class GitFlowEpicUpdateMojoTest extends AbstractGitFlowMojoTestCase {
         assertEpicMergedCorrectly();
     }
 
+    @Test
+    public void testExecuteWithRebaseStackedBranches() throws Exception {
+        // set up
+        final String STACKED_BRANCH = "feature/stacked";
+        prepareEpicBranchDivergentFromMaster();
+        GitCommandLineRepository repository = GitCommandLineRepository.open(repositorySet.getWorkingDirectory());
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_ON_EPIC_BRANCH);
+        repository.commitFile("FEATURE: Unit test dummy file commit");
+        git.createBranch(repositorySet, STACKED_BRANCH);
+        repository.commitFile("STACKED: Unit test dummy file commit");
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH);
+        repository.commitFile("FEATURE WITHOUT VERSION: Unit test dummy file commit");
+        git.switchToBranch(repositorySet, EPIC_BRANCH);
+        String oldEpicHEAD = git.localBranchCurrentCommit(repositorySet, EPIC_BRANCH);
+        List<String> subBranches = Arrays.asList(BasicConstants.FEATURE_ON_EPIC_BRANCH, STACKED_BRANCH,
+                BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH);
+        List<String> expectedOwnCommits = new ArrayList<>();
+        for (String subBranch : subBranches) {
+            expectedOwnCommits.add(repository.git("log", "--format=%s", oldEpicHEAD + ".." + subBranch));
+        }
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.rebaseStackedBranches", "true");
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties);
+        // verify
+        assertEpicRebasedCorrectly(EPIC_BRANCH, EPIC_VERSION, COMMIT_MESSAGE_SET_VERSION);
+        String epicHEAD = git.localBranchCurrentCommit(repositorySet, EPIC_BRANCH);
+        for (int i = 0; i < subBranches.size(); i++) {
+            String subBranch = subBranches.get(i);
+            assertEquals("branch point of " + subBranch, epicHEAD, repository.git("merge-base", EPIC_BRANCH,
+                    subBranch));
+            assertEquals("commits replayed once on " + subBranch, expectedOwnCommits.get(i),
+                    repository.git("log", "--format=%s", EPIC_BRANCH + ".." + subBranch));
+        }
+        git.assertContainsCommit(repositorySet, STACKED_BRANCH, BasicConstants.FEATURE_ON_EPIC_BRANCH);
+        git.assertBranchLocalConfigValueMissing(repositorySet, EPIC_BRANCH, "stackedBranchTips");
+    }
+
+    @Test
+    public void testExecuteWithRebaseStackedBranchesThatShareCommits() throws Exception {
+        // set up
+        final String STACKED_BRANCH_A = "feature/stacked-a";
+        final String STACKED_BRANCH_B = "feature/stacked-b";
+        prepareEpicBranchDivergentFromMaster();
+        GitCommandLineRepository repository = GitCommandLineRepository.open(repositorySet.getWorkingDirectory());
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_ON_EPIC_BRANCH);
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH);
+        repository.commitFile("SHARED: Unit test dummy file commit");
+        git.createBranch(repositorySet, STACKED_BRANCH_A);
+        repository.commitFile("A: Unit test dummy file commit");
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH);
+        git.createBranch(repositorySet, STACKED_BRANCH_B);
+        repository.commitFile("B: Unit test dummy file commit");
+        git.switchToBranch(repositorySet, EPIC_BRANCH);
+        String oldEpicHEAD = git.localBranchCurrentCommit(repositorySet, EPIC_BRANCH);
+        String stackedBranchA = git.localBranchCurrentCommit(repositorySet, STACKED_BRANCH_A);
+        List<String> subBranches = new ArrayList<>(Arrays.asList(BasicConstants.FEATURE_ON_EPIC_BRANCH,
+                BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH, STACKED_BRANCH_A, STACKED_BRANCH_B));
+        Collections.sort(subBranches);
+        String reason = "found branches based on epic branch:\n- " + String.join("\n- ", subBranches);
+        String promptMessage = "Epic branch can't be rebased. Reason: " + reason + "\n"
+                + "If you continue with merge, a later rebase will not be possible.\n"
+                + "Do you want to merge base branch into epic branch?";
+        when(promptControllerMock.prompt(promptMessage, Arrays.asList("y", "n"), "n")).thenReturn("n");
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.rebaseStackedBranches", "true");
+        // test
+        MavenExecutionResult result = executeMojoWithResult(repositorySet.getWorkingDirectory(), GOAL,
+                userProperties, promptControllerMock);
+        // verify
+        verify(promptControllerMock).prompt(promptMessage, Arrays.asList("y", "n"), "n");
+        verifyNoMoreInteractions(promptControllerMock);
+        assertGitFlowFailureException(result,
+                "Epic branch can't be rebased. Reason: " + reason
+                        + "\nIf you continue with merge, a later rebase will not be possible.",
+                "Finish the listed branches and run epic update again in order to rebase it.\n"
+                        + "Or run epic update in interactive mode in order to update epic branch using merge.",
+                "'mvn flow:epic-update' to run in interactive mode");
+        git.assertClean(repositorySet);
+        git.assertCurrentBranch(repositorySet, EPIC_BRANCH);
+        assertEquals(oldEpicHEAD, git.localBranchCurrentCommit(repositorySet, EPIC_BRANCH));
+        assertEquals(stackedBranchA, git.localBranchCurrentCommit(repositorySet, STACKED_BRANCH_A));
+        git.assertBranchLocalConfigValueMissing(repositorySet, EPIC_BRANCH, "stackedBranchTips");
+    }
+
+    @Test
+    public void testExecuteWithRebaseStackedBranchesAndConflictOnSubBranch() throws Exception {
+        // set up
+        prepareEpicBranchDivergentFromMaster();
+        GitCommandLineRepository repository = GitCommandLineRepository.open(repositorySet.getWorkingDirectory());
+        File conflictFile = new File(repositorySet.getWorkingDirectory(), "conflict.txt");
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        FileUtils.write(conflictFile, "master", StandardCharsets.UTF_8);
+        repository.git("add", conflictFile.getName());
+        repository.git("commit", "-q", "-m", "MASTER: conflicting change");
+        git.push(repositorySet);
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_ON_EPIC_BRANCH);
+        repository.commitFile("FEATURE: Unit test dummy file commit");
+        git.switchToBranch(repositorySet, BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH);
+        FileUtils.write(conflictFile, "feature", StandardCharsets.UTF_8);
+        repository.git("add", conflictFile.getName());
+        repository.git("commit", "-q", "-m", "FEATURE: conflicting change");
+        git.switchToBranch(repositorySet, EPIC_BRANCH);
+        String oldEpicHEAD = git.localBranchCurrentCommit(repositorySet, EPIC_BRANCH);
+        String conflictingBranch = git.localBranchCurrentCommit(repositorySet,
+                BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.rebaseStackedBranches", "true");
+        // test
+        MavenExecutionResult result = executeMojoWithResult(repositorySet.getWorkingDirectory(), GOAL,
+                userProperties);
+        // verify
+        assertGitFlowFailureException(result,
+                "Epic branch '" + EPIC_BRANCH + "' was updated but following branches based on it couldn't be "
+                        + "rebased automatically:\n- " + BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH
+                        + " (rebase failed)",
+                "Rebase the listed branches manually. Branches with a version change commit have to be rebased "
+                        + "with 'mvn flow:feature-rebase' in order to update the feature version.",
+                "'git rebase --update-refs --onto " + EPIC_BRANCH + " " + oldEpicHEAD + " <branch>' to rebase a "
+                        + "branch and the branches stacked below it",
+                "'mvn flow:feature-rebase' on a branch with version change commit");
+        git.assertClean(repositorySet);
+        git.assertCurrentBranch(repositorySet, EPIC_BRANCH);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, EPIC_BRANCH, EPIC_BRANCH);
+        git.assertContainsCommit(repositorySet, EPIC_BRANCH, MASTER_BRANCH);
+        assertEquals(conflictingBranch, git.localBranchCurrentCommit(repositorySet,
+                BasicConstants.FEATURE_WITHOUT_VERSION_ON_EPIC_BRANCH));
+        git.assertContainsCommit(repositorySet, BasicConstants.FEATURE_ON_EPIC_BRANCH, EPIC_BRANCH);
+        git.assertBranchLocalConfigValueMissing(repositorySet, EPIC_BRANCH, "stackedBranchTips");
+        git.assertBranchLocalConfigValueMissing(repositorySet, EPIC_BRANCH, "oldEpicHEAD");
+    }
+
 }
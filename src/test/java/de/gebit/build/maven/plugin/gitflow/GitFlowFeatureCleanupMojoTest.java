@@ -10,21 +10,30 @@ package de.gebit.build.maven.plugin.gitflow;
 
 import static de.gebit.build.maven.plugin.gitflow.jgit.GitExecution.COMMIT_MESSAGE_FOR_TESTFILE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Properties;
 import java.util.Set;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.execution.MavenExecutionResult;
+import org.codehaus.plexus.util.Os;
 import org.eclipse.jgit.api.CheckoutCommand.Stage;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ReflogEntry;
+import org.eclipse.jgit.revwalk.RevCommit;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -1826,4 +1835,69 @@ public class GitFlowFeatureCleanupMojoTest extends AbstractGitFlowMojoTestCase {
         assertCleanedUpCorrectly();
     }
 
+    @Test
+    public void testExecuteInMemorySquashSameAsSquashInWorkingTree() throws Exception {
+        // set up
+        final String SQUASH_MESSAGE_WITH_WHITESPACES = "SQUASH: first line  \\n\\n\\n\\nsecond line \\n"
+                + "third line\\n\\n";
+        addTwoCommitsToFeatureBranch();
+        String expectedSquash = squashAndDescribeSquashCommit(SQUASH_MESSAGE_WITH_WHITESPACES, false);
+        assertFalse(hasReflogEntry(FEATURE_BRANCH, "squash"));
+        recreateRepositorySet();
+        addTwoCommitsToFeatureBranch();
+        // test
+        String squash = squashAndDescribeSquashCommit(SQUASH_MESSAGE_WITH_WHITESPACES, true);
+        // verify
+        assertTrue("squash was not executed in memory", hasReflogEntry(FEATURE_BRANCH, "squash"));
+        assertEquals(expectedSquash, squash);
+        assertTrue(squash, squash.endsWith("\nSQUASH: first line\n\nsecond line\nthird line\n"));
+    }
+
+    @Test
+    public void testExecuteInMemorySquashWithCommitMsgHook() throws Exception {
+        // set up
+        Assume.assumeFalse("the hook uses the unix shell", Os.isFamily(Os.FAMILY_WINDOWS));
+        addTwoCommitsToFeatureBranch();
+        File hook = new File(repositorySet.getLocalRepoGit().getRepository().getDirectory(), "hooks/commit-msg");
+        FileUtils.write(hook, "#!/bin/sh\nprintf '\\nReviewed-by: hook\\n' >> \"$1\"\n", StandardCharsets.UTF_8);
+        hook.setExecutable(true);
+        // test
+        String squash = squashAndDescribeSquashCommit(SQUASH_COMMIT_MESSAGE, true);
+        // verify
+        assertFalse(hasReflogEntry(FEATURE_BRANCH, "squash"));
+        assertTrue(squash, squash.endsWith("\n" + PREPARED_SQUASH_MESSAGE + "\n\nReviewed-by: hook\n"));
+    }
+
+    /**
+     * Squash the feature commits and describe the resulting squash commit by
+     * tree, parent and message.
+     */
+    private String squashAndDescribeSquashCommit(String squashMessage, boolean inMemorySquash) throws Exception {
+        userProperties.setProperty("flow.cleanupSquash", "true");
+        userProperties.setProperty("squashMessage", squashMessage);
+        userProperties.setProperty("flow.inMemorySquash", Boolean.toString(inMemorySquash));
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        git.assertClean(repositorySet);
+        git.assertCurrentBranch(repositorySet, FEATURE_BRANCH);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, FEATURE_BRANCH, FEATURE_BRANCH);
+        git.assertTestfileContentModified(repositorySet);
+        RevCommit squash = git.lastLocalCommitInBranch(repositorySet, FEATURE_BRANCH);
+        return squash.getTree().name() + " " + squash.getParent(0).name() + "\n" + squash.getFullMessage();
+    }
+
+    private void recreateRepositorySet() throws Exception {
+        repositorySet.close();
+        FileUtils.deleteDirectory(repositorySet.getWorkingDirectory().getParentFile());
+        repositorySet = git.useGitRepositorySet(TestProjects.BASIC, FEATURE_BRANCH);
+    }
+
+    private boolean hasReflogEntry(String branch, String comment) throws Exception {
+        for (ReflogEntry entry : repositorySet.getLocalRepoGit().reflog().setRef("refs/heads/" + branch).call()) {
+            if (comment.equals(entry.getComment())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -11,6 +11,7 @@ package de.gebit.build.maven.plugin.gitflow;
 import static de.gebit.build.maven.plugin.gitflow.jgit.GitExecution.COMMIT_MESSAGE_FOR_TESTFILE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -18,6 +19,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.List;
@@ -29,9 +31,13 @@ import org.apache.maven.model.Model;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.codehaus.plexus.components.interactivity.PrompterException;
 import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.Os;
 import org.eclipse.jgit.api.CheckoutCommand.Stage;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ReflogEntry;
+import org.eclipse.jgit.revwalk.RevCommit;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -1848,6 +1854,52 @@ public class GitFlowFeatureFinishMojoTest extends AbstractGitFlowMojoTestCase {
         assertVersionsInPom(repositorySet.getWorkingDirectory(), TestProjects.BASIC.version);
     }
 
+    @Test
+    public void testExecuteInIsolatedWorktreeContinueAfterResolvedMergeConflict() throws Exception {
+        // set up
+        final String COMMIT_MESSAGE_MASTER_TESTFILE = "MASTER: Unit test dummy file commit";
+        git.createAndCommitTestfile(repositorySet);
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        git.createTestfile(repositorySet);
+        git.modifyTestfile(repositorySet);
+        git.commitAll(repositorySet, COMMIT_MESSAGE_MASTER_TESTFILE);
+        git.switchToBranch(repositorySet, FEATURE_BRANCH);
+        String featureCommit = git.lastLocalCommitInBranch(repositorySet, FEATURE_BRANCH).name();
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.isolatedWorktree", "true");
+        mockupPromptMessageWithoutRebase("m");
+        MavenExecutionResult result = executeMojoWithResult(repositorySet.getWorkingDirectory(), GOAL,
+                userProperties, promptControllerMock);
+        verifyPromptMessageWithoutRebase();
+        verifyNoMoreInteractionsAndReset(promptControllerMock);
+        assertGitFlowFailureException(result, EXPECTED_MERGE_CONFLICT_MESSAGE);
+        // the merge conflict is in the isolated worktree, the user's files are
+        // unchanged and the HEAD is detached while the goal is paused
+        git.assertClean(repositorySet);
+        assertEquals(featureCommit, repositorySet.getLocalRepoGit().getRepository().getFullBranch());
+        GitCommandLineRepository worktree = GitCommandLineRepository.open(IsolatedWorktree
+                .getDirectory(repositorySet.getLocalRepoGit().getRepository().getDirectory()));
+        assertEquals(MASTER_BRANCH, worktree.git("symbolic-ref", "--short", "HEAD"));
+        worktree.git("checkout", "--theirs", "--", GitExecution.TESTFILE_NAME);
+        worktree.git("add", GitExecution.TESTFILE_NAME);
+        when(promptControllerMock.prompt(PROMPT_MERGE_CONTINUE, Arrays.asList("y", "n"), "y")).thenReturn("y");
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        // verify
+        verify(promptControllerMock).prompt(PROMPT_MERGE_CONTINUE, Arrays.asList("y", "n"), "y");
+        verifyNoMoreInteractions(promptControllerMock);
+        assertFalse(worktree.getDirectory().exists());
+        git.assertMissingLocalBranches(repositorySet, FEATURE_BRANCH);
+        git.assertMissingRemoteBranches(repositorySet, FEATURE_BRANCH);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, MASTER_BRANCH, MASTER_BRANCH);
+        git.assertCommitHeadLinesInLocalBranch(repositorySet, MASTER_BRANCH, COMMIT_MESSAGE_MERGE,
+                GitExecution.COMMIT_MESSAGE_FOR_TESTFILE, COMMIT_MESSAGE_MASTER_TESTFILE);
+        // the deleted feature branch was checked out by the user, so the HEAD
+        // stays detached at the commit of the user's files
+        assertEquals(featureCommit, repositorySet.getLocalRepoGit().getRepository().getFullBranch());
+        git.assertClean(repositorySet);
+    }
+
     @Test
     public void testExecuteContinueAfterMergeConflictAndPromptAnswerNo() throws Exception {
         // set up
@@ -2877,4 +2929,130 @@ public class GitFlowFeatureFinishMojoTest extends AbstractGitFlowMojoTestCase {
         assertFeatureFinishedCorrectly();
     }
 
+    @Test
+    public void testExecuteInMemoryMergeSameAsMergeInWorkingTree() throws Exception {
+        // set up
+        prepareFeatureBranchAndDivergedMaster();
+        String expectedMerge = finishFeatureAndDescribeMerge(false);
+        assertFalse(hasReflogEntry(MASTER_BRANCH, "merge " + FEATURE_BRANCH));
+        recreateRepositorySet();
+        prepareFeatureBranchAndDivergedMaster();
+        // test
+        String merge = finishFeatureAndDescribeMerge(true);
+        // verify
+        assertTrue("merge was not executed in memory", hasReflogEntry(MASTER_BRANCH, "merge " + FEATURE_BRANCH));
+        assertEquals(expectedMerge, merge);
+    }
+
+    @Test
+    public void testExecuteInMemoryMergeWithCommitMsgHook() throws Exception {
+        // set up
+        Assume.assumeFalse("the hook uses the unix shell", Os.isFamily(Os.FAMILY_WINDOWS));
+        prepareFeatureBranchAndDivergedMaster();
+        File hook = new File(repositorySet.getLocalRepoGit().getRepository().getDirectory(), "hooks/commit-msg");
+        FileUtils.fileWrite(hook, "UTF-8", "#!/bin/sh\nprintf '\\nReviewed-by: hook\\n' >> \"$1\"\n");
+        hook.setExecutable(true);
+        // test
+        String merge = finishFeatureAndDescribeMerge(true);
+        // verify
+        assertFalse(hasReflogEntry(MASTER_BRANCH, "merge " + FEATURE_BRANCH));
+        assertTrue(merge, merge.endsWith(COMMIT_MESSAGE_MERGE + "\n\nReviewed-by: hook\n"));
+    }
+
+    @Test
+    public void testExecuteInMemoryMergeWithCommitSigning() throws Exception {
+        // set up
+        Assume.assumeFalse("the signing program uses the unix shell", Os.isFamily(Os.FAMILY_WINDOWS));
+        prepareFeatureBranchAndDivergedMaster();
+        File signArgs = installFakeSigningProgram("gpg", "program");
+        git.setConfigValue(repositorySet, "commit", null, "gpgSign", "true");
+        // test
+        finishFeatureAndDescribeMerge(true);
+        // verify
+        assertFalse(hasReflogEntry(MASTER_BRANCH, "merge " + FEATURE_BRANCH));
+        assertSignedMerge();
+        assertTrue(signArgs.exists());
+    }
+
+    @Test
+    public void testExecuteInMemoryMergeWithX509SigningKey() throws Exception {
+        // set up
+        Assume.assumeFalse("the signing program uses the unix shell", Os.isFamily(Os.FAMILY_WINDOWS));
+        prepareFeatureBranchAndDivergedMaster();
+        File signArgs = installFakeSigningProgram("gpg.x509", "program");
+        git.setConfigValue(repositorySet, "gpg", null, "format", "x509");
+        git.setConfigValue(repositorySet, "user", null, "signingkey", "TESTKEY");
+        git.setConfigValue(repositorySet, "commit", null, "gpgSign", "true");
+        // test
+        finishFeatureAndDescribeMerge(true);
+        // verify
+        assertFalse(hasReflogEntry(MASTER_BRANCH, "merge " + FEATURE_BRANCH));
+        assertSignedMerge();
+        assertTrue(FileUtils.fileRead(signArgs, "UTF-8").contains("TESTKEY"));
+    }
+
+    private void prepareFeatureBranchAndDivergedMaster() throws Exception {
+        final String COMMIT_MESSAGE_MASTER_TESTFILE = "MASTER: Unit test dummy file commit";
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        git.createAndCommitTestfile(repositorySet, "master_testfile.txt", COMMIT_MESSAGE_MASTER_TESTFILE);
+        git.push(repositorySet);
+        git.switchToBranch(repositorySet, FEATURE_BRANCH);
+        git.createAndCommitTestfile(repositorySet);
+        mockupPromptMessageWithoutRebase("m");
+    }
+
+    /**
+     * Finish the feature and describe the resulting merge commit by tree,
+     * number of parents and message.
+     */
+    private String finishFeatureAndDescribeMerge(boolean inMemoryMerge) throws Exception {
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.inMemoryMerge", Boolean.toString(inMemoryMerge));
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        git.assertClean(repositorySet);
+        git.assertCurrentBranch(repositorySet, MASTER_BRANCH);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, MASTER_BRANCH, MASTER_BRANCH);
+        RevCommit merge = git.lastLocalCommitInBranch(repositorySet, MASTER_BRANCH);
+        return merge.getTree().name() + " " + merge.getParentCount() + "\n" + merge.getFullMessage();
+    }
+
+    private void recreateRepositorySet() throws Exception {
+        repositorySet.close();
+        FileUtils.deleteDirectory(repositorySet.getWorkingDirectory().getParentFile());
+        repositorySet = git.useGitRepositorySet(TestProjects.BASIC, FEATURE_BRANCH);
+    }
+
+    private boolean hasReflogEntry(String branch, String comment) throws Exception {
+        for (ReflogEntry entry : repositorySet.getLocalRepoGit().reflog().setRef("refs/heads/" + branch).call()) {
+            if (comment.equals(entry.getComment())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Install a signing program that accepts everything and writes its
+     * arguments to the returned file.
+     */
+    private File installFakeSigningProgram(String configSection, String configName) throws IOException {
+        File dir = repositorySet.getWorkingDirectory().getParentFile();
+        File signArgs = new File(dir, "sign-args.txt");
+        File program = new File(dir, "fake-sign.sh");
+        FileUtils.fileWrite(program, "UTF-8",
+                "#!/bin/sh\necho \"$*\" > '" + signArgs.getAbsolutePath() + "'\ncat > /dev/null\n"
+                        + "printf '\\n[GNUPG:] SIG_CREATED D\\n' >&2\n"
+                        + "printf -- '-----BEGIN PGP SIGNATURE-----\\n\\nfake\\n-----END PGP SIGNATURE-----\\n'\n");
+        program.setExecutable(true);
+        git.setConfigValue(repositorySet, configSection, null, configName, program.getAbsolutePath());
+        return signArgs;
+    }
+
+    private void assertSignedMerge() throws Exception {
+        RevCommit merge = git.lastLocalCommitInBranch(repositorySet, MASTER_BRANCH);
+        assertEquals(2, merge.getParentCount());
+        assertTrue("merge commit is not signed",
+                new String(merge.getRawBuffer(), StandardCharsets.UTF_8).contains("\ngpgsig -----BEGIN"));
+    }
+
 }
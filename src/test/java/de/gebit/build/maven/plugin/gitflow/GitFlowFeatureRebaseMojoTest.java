@@ -2492,6 +2492,59 @@ public class GitFlowFeatureRebaseMojoTest extends AbstractGitFlowMojoTestCase {
         }
     }
 
+    @Test
+    public void testExecuteWithChainOfDeletedModulesOnFeatureBranchAndMergeBackend() throws Exception {
+        // the merge backend stores the rebase progress in rebase-merge/msgnum
+        executeWithChainOfDeletedModulesOnFeatureBranch("merge");
+    }
+
+    @Test
+    public void testExecuteWithChainOfDeletedModulesOnFeatureBranchAndApplyBackend() throws Exception {
+        // the apply backend stores the rebase progress in rebase-apply/next
+        executeWithChainOfDeletedModulesOnFeatureBranch("apply");
+    }
+
+    private void executeWithChainOfDeletedModulesOnFeatureBranch(String rebaseBackend) throws Exception {
+        final String NEW_MASTER_VERSION = "7.6.5-SNAPSHOT";
+        final String NEW_FEATURE_VERSION = "7.6.5-" + FEATURE_ISSUE + "-SNAPSHOT";
+        final String COMMIT_MESSAGE_MASTER_VERSION_UPDATE = "MASTER: update project version";
+        final String COMMIT_MESSAGE_DELETE_MODULE1 = FEATURE_ISSUE + ": delete module1";
+        final String COMMIT_MESSAGE_DELETE_MODULE2 = FEATURE_ISSUE + ": delete module2";
+        try (RepositorySet otherRepositorySet = git.createGitRepositorySet(TestProjects.WITH_MODULES.basedir)) {
+            // set up
+            git.setConfigValue(otherRepositorySet, "rebase", null, "backend", rebaseBackend);
+            ExecutorHelper.executeFeatureStart(this, otherRepositorySet, FEATURE_NAME);
+            git.switchToBranch(otherRepositorySet, MASTER_BRANCH);
+            setProjectVersion(otherRepositorySet, NEW_MASTER_VERSION);
+            git.commitAll(otherRepositorySet, COMMIT_MESSAGE_MASTER_VERSION_UPDATE);
+            git.push(otherRepositorySet);
+            git.switchToBranch(otherRepositorySet, FEATURE_BRANCH);
+            // each module deletion conflicts with the version update of the
+            // module on master, the patches in between apply cleanly
+            removeModule(otherRepositorySet, "module1");
+            git.commitAll(otherRepositorySet, COMMIT_MESSAGE_DELETE_MODULE1);
+            git.createAndCommitTestfile(otherRepositorySet, "feature_testfile.txt", COMMIT_MESSAGE_FEATURE_TESTFILE);
+            removeModule(otherRepositorySet, "module2");
+            git.commitAll(otherRepositorySet, COMMIT_MESSAGE_DELETE_MODULE2);
+            // test
+            executeMojo(otherRepositorySet.getWorkingDirectory(), GOAL);
+            // verify
+            git.assertClean(otherRepositorySet);
+            git.assertCurrentBranch(otherRepositorySet, FEATURE_BRANCH);
+            git.assertLocalAndRemoteBranchesAreIdentical(otherRepositorySet, FEATURE_BRANCH, FEATURE_BRANCH);
+            git.assertCommitsInLocalBranch(otherRepositorySet, FEATURE_BRANCH, COMMIT_MESSAGE_DELETE_MODULE2,
+                    COMMIT_MESSAGE_FEATURE_TESTFILE, COMMIT_MESSAGE_DELETE_MODULE1, COMMIT_MESSAGE_SET_VERSION,
+                    COMMIT_MESSAGE_MASTER_VERSION_UPDATE);
+            assertVersionsInPom(otherRepositorySet.getWorkingDirectory(), NEW_FEATURE_VERSION);
+            assertFalse("module1 directory shouldn't exist",
+                    new File(otherRepositorySet.getWorkingDirectory(), "module1").exists());
+            assertFalse("module2 directory shouldn't exist",
+                    new File(otherRepositorySet.getWorkingDirectory(), "module2").exists());
+            Model workingPom = readPom(otherRepositorySet.getWorkingDirectory());
+            assertEquals(0, workingPom.getModules().size());
+        }
+    }
+
     @Test
     public void testExecuteWithBranchNameCurrentFeature() throws Exception {
         // set up
@@ -410,6 +410,39 @@ public class GitFlowFeatureStartMojoTest extends AbstractGitFlowMojoTestCase {
         assertNoChanges();
     }
 
+    @Test
+    public void testExecuteWithBackgroundFetch() throws Exception {
+        // set up
+        when(promptControllerMock.prompt(ExecutorHelper.FEATURE_START_PROMPT_FEATURE_BRANCH_NAME))
+                .thenReturn(FEATURE_NAME);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.backgroundFetch", "true");
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        // verify
+        verify(promptControllerMock).prompt(ExecutorHelper.FEATURE_START_PROMPT_FEATURE_BRANCH_NAME);
+        verifyNoMoreInteractions(promptControllerMock);
+        assertFeatureStartedCorrectly();
+        assertCentralBranchConfigSetCorrectly(git.currentCommit(repositorySet));
+    }
+
+    @Test
+    public void testExecuteWithBackgroundFetchAndRemoteChanges() throws Exception {
+        // set up
+        git.remoteCreateTestfile(repositorySet);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.backgroundFetch", "true");
+        // test
+        MavenExecutionResult result = executeMojoWithResult(repositorySet.getWorkingDirectory(), GOAL,
+                userProperties);
+        // verify
+        assertGitFlowFailureException(result, "Remote branch is ahead of the local branch '" + MASTER_BRANCH + "'.",
+                "Pull changes on remote branch to the local branch in order to proceed or run feature start in "
+                        + "interactive mode.",
+                "'git pull' to pull changes into local branch", "'mvn flow:feature-start' to run in interactive mode");
+        assertNoChanges();
+    }
+
     @Test
     public void testExecuteWithRemoteChangesInInteractiveModeAndAnswerLocal() throws Exception {
         // set up
@@ -9,15 +9,18 @@
 package de.gebit.build.maven.plugin.gitflow;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Properties;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.model.io.ModelParseException;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
@@ -2443,4 +2446,121 @@ public class GitFlowReleaseFinishMojoTest extends AbstractGitFlowMojoTestCase {
         assertReleaseFinishedCorrectly();
     }
 
+    @Test
+    public void testExecuteRemoteMasterBranchAheadOfLocalFastForwardedWithoutCheckout() throws Exception {
+        // set up
+        final String COMMIT_MESSAGE_REMOTE = "REMOTE: Unit test dummy file commit";
+        git.remoteCreateTestfileInBranch(repositorySet, MASTER_BRANCH, "remote-testfile.txt", COMMIT_MESSAGE_REMOTE);
+        String expectedMaster = finishReleaseAndDescribeMaster(false);
+        recreateRepositorySet();
+        git.remoteCreateTestfileInBranch(repositorySet, MASTER_BRANCH, "remote-testfile.txt", COMMIT_MESSAGE_REMOTE);
+        // test
+        String master = finishReleaseAndDescribeMaster(true);
+        // verify
+        assertEquals(expectedMaster, master);
+        git.assertClean(repositorySet);
+        git.assertCurrentBranch(repositorySet, MASTER_BRANCH);
+        git.assertMissingLocalBranches(repositorySet, RELEASE_BRANCH);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, MASTER_BRANCH, MASTER_BRANCH);
+        git.assertCommitsInLocalBranch(repositorySet, MASTER_BRANCH, COMMIT_MESSAGE_RELEASE_FINISH_SET_VERSION,
+                COMMIT_MESSAGE_MERGE_RELEASE, COMMIT_MESSAGE_REMOTE, COMMIT_MESSAGE_RELEASE_START_SET_VERSION);
+        assertVersionsInPom(repositorySet.getWorkingDirectory(), NEW_DEVELOPMENT_VERSION);
+    }
+
+    @Test
+    public void testExecuteLocalAndRemoteMasterBranchesDivergeFastForwardRefused() throws Exception {
+        // set up
+        final String COMMIT_MESSAGE_LOCAL = "LOCAL: Unit test dummy file commit";
+        final String COMMIT_MESSAGE_REMOTE = "REMOTE: Unit test dummy file commit";
+        prepareDivergedMaster(COMMIT_MESSAGE_LOCAL, COMMIT_MESSAGE_REMOTE);
+        String expectedMaster = finishReleaseAndDescribeMaster(false);
+        recreateRepositorySet();
+        prepareDivergedMaster(COMMIT_MESSAGE_LOCAL, COMMIT_MESSAGE_REMOTE);
+        // test
+        String master = finishReleaseAndDescribeMaster(true);
+        // verify
+        assertEquals(expectedMaster, master);
+        git.assertClean(repositorySet);
+        git.assertCurrentBranch(repositorySet, MASTER_BRANCH);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, MASTER_BRANCH, MASTER_BRANCH);
+        git.assertCommitsInLocalBranch(repositorySet, MASTER_BRANCH, COMMIT_MESSAGE_RELEASE_FINISH_SET_VERSION,
+                COMMIT_MESSAGE_MERGE_REMOTE_MASTER, COMMIT_MESSAGE_REMOTE, COMMIT_MESSAGE_MERGE_RELEASE,
+                COMMIT_MESSAGE_LOCAL, COMMIT_MESSAGE_RELEASE_START_SET_VERSION);
+    }
+
+    @Test
+    public void testExecuteMasterBranchCheckedOutInOtherWorktreeNotMovedWithoutCheckout() throws Exception {
+        // set up
+        final String COMMIT_MESSAGE_REMOTE = "REMOTE: Unit test dummy file commit";
+        git.remoteCreateTestfileInBranch(repositorySet, MASTER_BRANCH, "remote-testfile.txt", COMMIT_MESSAGE_REMOTE);
+        File otherWorktreeDir = new File(repositorySet.getWorkingDirectory().getParentFile(), "master-worktree");
+        GitCommandLineRepository repository = GitCommandLineRepository.open(repositorySet.getWorkingDirectory());
+        repository.git("worktree", "add", "-q", otherWorktreeDir.getPath(), MASTER_BRANCH);
+        GitCommandLineRepository otherWorktree = GitCommandLineRepository.open(otherWorktreeDir);
+        String masterCommit = otherWorktree.git("rev-parse", "HEAD");
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.skipRedundantCheckouts", "true");
+        // test
+        executeMojoWithResult(repositorySet.getWorkingDirectory(), GOAL, userProperties);
+        // verify
+        assertEquals("refs/heads/" + MASTER_BRANCH, otherWorktree.git("symbolic-ref", "-q", "HEAD"));
+        assertEquals("files of the other worktree must match its branch", "",
+                otherWorktree.git("status", "--porcelain"));
+        assertEquals(masterCommit, otherWorktree.git("rev-parse", "HEAD"));
+        assertEquals(masterCommit, git.localBranchCurrentCommit(repositorySet, MASTER_BRANCH));
+    }
+
+    @Test
+    public void testExecuteInIsolatedWorktreeKeepsUserPom() throws Exception {
+        // set up
+        git.createAndCommitTestfile(repositorySet);
+        File userPom = new File(repositorySet.getWorkingDirectory(), "pom.xml");
+        String userPomContent = FileUtils.readFileToString(userPom, "UTF-8");
+        String releaseCommit = git.localBranchCurrentCommit(repositorySet, RELEASE_BRANCH);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.isolatedWorktree", "true");
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties);
+        // verify
+        assertEquals("versions must be set in the pom of the isolated worktree", userPomContent,
+                FileUtils.readFileToString(userPom, "UTF-8"));
+        git.assertClean(repositorySet);
+        // the finished release branch was checked out by the user, so the HEAD
+        // stays detached at the commit of the user's files
+        assertEquals(releaseCommit, repositorySet.getLocalRepoGit().getRepository().getFullBranch());
+        git.assertMissingLocalBranches(repositorySet, RELEASE_BRANCH);
+        git.assertLocalTags(repositorySet, RELEASE_TAG);
+        git.assertLocalAndRemoteBranchesAreIdentical(repositorySet, MASTER_BRANCH, MASTER_BRANCH);
+        git.assertCommitsInLocalBranch(repositorySet, MASTER_BRANCH, COMMIT_MESSAGE_RELEASE_FINISH_SET_VERSION,
+                GitExecution.COMMIT_MESSAGE_FOR_TESTFILE, COMMIT_MESSAGE_RELEASE_START_SET_VERSION);
+        String masterPom = GitCommandLineRepository.open(repositorySet.getWorkingDirectory()).git("show",
+                MASTER_BRANCH + ":pom.xml");
+        assertTrue(masterPom.contains("<version>" + NEW_DEVELOPMENT_VERSION + "</version>"));
+    }
+
+    private void prepareDivergedMaster(String localCommitMessage, String remoteCommitMessage) throws Exception {
+        git.switchToBranch(repositorySet, MASTER_BRANCH);
+        git.createAndCommitTestfile(repositorySet, "local-testfile.txt", localCommitMessage);
+        git.remoteCreateTestfileInBranch(repositorySet, MASTER_BRANCH, "remote-testfile.txt", remoteCommitMessage);
+        git.switchToBranch(repositorySet, RELEASE_BRANCH);
+    }
+
+    /**
+     * Finishes the release and returns subject, parent count and tree of the
+     * commits on master, that are independent of commit dates.
+     */
+    private String finishReleaseAndDescribeMaster(boolean skipRedundantCheckouts) throws Exception {
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.skipRedundantCheckouts", Boolean.toString(skipRedundantCheckouts));
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties);
+        return GitCommandLineRepository.open(repositorySet.getWorkingDirectory()).git("log", "--format=%s %P %T",
+                MASTER_BRANCH).replaceAll(" [0-9a-f]{40}(?= )", " parent");
+    }
+
+    private void recreateRepositorySet() throws Exception {
+        repositorySet.close();
+        FileUtils.deleteDirectory(repositorySet.getWorkingDirectory().getParentFile());
+        repositorySet = git.useGitRepositorySet(TestProjects.BASIC, RELEASE_BRANCH);
+    }
+
 }
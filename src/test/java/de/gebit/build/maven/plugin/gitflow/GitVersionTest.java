@@ -0,0 +1,59 @@
+//
+// GitVersionTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test for the version of the installed git executable.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GitVersionTest {
+
+    @Test
+    public void testParse() {
+        assertEquals("2.39.2", GitVersion.parse("git version 2.39.2").toString());
+        assertEquals("2.41.0", GitVersion.parse("git version 2.41.0.windows.1\n").toString());
+        assertEquals("2.37.1", GitVersion.parse("git version 2.37.1 (Apple Git-137.1)").toString());
+        assertEquals("2.40.0", GitVersion.parse("git version 2.40\ncpu: x86_64").toString());
+        assertNull(GitVersion.parse("unknown"));
+        assertNull(GitVersion.parse(null));
+    }
+
+    @Test
+    public void testIsAtLeast() {
+        assertTrue(GitVersion.parse("git version 2.38.0").isAtLeast(GitVersion.MERGE_TREE_WRITE_TREE));
+        assertTrue(GitVersion.parse("git version 2.38.1").isAtLeast(GitVersion.REBASE_UPDATE_REFS));
+        assertTrue(GitVersion.parse("git version 3.0.0").isAtLeast(GitVersion.REBASE_UPDATE_REFS));
+        assertFalse(GitVersion.parse("git version 2.37.9").isAtLeast(GitVersion.MERGE_TREE_WRITE_TREE));
+        assertFalse(GitVersion.parse("git version 1.9.5").isAtLeast(GitVersion.PATHSPEC_FROM_FILE));
+        assertTrue(GitVersion.parse("git version 2.26.0").isAtLeast(GitVersion.PATHSPEC_FROM_FILE));
+    }
+
+    @Test
+    public void testParseInstalledGit() throws Exception {
+        GitCommandLineRepository repository = GitCommandLineRepository.create();
+        try {
+            // test
+            GitVersion version = GitVersion.parse(repository.git("version"));
+            // verify
+            assertNotNull(version);
+            assertTrue(version.isAtLeast(new GitVersion(1, 0, 0)));
+        } finally {
+            repository.close();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+//
+// GoalMetricsExportTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test for the collection, formatting and export of goal metrics.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GoalMetricsExportTest {
+
+    private static final String PROJECT_LABEL = "project=\"de.gebit:test\"";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServer server;
+
+    private AtomicReference<String> postedBody;
+
+    private AtomicReference<String> postedContentType;
+
+    private int responseCode;
+
+    @Before
+    public void setUp() throws Exception {
+        postedBody = new AtomicReference<>();
+        postedContentType = new AtomicReference<>();
+        responseCode = 202;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/metrics/job/gitflow", exchange -> {
+            postedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            postedBody.set(read(exchange.getRequestBody()));
+            exchange.sendResponseHeaders(responseCode, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String pushUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/metrics/job/gitflow";
+    }
+
+    private GoalMetrics createMetrics() {
+        GoalMetrics metrics = new GoalMetrics("feature-start");
+        metrics.commandExecuted("git", 1500);
+        metrics.commandExecuted("git", 500);
+        metrics.commandExecuted("mvn", 10000);
+        metrics.stepExecuted(0, "featureStart.cleanInstall", 2500);
+        metrics.centralBranchConfigAccessed("load", 250);
+        metrics.cacheRequested("fetch", true);
+        metrics.cacheRequested("fetch", false);
+        metrics.cacheRequested("fetch", true);
+        return metrics;
+    }
+
+    private String format(GoalMetrics metrics) {
+        return metrics.format(true, metrics.getStartTime() + 12345,
+                Collections.singletonMap("project", "de.gebit:test"));
+    }
+
+    @Test
+    public void testFormat() {
+        // set up
+        GoalMetrics metrics = createMetrics();
+        // test
+        String text = format(metrics);
+        // verify
+        assertTrue(text.contains("# TYPE gitflow_goal_duration_seconds gauge\n"));
+        assertTrue(text.contains("gitflow_goal_duration_seconds{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",success=\"true\"} 12.345\n"));
+        assertTrue(text.contains("gitflow_commands_total{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",executable=\"git\"} 2\n"));
+        assertTrue(text.contains("gitflow_command_duration_seconds_total{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",executable=\"mvn\"} 10.000\n"));
+        assertTrue(text.contains("gitflow_step_duration_seconds{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",step=\"0\",breakpoint=\"featureStart.cleanInstall\"} 2.500\n"));
+        assertTrue(text.contains("gitflow_central_config_operations_total{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",operation=\"load\"} 1\n"));
+        assertTrue(text.contains("gitflow_cache_requests_total{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",cache=\"fetch\",result=\"hit\"} 2\n"));
+        assertTrue(text.contains("gitflow_cache_requests_total{goal=\"feature-start\"," + PROJECT_LABEL
+                + ",cache=\"fetch\",result=\"miss\"} 1\n"));
+    }
+
+    @Test
+    public void testFormatEscapesLabelValues() {
+        // set up
+        GoalMetrics metrics = new GoalMetrics("feature-start");
+        // test
+        String text = metrics.format(false, metrics.getStartTime(),
+                Collections.singletonMap("project", "a\"b\\c\nd"));
+        // verify
+        assertTrue(text.contains("project=\"a\\\"b\\\\c\\nd\""));
+        assertFalse(text.contains("gitflow_step_duration_seconds"));
+        assertFalse(text.contains("gitflow_cache_requests_total"));
+    }
+
+    @Test
+    public void testConsumeTransferProgress() {
+        // set up
+        GoalMetrics metrics = new GoalMetrics("feature-finish");
+        // test
+        assertTrue(metrics.consumeTransferProgress("remote: Counting objects: 100% (10/10), done."));
+        assertTrue(metrics.consumeTransferProgress("Receiving objects:  50% (5/10), 1.00 MiB | 1.00 MiB/s"));
+        assertTrue(metrics.consumeTransferProgress(
+                "Receiving objects: 100% (10/10), 2.00 MiB | 1.00 MiB/s, done."));
+        assertTrue(metrics.consumeTransferProgress("Writing objects: 100% (3/3), 512 bytes | 512.00 KiB/s, done."));
+        assertFalse(metrics.consumeTransferProgress("fatal: unable to access remote"));
+        String text = metrics.format(true, metrics.getStartTime(), Collections.emptyMap());
+        // verify
+        assertTrue(text.contains("gitflow_transferred_bytes_total{goal=\"feature-finish\",direction=\"fetch\"} "
+                + (2 * 1024 * 1024) + "\n"));
+        assertTrue(text.contains("gitflow_transferred_bytes_total{goal=\"feature-finish\",direction=\"push\"} 512\n"));
+    }
+
+    @Test
+    public void testWriteFile() throws Exception {
+        // set up
+        File file = new File(temporaryFolder.getRoot(), "textfile/gitflow.prom");
+        String text = format(createMetrics());
+        // test
+        GoalMetricsExporter.writeFile(file, "old content");
+        GoalMetricsExporter.writeFile(file, text);
+        // verify
+        assertEquals(text, FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        assertEquals("temporary files were not removed", 1, file.getParentFile().list().length);
+    }
+
+    @Test
+    public void testPost() throws Exception {
+        // set up
+        String text = format(createMetrics());
+        // test
+        GoalMetricsExporter.post(pushUrl(), text);
+        // verify
+        assertEquals(text, postedBody.get());
+        assertEquals("text/plain; version=0.0.4", postedContentType.get());
+    }
+
+    @Test
+    public void testPostFailsOnErrorResponse() throws Exception {
+        // set up
+        responseCode = 500;
+        // test
+        try {
+            GoalMetricsExporter.post(pushUrl(), "metrics");
+            fail("IOException expected");
+        } catch (IOException e) {
+            // verify
+            assertEquals("Server returned HTTP response code 500.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+//
+// GoalMetricsTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.gebit.build.maven.plugin.gitflow.jgit.RepositorySet;
+
+/**
+ * Test for the export of goal metrics.
+ *
+ * @author Volodymyr Medvid
+ */
+public class GoalMetricsTest extends AbstractGitFlowMojoTestCase {
+
+    private static final String GOAL = "feature-start";
+
+    private static final String FEATURE_NAME = TestProjects.BASIC.jiraProject + "-42";
+
+    private RepositorySet repositorySet;
+
+    private File metricsFile;
+
+    @Before
+    public void setUp() throws Exception {
+        repositorySet = git.useGitRepositorySet(TestProjects.BASIC);
+        metricsFile = File.createTempFile("gitflow-metrics", ".prom");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (repositorySet != null) {
+            repositorySet.close();
+        }
+        if (metricsFile != null) {
+            metricsFile.delete();
+        }
+    }
+
+    @Test
+    public void testExecuteWithMetricsFile() throws Exception {
+        // set up
+        when(promptControllerMock.prompt(ExecutorHelper.FEATURE_START_PROMPT_FEATURE_BRANCH_NAME))
+                .thenReturn(FEATURE_NAME);
+        Properties userProperties = new Properties();
+        userProperties.setProperty("flow.metricsFile", metricsFile.getAbsolutePath());
+        // test
+        executeMojo(repositorySet.getWorkingDirectory(), GOAL, userProperties, promptControllerMock);
+        // verify
+        String metrics = new String(Files.readAllBytes(metricsFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(metrics.contains("# TYPE gitflow_goal_duration_seconds gauge"));
+        assertTrue(metrics.contains("gitflow_goal_duration_seconds{goal=\"" + GOAL + "\","));
+        assertTrue(metrics.contains("success=\"true\"}"));
+        assertTrue(metrics.contains("gitflow_commands_total{goal=\"" + GOAL + "\","));
+        assertTrue(metrics.contains("executable=\"git\"}"));
+        assertTrue(metrics.contains("operation=\"store\"}"));
+    }
+}
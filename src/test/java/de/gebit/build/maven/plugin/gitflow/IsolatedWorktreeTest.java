@@ -0,0 +1,268 @@
+//
+// IsolatedWorktreeTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the isolated worktree in that goals are executed without touching
+ * the working tree of the user.
+ *
+ * @author Volodymyr Medvid
+ */
+public class IsolatedWorktreeTest {
+
+    private static final String FEATURE_BRANCH = "feature/A";
+
+    private GitCommandLineRepository repository;
+
+    private GitCommandLineRepository worktree;
+
+    private File commonDir;
+
+    private String featureCommit;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = GitCommandLineRepository.create();
+        repository.commitFile("root");
+        repository.git("checkout", "-q", "-b", FEATURE_BRANCH);
+        featureCommit = repository.commitFile("feature");
+        commonDir = new File(repository.getDirectory(), ".git");
+        worktree = GitCommandLineRepository.open(IsolatedWorktree.getDirectory(commonDir));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repository.close();
+    }
+
+    /**
+     * Executes git with the command line like the mojo does.
+     */
+    private static String execute(File workingDirectory, boolean failOnError, String... args)
+            throws MojoFailureException {
+        try {
+            return GitCommandLineRepository.open(workingDirectory).git(args);
+        } catch (IOException e) {
+            if (failOnError) {
+                throw new MojoFailureException("git command failed: " + String.join(" ", args), e);
+            }
+            return null;
+        }
+    }
+
+    private IsolatedWorktree create() throws Exception {
+        return IsolatedWorktree.create(IsolatedWorktreeTest::execute, commonDir, repository.getDirectory());
+    }
+
+    private IsolatedWorktree open() throws Exception {
+        return IsolatedWorktree.open(IsolatedWorktreeTest::execute, commonDir, repository.getDirectory());
+    }
+
+    private void assertUserCheckoutUnchanged() throws IOException {
+        assertEquals("refs/heads/" + FEATURE_BRANCH, repository.git("symbolic-ref", "-q", "HEAD"));
+        assertEquals(featureCommit, repository.git("rev-parse", "HEAD"));
+        assertEquals("", repository.git("status", "--porcelain"));
+    }
+
+    private void assertUserHeadDetached() throws IOException {
+        assertNotEquals(0, repository.gitExitCode("symbolic-ref", "-q", "HEAD"));
+        assertEquals(featureCommit, repository.git("rev-parse", "HEAD"));
+        assertEquals("", repository.git("status", "--porcelain"));
+    }
+
+    @Test
+    public void testCreateKeepsUserCheckout() throws Exception {
+        // test
+        IsolatedWorktree isolated = create();
+        // verify
+        assertUserCheckoutUnchanged();
+        assertEquals(IsolatedWorktree.getDirectory(commonDir), isolated.getDirectory());
+        assertEquals(FEATURE_BRANCH + " " + featureCommit, isolated.getState());
+        assertEquals(FEATURE_BRANCH, isolated.getUserBranch());
+        assertEquals(featureCommit, isolated.getUserCommit());
+        assertFalse(isolated.isUserHeadDetached());
+        assertFalse(isolated.restoreUserBranch());
+        assertUserCheckoutUnchanged();
+    }
+
+    @Test
+    public void testCreateOnDetachedHead() throws Exception {
+        // set up
+        repository.git("checkout", "-q", "--detach");
+        // test
+        IsolatedWorktree isolated = create();
+        // verify
+        assertEquals(" " + featureCommit, isolated.getState());
+        assertEquals("", isolated.getUserBranch());
+        assertFalse(isolated.releaseUserBranch());
+        assertFalse(isolated.isUserHeadDetached());
+    }
+
+    @Test
+    public void testReleaseUserBranchBeforeCommit() throws Exception {
+        // set up
+        IsolatedWorktree isolated = create();
+        // test
+        assertTrue(isolated.releaseUserBranch());
+        worktree.commitFile("goal commit");
+        // verify
+        assertUserHeadDetached();
+        assertTrue(isolated.isUserHeadDetached());
+        assertFalse("released only once", isolated.releaseUserBranch());
+    }
+
+    @Test
+    public void testReleaseUserBranchBeforeDeletion() throws Exception {
+        // set up
+        IsolatedWorktree isolated = create();
+        assertNotEquals("git refuses to delete a branch checked out in another worktree", 0,
+                worktree.gitExitCode("branch", "-D", FEATURE_BRANCH));
+        // test
+        assertTrue(isolated.releaseUserBranch());
+        worktree.git("checkout", "-q", "master");
+        worktree.git("branch", "-D", FEATURE_BRANCH);
+        // verify
+        assertUserHeadDetached();
+    }
+
+    @Test
+    public void testRestoreUserBranch() throws Exception {
+        // set up
+        IsolatedWorktree isolated = create();
+        isolated.releaseUserBranch();
+        worktree.git("checkout", "-q", "master");
+        isolated.remove();
+        // test
+        boolean restored = isolated.restoreUserBranch();
+        // verify
+        assertTrue(restored);
+        assertUserCheckoutUnchanged();
+    }
+
+    @Test
+    public void testRestoreUserBranchNotIfChanged() throws Exception {
+        // set up
+        IsolatedWorktree isolated = create();
+        isolated.releaseUserBranch();
+        worktree.commitFile("goal commit");
+        isolated.remove();
+        // test
+        boolean restored = isolated.restoreUserBranch();
+        // verify
+        assertFalse(restored);
+        assertUserHeadDetached();
+    }
+
+    @Test
+    public void testRestoreUserBranchAfterUserSwitchedBranch() throws Exception {
+        // set up
+        IsolatedWorktree isolated = create();
+        isolated.releaseUserBranch();
+        repository.git("checkout", "-q", "master");
+        isolated.remove();
+        // test
+        boolean restored = isolated.restoreUserBranch();
+        // verify
+        assertFalse(restored);
+        assertFalse(isolated.isUserHeadDetached());
+        assertEquals("refs/heads/master", repository.git("symbolic-ref", "-q", "HEAD"));
+    }
+
+    @Test
+    public void testResumeAfterFailure() throws Exception {
+        // set up
+        repository.git("checkout", "-q", "master");
+        repository.commitFile("master change");
+        repository.git("checkout", "-q", FEATURE_BRANCH);
+        IsolatedWorktree isolated = create();
+        isolated.releaseUserBranch();
+        worktree.git("checkout", "-q", "master");
+        worktree.git("merge", "-q", "--no-ff", "-m", "merge", FEATURE_BRANCH);
+        String state = isolated.getState();
+        // paused goal: the worktree stays, the next execution opens it
+        // test
+        IsolatedWorktree resumed = open();
+        // verify
+        assertNotNull(resumed);
+        assertEquals(isolated.getDirectory(), resumed.getDirectory());
+        assertEquals(state, resumed.getState());
+        assertEquals(FEATURE_BRANCH, resumed.getUserBranch());
+        assertEquals(featureCommit, resumed.getUserCommit());
+        assertFalse("already released by the paused goal", resumed.releaseUserBranch());
+        assertTrue(resumed.isUserHeadDetached());
+        worktree.git("branch", "-d", FEATURE_BRANCH);
+        resumed.remove();
+        assertFalse(resumed.getDirectory().exists());
+        assertNull(open());
+        assertUserHeadDetached();
+    }
+
+    @Test
+    public void testOpenWithoutWorktree() throws Exception {
+        assertNull(open());
+    }
+
+    @Test
+    public void testForeignWorktreeIsNotUsedOrRemoved() throws Exception {
+        // set up
+        File worktreeDir = IsolatedWorktree.getDirectory(commonDir);
+        repository.git("worktree", "add", "-q", "-b", "other", worktreeDir.getPath());
+        // test
+        try {
+            open();
+            fail("GitFlowFailureException expected");
+        } catch (GitFlowFailureException e) {
+            // verify
+            assertTrue(e.getMessage().contains("is not an isolated worktree created by gitflow"));
+        }
+        try {
+            create();
+            fail("GitFlowFailureException expected");
+        } catch (GitFlowFailureException e) {
+            // verify
+            assertTrue(new File(worktreeDir, ".git").isFile());
+        }
+    }
+
+    @Test
+    public void testRemoveOnlyWorktreeWithMarker() throws Exception {
+        // set up
+        IsolatedWorktree isolated = create();
+        File markerFile = new File(worktree.git("rev-parse", "--git-dir"), IsolatedWorktree.MARKER_FILE_NAME);
+        assertTrue(markerFile.isFile());
+        FileUtils.write(new File(isolated.getDirectory(), "uncommitted.txt"), "work", StandardCharsets.UTF_8);
+        markerFile.delete();
+        // test
+        try {
+            isolated.remove();
+            fail("GitFlowFailureException expected");
+        } catch (GitFlowFailureException e) {
+            // verify
+            assertTrue(new File(isolated.getDirectory(), "uncommitted.txt").isFile());
+        }
+    }
+}
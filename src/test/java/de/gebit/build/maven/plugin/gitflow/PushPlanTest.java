@@ -0,0 +1,160 @@
+//
+// PushPlanTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.codehaus.plexus.util.Os;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Test for the collection of branch updates and deletions pushed with one
+ * atomic push.
+ *
+ * @author Volodymyr Medvid
+ */
+public class PushPlanTest {
+
+    private static final String ORIGIN = "origin";
+
+    private GitCommandLineRepository remote;
+
+    private GitCommandLineRepository repository;
+
+    @After
+    public void tearDown() throws Exception {
+        if (repository != null) {
+            repository.close();
+        }
+        if (remote != null) {
+            remote.close();
+        }
+    }
+
+    private void setUpRepositories() throws Exception {
+        remote = GitCommandLineRepository.createBare();
+        GitCommandLineRepository source = GitCommandLineRepository.create();
+        try {
+            source.commitFile("root");
+            source.git("branch", "production");
+            source.git("branch", "release/1.0");
+            source.git("remote", "add", ORIGIN, remote.getDirectory().getAbsolutePath());
+            source.git("push", "-q", ORIGIN, "master", "production", "release/1.0");
+        } finally {
+            source.close();
+        }
+        repository = remote.cloneRepository();
+        repository.git("branch", "production", "origin/production");
+    }
+
+    private String remoteCommit(String branchName) throws Exception {
+        return remote.git("rev-parse", "refs/heads/" + branchName);
+    }
+
+    private int executeAtomicPush(PushPlan plan, List<String> deletedBranches) throws Exception {
+        List<String> args = plan.getAtomicPushArguments(ORIGIN, deletedBranches, false);
+        return repository.gitExitCode(args.toArray(new String[args.size()]));
+    }
+
+    @Test
+    public void testPushAndDeleteWithoutDuplicates() {
+        // test
+        PushPlan plan = new PushPlan(false).push("master").push("production").push("master").delete("release/1.0")
+                .delete("release/1.0");
+        // verify
+        assertEquals(Arrays.asList("master", "production"), plan.getPushedBranches());
+        assertEquals(Arrays.asList("release/1.0"), plan.getDeletedBranches());
+        assertFalse(plan.isEmpty());
+        assertTrue(new PushPlan(false).isEmpty());
+    }
+
+    @Test
+    public void testIsAtomicPushNeeded() {
+        // set up
+        PushPlan plan = new PushPlan(false).push("master").delete("release/1.0");
+        // verify
+        assertTrue(plan.isAtomicPushNeeded(plan.getDeletedBranches()));
+        assertFalse("deleted branch doesn't exist on remote",
+                plan.isAtomicPushNeeded(Collections.<String> emptyList()));
+        assertFalse(new PushPlan(false).delete("release/1.0").isAtomicPushNeeded(Arrays.asList("release/1.0")));
+    }
+
+    @Test
+    public void testGetAtomicPushArguments() {
+        // set up
+        PushPlan plan = new PushPlan(true).push("master").push("production").delete("release/1.0");
+        // test
+        List<String> args = plan.getAtomicPushArguments(ORIGIN, plan.getDeletedBranches(), true);
+        // verify
+        assertEquals(Arrays.asList("push", "--quiet", "--progress", "--atomic", "--follow-tags", ORIGIN, "master",
+                "production", ":refs/heads/release/1.0"), args);
+        assertEquals(Arrays.asList("push", "--quiet", "--atomic", ORIGIN, "master"),
+                new PushPlan(false).push("master").getAtomicPushArguments(ORIGIN, Collections.emptyList(), false));
+    }
+
+    @Test
+    public void testIsAtomicPushUnsupported() {
+        assertTrue(PushPlan.isAtomicPushUnsupported("fatal: the receiving end does not support --atomic push"));
+        assertFalse(PushPlan.isAtomicPushUnsupported("! [rejected] master -> master (non-fast-forward)"));
+        assertFalse(PushPlan.isAtomicPushUnsupported(null));
+    }
+
+    @Test
+    public void testExecuteAtomicPush() throws Exception {
+        // set up
+        setUpRepositories();
+        String master = repository.commitFile("master 1");
+        repository.git("checkout", "-q", "production");
+        String production = repository.commitFile("production 1");
+        PushPlan plan = new PushPlan(false).push("master").push("production").delete("release/1.0");
+        // test
+        int exitCode = executeAtomicPush(plan, plan.getDeletedBranches());
+        // verify
+        assertEquals(0, exitCode);
+        assertEquals(master, remoteCommit("master"));
+        assertEquals(production, remoteCommit("production"));
+        assertEquals("", remote.git("branch", "--list", "release/1.0"));
+    }
+
+    @Test
+    public void testExecuteAtomicPushRejectedLeavesRemoteUnchanged() throws Exception {
+        // set up
+        Assume.assumeFalse("the hook uses the unix shell", Os.isFamily(Os.FAMILY_WINDOWS));
+        setUpRepositories();
+        File hook = new File(remote.getDirectory(), "hooks/pre-receive");
+        FileUtils.write(hook, "#!/bin/sh\nif grep -q refs/heads/production; then exit 1; fi\n",
+                StandardCharsets.UTF_8);
+        hook.setExecutable(true);
+        String oldMaster = remoteCommit("master");
+        String oldProduction = remoteCommit("production");
+        repository.commitFile("master 1");
+        repository.git("checkout", "-q", "production");
+        repository.commitFile("production 1");
+        PushPlan plan = new PushPlan(false).push("master").push("production").delete("release/1.0");
+        // test
+        int exitCode = executeAtomicPush(plan, plan.getDeletedBranches());
+        // verify
+        assertNotEquals(0, exitCode);
+        assertEquals(oldMaster, remoteCommit("master"));
+        assertEquals(oldProduction, remoteCommit("production"));
+        assertNotEquals("", remote.git("branch", "--list", "release/1.0"));
+    }
+}
@@ -0,0 +1,87 @@
+//
+// WorktreeListTest.java
+//
+// Copyright (C) 2026
+// GEBIT Solutions GmbH,
+// Berlin, Duesseldorf, Stuttgart (Germany)
+// All rights reserved.
+//
+package de.gebit.build.maven.plugin.gitflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for the list of branches checked out in worktrees.
+ *
+ * @author Volodymyr Medvid
+ */
+public class WorktreeListTest {
+
+    private GitCommandLineRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = GitCommandLineRepository.create();
+        repository.commitFile("root");
+        repository.git("branch", "develop");
+        repository.git("branch", "release/1.0");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repository.close();
+    }
+
+    private WorktreeList list() throws Exception {
+        return new WorktreeList(repository.git("worktree", "list", "--porcelain"));
+    }
+
+    @Test
+    public void testCurrentBranchIsCheckedOut() throws Exception {
+        // test
+        WorktreeList worktrees = list();
+        // verify
+        assertTrue(worktrees.isCheckedOut("master"));
+        assertEquals(repository.git("rev-parse", "--show-toplevel"), worktrees.getWorktree("master"));
+        assertFalse(worktrees.isCheckedOut("develop"));
+        assertNull(worktrees.getWorktree("develop"));
+    }
+
+    @Test
+    public void testBranchCheckedOutInOtherWorktree() throws Exception {
+        // set up
+        File otherWorktree = new File(repository.getDirectory(), ".git/other-worktree");
+        repository.git("worktree", "add", "-q", otherWorktree.getPath(), "develop");
+        repository.git("worktree", "add", "-q", "--detach", new File(repository.getDirectory(), ".git/detached")
+                .getPath(), "release/1.0");
+        // test
+        WorktreeList worktrees = list();
+        // verify
+        assertTrue(worktrees.isCheckedOut("develop"));
+        assertEquals(otherWorktree.getCanonicalFile(), new File(worktrees.getWorktree("develop")).getCanonicalFile());
+        assertTrue(worktrees.isCheckedOut("master"));
+        assertFalse("detached worktree", worktrees.isCheckedOut("release/1.0"));
+    }
+
+    @Test
+    public void testBranchWithSimilarName() throws Exception {
+        // set up
+        repository.git("checkout", "-q", "release/1.0");
+        // test
+        WorktreeList worktrees = list();
+        // verify
+        assertTrue(worktrees.isCheckedOut("release/1.0"));
+        assertFalse(worktrees.isCheckedOut("release"));
+        assertFalse(worktrees.isCheckedOut("1.0"));
+        assertFalse(worktrees.isCheckedOut("master"));
+    }
+}